@@ -0,0 +1,54 @@
+package bench;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.*;
+import util.ElementFinder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ElementFinder.findSmart against a stubbed driver. The plain locator only matches
+ * as a class name, the last probe, which is the worst case for the probe cascade.
+ * "cold" clears the locator cache before each lookup; "warm" keeps it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class ElementFinderBenchmark {
+
+    private StubPageDriver driver;
+
+    @Setup
+    public void setUp() {
+        driver = new StubPageDriver("http://localhost:8080/movies/42", Set.of(
+                By.className("poster"),
+                By.xpath("//img[@alt=\"Au nom du Christ\"]"),
+                By.xpath("//*[@title='Au Nom Du Christ']")));
+        ElementFinder.getLocatorCache().clear();
+    }
+
+    @Benchmark
+    public WebElement plainLocatorCold() {
+        ElementFinder.getLocatorCache().clear();
+        return ElementFinder.findSmart(driver, "poster", "css");
+    }
+
+    @Benchmark
+    public WebElement plainLocatorWarm() {
+        return ElementFinder.findSmart(driver, "poster", "css");
+    }
+
+    @Benchmark
+    public WebElement altLocator() {
+        return ElementFinder.findSmart(driver, "alt=Au nom du Christ", "alt");
+    }
+
+    @Benchmark
+    public WebElement titleLocator() {
+        return ElementFinder.findSmart(driver, "title=Au Nom Du Christ", "title");
+    }
+}
@@ -0,0 +1,80 @@
+package bench;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+import http.HttpTransport;
+import http.TransportSettings;
+import org.openjdk.jmh.annotations.*;
+import service.AsyncRestExecutor;
+import service.RestRunResult;
+import service.TestCaseService;
+import stub.StubHttpServer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDK HttpClient against the pooled httpclient5 transport on the loopback stub:
+ * one REST test at a time, sixteen callers sharing the transport, and a 100-test
+ * suite through AsyncRestExecutor. Run with
+ * {@code mvn -Pbench test-compile exec:exec -Djmh.args="HttpTransportBenchmark -f 1"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class HttpTransportBenchmark {
+
+    @Param({"jdk", "pooled"})
+    public String transport;
+
+    private StubHttpServer stub;
+    private HttpTransport http;
+    private TestCaseService service;
+    private TestCaseDto testCase;
+    private List<TestCaseDto> suite;
+    private AsyncRestExecutor async;
+
+    @Setup
+    public void setUp() throws IOException {
+        stub = StubHttpServer.start();
+        http = HttpTransport.create(new TransportSettings().kind(transport).maxPerRoute(32));
+        service = new TestCaseService(null, http);
+        testCase = new TestCaseDto();
+        testCase.setFeatureName("transport benchmark");
+        testCase.setTargetUrl("API_TEST");
+        testCase.setSteps(List.of(
+                new StepDto("GET", "", stub.baseUrl() + "/posts/1", ""),
+                new StepDto("ASSERT_STATUS", "", "", "200"),
+                new StepDto("POST", "", stub.baseUrl() + "/posts", "{\"title\":\"bench\"}"),
+                new StepDto("ASSERT_JSON", "", "$.method", "POST")));
+        suite = Collections.nCopies(100, testCase);
+        async = new AsyncRestExecutor(http, 32, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        http.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public boolean singleTest() {
+        return service.runRestTestCase(testCase);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean sharedBySixteenThreads() {
+        return service.runRestTestCase(testCase);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<RestRunResult> asyncSuite() throws InterruptedException {
+        return async.runAll(suite);
+    }
+}
@@ -0,0 +1,51 @@
+package bench;
+
+import dto.TestCaseDto;
+import org.openjdk.jmh.annotations.*;
+import parser.StepStream;
+import parser.TestCaseParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parser throughput on generated scripts. Divide lines by the reported time per
+ * operation for lines/second.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    @Param({"100", "10000"})
+    public int lines;
+
+    private String script;
+    private final TestCaseParser parser = new TestCaseParser();
+
+    @Setup
+    public void setUp() {
+        script = ScriptCorpus.script(lines);
+    }
+
+    @Benchmark
+    public TestCaseDto parse() throws IOException {
+        return parser.parse(new BufferedReader(new StringReader(script)));
+    }
+
+    @Benchmark
+    public int stream() throws IOException {
+        int steps = 0;
+        try (StepStream stream = new StepStream(new BufferedReader(new StringReader(script)))) {
+            while (stream.hasNext()) {
+                stream.next();
+                steps++;
+            }
+        }
+        return steps;
+    }
+}
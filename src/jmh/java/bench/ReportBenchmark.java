@@ -0,0 +1,39 @@
+package bench;
+
+import dto.TestCaseDto;
+import generator.MarkdownGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestCaseDto.getStepsAsText and MarkdownGenerator.toMarkdown on large test cases.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+
+    @Param({"10", "1000"})
+    public int steps;
+
+    private TestCaseDto testCase;
+
+    @Setup
+    public void setUp() {
+        testCase = ScriptCorpus.uiTestCase(steps);
+    }
+
+    @Benchmark
+    public List<String> stepsAsText() {
+        return testCase.getStepsAsText();
+    }
+
+    @Benchmark
+    public String markdown() {
+        return MarkdownGenerator.toMarkdown(testCase);
+    }
+}
@@ -0,0 +1,74 @@
+package bench;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+import http.HttpTransport;
+import http.JdkHttpTransport;
+import http.TransportSettings;
+import org.openjdk.jmh.annotations.*;
+import service.AsyncRestExecutor;
+import service.RestRunResult;
+import service.TestCaseService;
+import stub.StubHttpServer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST execution against the embedded loopback stub, so the numbers reflect the
+ * toolkit's own overhead rather than a remote service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class RestBenchmark {
+
+    private StubHttpServer stub;
+    private TestCaseDto testCase;
+    private List<TestCaseDto> suite;
+    private TestCaseService service;
+    private HttpTransport http;
+    private AsyncRestExecutor async;
+
+    @Setup
+    public void setUp() throws IOException {
+        stub = StubHttpServer.start();
+        testCase = new TestCaseDto();
+        testCase.setFeatureName("rest benchmark");
+        testCase.setTargetUrl("API_TEST");
+        testCase.setSteps(List.of(
+                new StepDto("GET", "", stub.baseUrl() + "/posts/1", ""),
+                new StepDto("ASSERT_BODY", "", "", "userId"),
+                new StepDto("POST", "", stub.baseUrl() + "/posts", "{\"title\":\"bench\"}"),
+                new StepDto("ASSERT_BODY", "", "", "bench")));
+        suite = Collections.nCopies(20, testCase);
+        service = new TestCaseService();
+        http = new JdkHttpTransport(new TransportSettings());
+        async = new AsyncRestExecutor(http, 20, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        http.close();
+        stub.close();
+        service.shutdown();
+    }
+
+    @Benchmark
+    public boolean runRestTestCase() {
+        return service.runRestTestCase(testCase);
+    }
+
+    /**
+     * Twenty copies of the test case through the shared-client async executor.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public List<RestRunResult> asyncSuite() throws InterruptedException {
+        return async.runAll(suite);
+    }
+}
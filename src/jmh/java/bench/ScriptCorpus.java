@@ -0,0 +1,56 @@
+package bench;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic scripts and test cases shared by the benchmarks.
+ */
+public final class ScriptCorpus {
+
+    private static final String[] LINE_FORMS = {
+            "Action: type, Locator Type: id, Locator Value: email%d, Value: user%d@email.com",
+            "Action: click, Locator Type: xpath, Locator Value: //button[%d], Value: ",
+            "enter \"value %d\" into \"field%d\"",
+            "click \"alt=Poster %d\"",
+            "keypress \"ENTER\" key in \"search%d\"",
+            "assert \"title=Movie %d [HD]\"",
+            "%d. [type] using [name=q%d] => query",
+            "should see \"unparsed line %d\"",
+    };
+
+    private ScriptCorpus() {
+    }
+
+    /**
+     * A script mixing every line form the grammar accepts, plus lines it ignores.
+     */
+    public static String script(int steps) {
+        StringBuilder sb = new StringBuilder(steps * 64);
+        sb.append("Feature: synthetic benchmark\n");
+        sb.append("Target URL: http://localhost:8080/\n");
+        sb.append("Event Trigger: submit\n\n");
+        for (int i = 0; i < steps; i++) {
+            sb.append(String.format(LINE_FORMS[i % LINE_FORMS.length], i, i)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static TestCaseDto uiTestCase(int steps) {
+        String[] actions = {"type", "click", "keypress", "assert", "select"};
+        List<StepDto> list = new ArrayList<>(steps);
+        for (int i = 0; i < steps; i++) {
+            list.add(new StepDto(actions[i % actions.length], "id", "field" + i, "value " + i));
+        }
+
+        TestCaseDto testCase = new TestCaseDto();
+        testCase.setFeatureName("synthetic benchmark");
+        testCase.setTargetUrl("http://localhost:8080/");
+        testCase.setEventListener("submit");
+        testCase.setSteps(list);
+        return testCase;
+    }
+}
@@ -0,0 +1,57 @@
+package bench;
+
+import driver.FakeWebDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A FakeWebDriver whose page contains exactly the given locators. Every other
+ * lookup misses the way a real driver does, by throwing NoSuchElementException.
+ */
+public class StubPageDriver extends FakeWebDriver {
+
+    private final Set<By> present;
+    private final WebElement element = (WebElement) Proxy.newProxyInstance(
+            WebElement.class.getClassLoader(), new Class<?>[]{WebElement.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "isDisplayed", "isEnabled" -> true;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "StubElement";
+                default -> null;
+            });
+    private long lookups;
+
+    public StubPageDriver(String url, Set<By> present) {
+        super(url);
+        this.present = present;
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        lookups++;
+        if (present.contains(by)) return element;
+        throw new NoSuchElementException("Not on stub page: " + by);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        lookups++;
+        List<WebElement> found = new ArrayList<>(1);
+        if (present.contains(by)) found.add(element);
+        return found;
+    }
+
+    /**
+     * Number of findElement/findElements calls, i.e. driver round-trips.
+     */
+    public long getLookups() {
+        return lookups;
+    }
+}
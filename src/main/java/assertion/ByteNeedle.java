@@ -0,0 +1,50 @@
+package assertion;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Incremental substring search over a byte stream (Knuth-Morris-Pratt), so a match
+ * that straddles two response chunks is still found. Memory is the needle itself.
+ */
+final class ByteNeedle {
+
+    private final byte[] needle;
+    private final int[] failure;
+    private int matched;
+    private boolean found;
+
+    ByteNeedle(String text) {
+        this.needle = text.getBytes(StandardCharsets.UTF_8);
+        this.failure = new int[needle.length];
+        for (int i = 1, k = 0; i < needle.length; i++) {
+            while (k > 0 && needle[i] != needle[k]) k = failure[k - 1];
+            if (needle[i] == needle[k]) k++;
+            failure[i] = k;
+        }
+        this.found = needle.length == 0;
+    }
+
+    /**
+     * Scans the buffer's remaining bytes without moving its position.
+     *
+     * @return true once the needle has been seen
+     */
+    boolean feed(ByteBuffer chunk) {
+        if (found) return true;
+        for (int i = chunk.position(), end = chunk.limit(); i < end; i++) {
+            byte b = chunk.get(i);
+            while (matched > 0 && b != needle[matched]) matched = failure[matched - 1];
+            if (b == needle[matched]) matched++;
+            if (matched == needle.length) {
+                found = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isFound() {
+        return found;
+    }
+}
@@ -0,0 +1,68 @@
+package assertion;
+
+import dto.StepDto;
+
+import java.util.Locale;
+
+/**
+ * One response check taken from an API assertion step:
+ * <ul>
+ *   <li>{@code ASSERT_BODY}   – Value: text the body must contain</li>
+ *   <li>{@code ASSERT_STATUS} – Value: expected status, e.g. {@code 200} or {@code 2xx}</li>
+ *   <li>{@code ASSERT_HEADER} – Locator Value: header name; Value: text its value must contain (blank = present)</li>
+ *   <li>{@code ASSERT_JSON}   – Locator Value: path such as {@code $.data[0].id}; Value: expected value (blank = present)</li>
+ * </ul>
+ */
+public record Expectation(Kind kind, String key, String expected) {
+
+    public enum Kind { BODY, STATUS, HEADER, JSON }
+
+    /**
+     * @return the expectation for an assertion step, or null if the step is not one
+     */
+    public static Expectation of(StepDto step) {
+        String action = step.getAction() == null ? "" : step.getAction().toUpperCase(Locale.ROOT);
+        String value = step.getValue() == null ? "" : step.getValue().trim();
+        String property = step.getProperty() == null ? "" : step.getProperty().trim();
+
+        return switch (action) {
+            case "ASSERT_BODY" -> new Expectation(Kind.BODY, null, step.getValue() == null ? "" : step.getValue());
+            case "ASSERT_STATUS" -> new Expectation(Kind.STATUS, null, value);
+            case "ASSERT_HEADER" -> new Expectation(Kind.HEADER, property, value);
+            case "ASSERT_JSON" -> new Expectation(Kind.JSON, JsonStreamScanner.normalizePath(property), unquote(value));
+            default -> null;
+        };
+    }
+
+    public static boolean isAssertion(StepDto step) {
+        return of(step) != null;
+    }
+
+    boolean matchesStatus(int status) {
+        String want = expected.toLowerCase(Locale.ROOT);
+        if (want.length() == 3 && want.endsWith("xx")) {
+            return Character.forDigit(status / 100, 10) == want.charAt(0);
+        }
+        try {
+            return Integer.parseInt(want) == status;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    String describe() {
+        return switch (kind) {
+            case BODY -> "Body contains: " + expected;
+            case STATUS -> "Status is " + expected;
+            case HEADER -> expected.isEmpty() ? "Header " + key + " present" : "Header " + key + " contains: " + expected;
+            case JSON -> expected.isEmpty() ? "JSON " + key + " present" : "JSON " + key + " = " + expected;
+        };
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
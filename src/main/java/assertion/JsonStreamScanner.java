@@ -0,0 +1,315 @@
+package assertion;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Push-style JSON tokenizer that records the values found at a few watched paths
+ * while the document streams past, without building a tree.
+ *
+ * Paths use the JSONPath subset {@code $.a.b[0].c}. Scalars are captured as their
+ * text (strings unquoted and unescaped, numbers/true/false/null as written), capped
+ * at {@link #MAX_VALUE_BYTES}; objects and arrays are captured as "{…}" / "[…]" so a
+ * presence check works for them too. Memory grows only with nesting depth. Malformed
+ * input stops the scan; whatever was captured before it is kept.
+ */
+final class JsonStreamScanner {
+
+    static final int MAX_VALUE_BYTES = 4096;
+    private static final int MAX_KEY_BYTES = 1024;
+
+    private enum State { VALUE, ARRAY_START, KEY_OR_END, COLON, STRING, ESCAPE, UNICODE, LITERAL, AFTER_VALUE, DONE, INVALID }
+
+    private final Set<String> watched;
+    private final Map<String, String> captured = new HashMap<>();
+
+    private State state = State.VALUE;
+    private final StringBuilder path = new StringBuilder("$");
+
+    // container stack: per frame, whether it is an array, its element index and the path length at its start
+    private boolean[] isArray = new boolean[16];
+    private int[] index = new int[16];
+    private int[] base = new int[16];
+    private int depth;
+
+    private boolean stringIsKey;
+    private final Buffer key = new Buffer(MAX_KEY_BYTES);
+    private final Buffer value = new Buffer(MAX_VALUE_BYTES);
+    private boolean capturing;
+    private int unicodeDigits;
+    private int unicode;
+    private int highSurrogate = -1;
+
+    JsonStreamScanner(Set<String> watchedPaths) {
+        this.watched = watchedPaths;
+    }
+
+    /**
+     * Normalizes "a.b", ".a.b" and "$.a.b" to "$.a.b".
+     */
+    static String normalizePath(String path) {
+        String p = path.trim();
+        if (p.startsWith("$")) return p;
+        if (p.startsWith(".") || p.startsWith("[")) return "$" + p;
+        return "$." + p;
+    }
+
+    Map<String, String> captured() {
+        return captured;
+    }
+
+    boolean hasCapturedAll() {
+        return captured.size() >= watched.size();
+    }
+
+    boolean isValid() {
+        return state != State.INVALID;
+    }
+
+    void feed(ByteBuffer chunk) {
+        int i = chunk.position();
+        int end = chunk.limit();
+        while (i < end) {
+            if (state == State.DONE || state == State.INVALID) return;
+            if (step(chunk.get(i))) i++;
+        }
+    }
+
+    /**
+     * Signals the end of the body; a trailing top-level literal (e.g. "42") completes here.
+     */
+    void finish() {
+        if (state == State.LITERAL) endLiteral();
+    }
+
+    /**
+     * @return false if the byte must be looked at again in the new state
+     */
+    private boolean step(byte b) {
+        switch (state) {
+            case VALUE -> {
+                if (isSpace(b)) return true;
+                startValue();
+                switch (b) {
+                    case '{' -> {
+                        if (capturing) captured.putIfAbsent(path.toString(), "{…}");
+                        push(false);
+                        state = State.KEY_OR_END;
+                    }
+                    case '[' -> {
+                        if (capturing) captured.putIfAbsent(path.toString(), "[…]");
+                        push(true);
+                        state = State.ARRAY_START;
+                    }
+                    case '"' -> {
+                        stringIsKey = false;
+                        value.reset();
+                        state = State.STRING;
+                    }
+                    default -> {
+                        if (b == ',' || b == ':' || b == '}' || b == ']') {
+                            state = State.INVALID;
+                            return true;
+                        }
+                        value.reset();
+                        value.add(b);
+                        state = State.LITERAL;
+                    }
+                }
+                return true;
+            }
+            case ARRAY_START -> {
+                if (isSpace(b)) return true;
+                if (b == ']') {
+                    pop();
+                    return true;
+                }
+                state = State.VALUE;
+                return false;
+            }
+            case KEY_OR_END -> {
+                if (isSpace(b)) return true;
+                if (b == '}') {
+                    pop();
+                } else if (b == '"') {
+                    stringIsKey = true;
+                    key.reset();
+                    state = State.STRING;
+                } else {
+                    state = State.INVALID;
+                }
+                return true;
+            }
+            case COLON -> {
+                if (isSpace(b)) return true;
+                if (b != ':') {
+                    state = State.INVALID;
+                    return true;
+                }
+                path.setLength(base[depth - 1]);
+                path.append('.').append(key.text());
+                state = State.VALUE;
+                return true;
+            }
+            case STRING -> {
+                if (b == '"') {
+                    if (stringIsKey) {
+                        state = State.COLON;
+                    } else {
+                        if (capturing) captured.putIfAbsent(path.toString(), value.text());
+                        endValue();
+                    }
+                } else if (b == '\\') {
+                    state = State.ESCAPE;
+                } else {
+                    target().add(b);
+                }
+                return true;
+            }
+            case ESCAPE -> {
+                state = State.STRING;
+                switch (b) {
+                    case 'n' -> target().add((byte) '\n');
+                    case 't' -> target().add((byte) '\t');
+                    case 'r' -> target().add((byte) '\r');
+                    case 'b' -> target().add((byte) '\b');
+                    case 'f' -> target().add((byte) '\f');
+                    case 'u' -> {
+                        unicode = 0;
+                        unicodeDigits = 0;
+                        state = State.UNICODE;
+                    }
+                    default -> target().add(b); // \" \\ \/
+                }
+                return true;
+            }
+            case UNICODE -> {
+                int digit = Character.digit(b, 16);
+                if (digit < 0) {
+                    state = State.INVALID;
+                    return true;
+                }
+                unicode = unicode * 16 + digit;
+                if (++unicodeDigits == 4) {
+                    appendCodeUnit((char) unicode);
+                    state = State.STRING;
+                }
+                return true;
+            }
+            case LITERAL -> {
+                if (b == ',' || b == '}' || b == ']' || isSpace(b)) {
+                    endLiteral();
+                    return false;
+                }
+                value.add(b);
+                return true;
+            }
+            case AFTER_VALUE -> {
+                if (isSpace(b)) return true;
+                if (b == ',' && depth > 0) {
+                    index[depth - 1]++;
+                    state = isArray[depth - 1] ? State.VALUE : State.KEY_OR_END;
+                } else if ((b == '}' && depth > 0 && !isArray[depth - 1]) || (b == ']' && depth > 0 && isArray[depth - 1])) {
+                    pop();
+                } else {
+                    state = State.INVALID;
+                }
+                return true;
+            }
+            default -> {
+                return true;
+            }
+        }
+    }
+
+    private void startValue() {
+        if (depth > 0 && isArray[depth - 1]) {
+            path.setLength(base[depth - 1]);
+            path.append('[').append(index[depth - 1]).append(']');
+        }
+        capturing = !watched.isEmpty() && isWatched();
+    }
+
+    private boolean isWatched() {
+        for (String p : watched) {
+            if (p.length() == path.length() && p.contentEquals(path)) return true;
+        }
+        return false;
+    }
+
+    private void endLiteral() {
+        if (capturing) captured.putIfAbsent(path.toString(), value.text());
+        endValue();
+    }
+
+    private void endValue() {
+        capturing = false;
+        state = depth == 0 ? State.DONE : State.AFTER_VALUE;
+    }
+
+    private void push(boolean array) {
+        if (depth == isArray.length) {
+            isArray = java.util.Arrays.copyOf(isArray, depth * 2);
+            index = java.util.Arrays.copyOf(index, depth * 2);
+            base = java.util.Arrays.copyOf(base, depth * 2);
+        }
+        isArray[depth] = array;
+        index[depth] = 0;
+        base[depth] = path.length();
+        depth++;
+        capturing = false;
+    }
+
+    private void pop() {
+        depth--;
+        path.setLength(base[depth]);
+        endValue();
+    }
+
+    private Buffer target() {
+        if (stringIsKey) return key;
+        // Not watched: nothing to keep, but the bytes still have to be consumed
+        return capturing ? value : Buffer.DISCARD;
+    }
+
+    private void appendCodeUnit(char c) {
+        if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+            return;
+        }
+        String text = highSurrogate >= 0 && Character.isLowSurrogate(c)
+                ? new String(new char[]{(char) highSurrogate, c})
+                : String.valueOf(c);
+        highSurrogate = -1;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) target().add(b);
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Bounded byte accumulator; bytes past the cap are dropped.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+        static final Buffer DISCARD = new Buffer(0);
+        private final int cap;
+
+        Buffer(int cap) {
+            super(Math.min(cap, 64));
+            this.cap = cap;
+        }
+
+        void add(byte b) {
+            if (count < cap) write(b);
+        }
+
+        String text() {
+            return toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package assertion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a StreamingResponseHandler found: the status, how many body bytes arrived, a
+ * short preview of the body, and one verdict per expectation in step order.
+ */
+public final class ResponseCheck {
+
+    public record Verdict(Expectation expectation, boolean passed, String actual) {
+
+        public String message() {
+            if (passed) return expectation.describe();
+            return switch (expectation.kind()) {
+                case BODY -> "❌ Body does not contain expected text: " + expectation.expected();
+                case STATUS -> "❌ Expected status " + expectation.expected() + " but was " + actual;
+                case HEADER -> "❌ Header " + expectation.key()
+                        + (actual == null ? " missing" : " was '" + actual + "', expected to contain: " + expectation.expected());
+                case JSON -> "❌ JSON " + expectation.key()
+                        + (actual == null ? " not found" : " was '" + actual + "', expected: " + expectation.expected());
+            };
+        }
+    }
+
+    private final int status;
+    private final long bodyBytes;
+    private final String preview;
+    private final boolean previewTruncated;
+    private final List<Verdict> verdicts;
+
+    ResponseCheck(int status, long bodyBytes, String preview, boolean previewTruncated, List<Verdict> verdicts) {
+        this.status = status;
+        this.bodyBytes = bodyBytes;
+        this.preview = preview;
+        this.previewTruncated = previewTruncated;
+        this.verdicts = Collections.unmodifiableList(new ArrayList<>(verdicts));
+    }
+
+    /**
+     * Evaluates expectations when there was no request before them: the body is empty
+     * and there is no status or header to match, as with the old empty-body check.
+     */
+    public static ResponseCheck withoutResponse(ResponseExpectations expectations) {
+        List<Verdict> verdicts = new ArrayList<>();
+        for (Expectation e : expectations.all()) {
+            boolean passed = e.kind() == Expectation.Kind.BODY && e.expected().isEmpty();
+            verdicts.add(new Verdict(e, passed, null));
+        }
+        return new ResponseCheck(0, 0, "", false, verdicts);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getBodyBytes() {
+        return bodyBytes;
+    }
+
+    /**
+     * The first bytes of the body, decoded; ends with "…" if the body was longer.
+     */
+    public String getPreview() {
+        return previewTruncated ? preview + "…" : preview;
+    }
+
+    public List<Verdict> getVerdicts() {
+        return verdicts;
+    }
+
+    public boolean allPassed() {
+        for (Verdict verdict : verdicts) {
+            if (!verdict.passed()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return index of the first failing verdict, or -1
+     */
+    public int firstFailure() {
+        for (int i = 0; i < verdicts.size(); i++) {
+            if (!verdicts.get(i).passed()) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,55 @@
+package assertion;
+
+import dto.StepDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The expectations on one response, in step order.
+ */
+public final class ResponseExpectations {
+
+    private final List<Expectation> expectations;
+
+    public ResponseExpectations(List<Expectation> expectations) {
+        this.expectations = List.copyOf(expectations);
+    }
+
+    /**
+     * Collects the assertion steps of a segment; any other step is ignored.
+     */
+    public static ResponseExpectations of(List<StepDto> steps) {
+        List<Expectation> expectations = new ArrayList<>();
+        for (StepDto step : steps) {
+            Expectation expectation = Expectation.of(step);
+            if (expectation != null) expectations.add(expectation);
+        }
+        return new ResponseExpectations(expectations);
+    }
+
+    public List<Expectation> all() {
+        return expectations;
+    }
+
+    public boolean isEmpty() {
+        return expectations.isEmpty();
+    }
+
+    boolean needsBody() {
+        for (Expectation e : expectations) {
+            if (e.kind() == Expectation.Kind.BODY || e.kind() == Expectation.Kind.JSON) return true;
+        }
+        return false;
+    }
+
+    Set<String> jsonPaths() {
+        Set<String> paths = new LinkedHashSet<>();
+        for (Expectation e : expectations) {
+            if (e.kind() == Expectation.Kind.JSON) paths.add(e.key());
+        }
+        return paths;
+    }
+}
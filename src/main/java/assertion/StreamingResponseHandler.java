@@ -0,0 +1,139 @@
+package assertion;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler that checks a response against its expectations while the body arrives,
+ * instead of buffering it into a String.
+ *
+ * Status and header checks are decided from the response head. Body substrings are
+ * searched chunk by chunk (matches spanning chunks included) and JSON paths are picked
+ * out by a streaming tokenizer, so memory per response is the preview plus the
+ * expectations, whatever the body size. Once every body expectation is settled the
+ * remaining chunks are only counted.
+ */
+public final class StreamingResponseHandler implements HttpResponse.BodyHandler<ResponseCheck> {
+
+    /** Bytes of body kept for logs and reports. */
+    public static final int DEFAULT_PREVIEW_BYTES = 256;
+
+    private final ResponseExpectations expectations;
+    private final int previewBytes;
+
+    public StreamingResponseHandler(ResponseExpectations expectations, int previewBytes) {
+        this.expectations = expectations;
+        this.previewBytes = previewBytes;
+    }
+
+    public StreamingResponseHandler(ResponseExpectations expectations) {
+        this(expectations, DEFAULT_PREVIEW_BYTES);
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<ResponseCheck> apply(HttpResponse.ResponseInfo info) {
+        return new Subscriber(info.statusCode(), info.headers());
+    }
+
+    private final class Subscriber implements HttpResponse.BodySubscriber<ResponseCheck> {
+
+        private final int status;
+        private final HttpHeaders headers;
+        private final CompletableFuture<ResponseCheck> result = new CompletableFuture<>();
+
+        private final Map<Expectation, ByteNeedle> needles = new HashMap<>();
+        private final JsonStreamScanner json;
+        private final byte[] preview;
+        private int previewLength;
+        private long bodyBytes;
+
+        Subscriber(int status, HttpHeaders headers) {
+            this.status = status;
+            this.headers = headers;
+            this.preview = new byte[previewBytes];
+            for (Expectation e : expectations.all()) {
+                if (e.kind() == Expectation.Kind.BODY) needles.put(e, new ByteNeedle(e.expected()));
+            }
+            this.json = expectations.jsonPaths().isEmpty() ? null : new JsonStreamScanner(expectations.jsonPaths());
+        }
+
+        @Override
+        public CompletionStage<ResponseCheck> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> chunks) {
+            for (ByteBuffer chunk : chunks) {
+                bodyBytes += chunk.remaining();
+                if (previewLength < preview.length) {
+                    int n = Math.min(preview.length - previewLength, chunk.remaining());
+                    chunk.get(chunk.position(), preview, previewLength, n);
+                    previewLength += n;
+                }
+                if (bodySettled()) continue;
+                for (ByteNeedle needle : needles.values()) {
+                    needle.feed(chunk);
+                }
+                if (json != null) json.feed(chunk);
+            }
+        }
+
+        private boolean bodySettled() {
+            for (ByteNeedle needle : needles.values()) {
+                if (!needle.isFound()) return false;
+            }
+            return json == null || json.hasCapturedAll() || !json.isValid();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            result.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (json != null) json.finish();
+
+            List<ResponseCheck.Verdict> verdicts = new ArrayList<>();
+            for (Expectation e : expectations.all()) {
+                verdicts.add(switch (e.kind()) {
+                    case BODY -> new ResponseCheck.Verdict(e, needles.get(e).isFound(), null);
+                    case STATUS -> new ResponseCheck.Verdict(e, e.matchesStatus(status), Integer.toString(status));
+                    case HEADER -> header(e);
+                    case JSON -> jsonValue(e);
+                });
+            }
+
+            String text = new String(preview, 0, previewLength, StandardCharsets.UTF_8);
+            result.complete(new ResponseCheck(status, bodyBytes, text, bodyBytes > previewLength, verdicts));
+        }
+
+        private ResponseCheck.Verdict header(Expectation e) {
+            List<String> values = headers.allValues(e.key());
+            if (values.isEmpty()) return new ResponseCheck.Verdict(e, false, null);
+            String joined = String.join(", ", values);
+            return new ResponseCheck.Verdict(e, joined.contains(e.expected()), joined);
+        }
+
+        private ResponseCheck.Verdict jsonValue(Expectation e) {
+            String actual = json.captured().get(e.key());
+            boolean passed = actual != null && (e.expected().isEmpty() || e.expected().equals(actual));
+            return new ResponseCheck.Verdict(e, passed, actual);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package cli;
+
+import report.ResultWriter;
+import runner.ExecutionStyle;
+import runner.SuiteResult;
+import runner.SuiteRunner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Non-interactive entry point for schedulers and CI: every setting comes from the
+ * command line (see {@link BatchOptions#USAGE}) and the outcome is the exit code.
+ * {@code merge} as the first argument combines the results of sharded runs instead
+ * (see {@link MergeCommand}).
+ *
+ * Only the classes a run actually needs are touched. With {@code --style rest} (or
+ * {@code --api-only}) the suite goes straight to the async REST executor, so neither
+ * the console runner nor any Selenium class is loaded.
+ */
+public class BatchMain {
+
+    public static final int EXIT_PASSED = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_ERROR = 3;
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs the suite described by the arguments and returns the process exit code.
+     */
+    public static int run(String... args) {
+        if (args.length > 0 && args[0].equals("merge")) {
+            return MergeCommand.run(Arrays.copyOfRange(args, 1, args.length));
+        }
+
+        BatchOptions options;
+        List<Path> scripts;
+        try {
+            options = BatchOptions.parse(args);
+            if (options.isHelp()) {
+                System.out.println(BatchOptions.USAGE);
+                return EXIT_PASSED;
+            }
+            scripts = options.scripts();
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println(BatchOptions.USAGE);
+            return EXIT_USAGE;
+        } catch (IOException e) {
+            System.err.println("❌ Failed to list scripts: " + e.getMessage());
+            return EXIT_ERROR;
+        }
+
+        if (scripts.isEmpty()) {
+            System.err.println("❌ No scripts match: " + String.join(" ", options.getPatterns()));
+            return EXIT_USAGE;
+        }
+
+        try {
+            SuiteResult result = runSuite(options, scripts);
+            result.printReport();
+            if (!options.getReports().isEmpty()) {
+                System.out.println("📄 Reports: " + options.getReports());
+            }
+            return result.allPassed() ? EXIT_PASSED : EXIT_FAILED;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Suite run failed: " + e);
+            return EXIT_ERROR;
+        }
+    }
+
+    private static SuiteResult runSuite(BatchOptions options, List<Path> scripts) throws IOException {
+        SuiteRunner runner = new SuiteRunner(options.getParallelism(), options.getStyle())
+                .incremental(options.isIncremental())
+                .streaming(options.isStreaming() && options.getStyle() == ExecutionStyle.STANDARD)
+                .scriptCache(options.isScriptCache())
+                .batchedDom(options.isBatchedDom() || Boolean.getBoolean("fsqs.dom.batched"))
+                .structuredRest(options.isStructuredRest() || Boolean.getBoolean("fsqs.rest.structured"))
+                .failurePolicy(options.failurePolicy())
+                .transport(options.transportSettings());
+        if (options.getBreakerThreshold() != null) {
+            runner.circuitBreaker(options.getBreakerThreshold());
+        }
+        if (options.getShard() != null) {
+            runner.shard(options.getShard());
+        }
+        if (options.getTimings() != null) {
+            runner.timings(options.getTimings());
+        }
+
+        if (options.getReports().isEmpty()) {
+            return runner.run(scripts);
+        }
+        List<ResultWriter> writers = new ArrayList<>();
+        try {
+            for (Path report : options.getReports()) {
+                writers.add(ResultWriter.forPath(report));
+            }
+        } catch (IOException e) {
+            ResultWriter.tee(writers).close();
+            throw e;
+        }
+        try (ResultWriter reports = ResultWriter.tee(writers)) {
+            return runner.resultWriter(reports).run(scripts);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package cli;
+
+import http.CassetteTransport;
+import http.TransportSettings;
+import runner.ExecutionStyle;
+import runner.Shard;
+import service.FailurePolicy;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Command-line arguments of {@link BatchMain}. Parsing never prompts; anything it
+ * does not understand is an IllegalArgumentException with a message for the user.
+ */
+public class BatchOptions {
+
+    static final String USAGE = String.join("\n",
+            "Usage: java -cp <classpath> cli.BatchMain [options] <glob|file|folder>...",
+            "",
+            "  --style standard|gherkin|rest  how scripts are executed (default: standard)",
+            "  --api-only                     same as --style rest; Selenium is never loaded",
+            "  --parallelism N                browser slots, or requests in flight for rest (default: cores)",
+            "  --report PATH                  .xml for JUnit XML, anything else for JSON Lines; repeatable",
+            "  --incremental                  only new, changed or previously failed scripts",
+            "  --streaming                    execute standard scripts while they are read",
+            "  --batched-dom                  fill consecutive typed fields with one script call",
+            "  --structured-rest              run API scripts' requests as cancellable child tasks, in order",
+            "  --retries N                    retries of a UI step after a stale or covered element (default: 2)",
+            "  --no-fail-fast                 keep running a UI test's steps after one fails",
+            "  --breaker N                    skip a host's tests after N errors in a row, 0 = off (default: 5)",
+            "  --shard I/N                    run only shard I of N, balanced by recorded script durations",
+            "  --timings PATH                 script durations to balance shards with (default: target/fsqs-cache/timings.tsv)",
+            "  --no-cache                     always parse scripts instead of using the compiled cache",
+            "  --transport jdk|pooled         HTTP transport for API steps",
+            "  --cassette PATH                record API responses to PATH and replay them on later runs",
+            "  --cassette-mode MODE           auto (replay, record what is missing), replay or record",
+            "  --extension EXT                script extension when a folder is given (default: .txt)",
+            "  -h, --help                     show this help",
+            "",
+            "       java -cp <classpath> cli.BatchMain merge --help   to combine shard results",
+            "",
+            "Exit codes: 0 all passed, 1 test failures, 2 usage error, 3 internal error");
+
+    private final List<String> patterns = new ArrayList<>();
+    private final List<Path> reports = new ArrayList<>();
+    private ExecutionStyle style = ExecutionStyle.STANDARD;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean incremental;
+    private boolean streaming;
+    private boolean batchedDom;
+    private boolean structuredRest;
+    private Integer retries;
+    private boolean failFast = true;
+    private Integer breakerThreshold;
+    private Shard shard;
+    private Path timings;
+    private boolean scriptCache = true;
+    private String transport;
+    private Path cassette;
+    private CassetteTransport.Mode cassetteMode;
+    private String extension = ".txt";
+    private boolean help;
+
+    public static BatchOptions parse(String... args) {
+        BatchOptions options = new BatchOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "-h", "--help" -> options.help = true;
+                case "--style" -> options.style = parseStyle(valueOf(args, ++i, arg));
+                case "--api-only" -> options.style = ExecutionStyle.REST;
+                case "--parallelism" -> options.parallelism = parsePositive(valueOf(args, ++i, arg), arg);
+                case "--report" -> options.reports.add(Path.of(valueOf(args, ++i, arg)));
+                case "--incremental" -> options.incremental = true;
+                case "--streaming" -> options.streaming = true;
+                case "--batched-dom" -> options.batchedDom = true;
+                case "--structured-rest" -> options.structuredRest = true;
+                case "--retries" -> options.retries = parseCount(valueOf(args, ++i, arg), arg);
+                case "--no-fail-fast" -> options.failFast = false;
+                case "--breaker" -> options.breakerThreshold = parseCount(valueOf(args, ++i, arg), arg);
+                case "--shard" -> options.shard = Shard.parse(valueOf(args, ++i, arg));
+                case "--timings" -> options.timings = Path.of(valueOf(args, ++i, arg));
+                case "--no-cache" -> options.scriptCache = false;
+                case "--transport" -> options.transport = parseTransport(valueOf(args, ++i, arg));
+                case "--cassette" -> options.cassette = Path.of(valueOf(args, ++i, arg));
+                case "--cassette-mode" -> options.cassetteMode = CassetteTransport.Mode.parse(valueOf(args, ++i, arg));
+                case "--extension" -> {
+                    String ext = valueOf(args, ++i, arg);
+                    options.extension = ext.startsWith(".") ? ext : "." + ext;
+                }
+                default -> {
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                    }
+                    options.patterns.add(arg);
+                }
+            }
+        }
+        if (!options.help && options.patterns.isEmpty()) {
+            throw new IllegalArgumentException("No scripts given");
+        }
+        return options;
+    }
+
+    /**
+     * Resolves every argument to script files: plain files as they are, folders to
+     * every file with the script extension below them, and anything else as a glob
+     * relative to the working directory. A leading or inner {@code **}/ also matches
+     * zero folders, so {@code testcases/**}{@code /*.txt} includes top-level scripts.
+     */
+    public List<Path> scripts() throws IOException {
+        TreeSet<Path> scripts = new TreeSet<>();
+        for (String pattern : patterns) {
+            if (isGlob(pattern)) {
+                PathMatcher deep = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+                PathMatcher flat = FileSystems.getDefault().getPathMatcher("glob:" + pattern.replace("**/", ""));
+                scripts.addAll(walk(baseOf(pattern), file -> deep.matches(file) || flat.matches(file)));
+                continue;
+            }
+            Path path = Path.of(pattern);
+            if (Files.isDirectory(path)) {
+                scripts.addAll(walk(path, file -> file.getFileName().toString().endsWith(extension)));
+            } else if (Files.isRegularFile(path)) {
+                scripts.add(path);
+            } else {
+                throw new IllegalArgumentException("No such file or folder: " + pattern);
+            }
+        }
+        return new ArrayList<>(scripts);
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public List<Path> getReports() {
+        return reports;
+    }
+
+    public ExecutionStyle getStyle() {
+        return style;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public boolean isBatchedDom() {
+        return batchedDom;
+    }
+
+    public boolean isStructuredRest() {
+        return structuredRest;
+    }
+
+    /**
+     * The fsqs.retry.* / fsqs.failFast defaults with the command-line options on top.
+     */
+    public FailurePolicy failurePolicy() {
+        FailurePolicy policy = FailurePolicy.fromSystemProperties();
+        if (retries != null) policy.maxRetries(retries);
+        if (!failFast) policy.failFast(false);
+        return policy;
+    }
+
+    /**
+     * @return the --breaker threshold, or null to keep the runner's default
+     */
+    public Integer getBreakerThreshold() {
+        return breakerThreshold;
+    }
+
+    public Shard getShard() {
+        return shard;
+    }
+
+    /**
+     * @return the --timings file, or null to keep the runner's default
+     */
+    public Path getTimings() {
+        return timings;
+    }
+
+    public boolean isScriptCache() {
+        return scriptCache;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+
+    /**
+     * The transport from the fsqs.http.* system properties, with --transport and
+     * --cassette on top.
+     */
+    public TransportSettings transportSettings() {
+        TransportSettings settings = TransportSettings.fromSystemProperties();
+        if (transport != null) settings.kind(transport);
+        if (cassette != null) settings.cassette(cassette);
+        if (cassetteMode != null) settings.cassetteMode(cassetteMode);
+        return settings;
+    }
+
+    private static List<Path> walk(Path base, PathMatcher matcher) throws IOException {
+        if (!Files.isDirectory(base)) return List.of();
+        try (Stream<Path> files = Files.walk(base)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(matcher::matches)
+                    .toList();
+        }
+    }
+
+    /**
+     * The folder part of a glob before its first wildcard, e.g. {@code testcases/api}
+     * for {@code testcases/api/*.txt}.
+     */
+    static Path baseOf(String pattern) {
+        Path base = Path.of("");
+        for (String segment : pattern.replace('\\', '/').split("/")) {
+            if (isGlob(segment)) break;
+            base = base.resolve(segment.isEmpty() ? "/" : segment);
+        }
+        return base;
+    }
+
+    private static boolean isGlob(String pattern) {
+        return pattern.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+    }
+
+    private static ExecutionStyle parseStyle(String value) {
+        try {
+            return ExecutionStyle.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown style: " + value + " (expected standard, gherkin or rest)");
+        }
+    }
+
+    private static String parseTransport(String value) {
+        String kind = value.trim().toLowerCase(Locale.ROOT);
+        if (!kind.equals("jdk") && !kind.equals("pooled")) {
+            throw new IllegalArgumentException("Unknown transport: " + value + " (expected jdk or pooled)");
+        }
+        return kind;
+    }
+
+    private static int parseCount(String value, String option) {
+        try {
+            int number = Integer.parseInt(value.trim());
+            if (number >= 0) return number;
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(option + " needs a number of 0 or more: " + value);
+    }
+
+    private static int parsePositive(String value, String option) {
+        try {
+            int number = Integer.parseInt(value.trim());
+            if (number >= 1) return number;
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(option + " needs a positive number: " + value);
+    }
+
+    private static String valueOf(String[] args, int index, String option) {
+        if (index >= args.length || args[index].startsWith("--")) {
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[index];
+    }
+}
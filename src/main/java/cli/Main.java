@@ -1,22 +1,51 @@
 package cli;
 
+import driver.WebDriverPool;
 import dto.TestCaseDto;
+import dto.TestResultDto;
+import gherkin.GherkinEngine;
+import gherkin.StepRegistry;
+import http.HttpTransport;
+import http.TransportSettings;
+import load.LoadGenerator;
+import load.LoadProfile;
+import org.openqa.selenium.chrome.ChromeDriver;
 import parser.TestCaseParser;
+import report.ResultWriter;
 import runner.ConsoleRunner;
+import runner.ExecutionStyle;
+import runner.SuiteResult;
+import runner.SuiteRunner;
+import runner.WatchRunner;
+import service.TestCaseService;
+import stub.StubHttpServer;
+import util.DiscoveryIndex;
+import util.ElementFinder;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Scanner;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            // Any argument means a scripted run: no prompts, the outcome is the exit code
+            System.exit(BatchMain.run(args));
+        }
+
         System.out.println("🎉 Welcome to FSQS Toolkit!");
 
         Scanner scanner = new Scanner(System.in);
         System.out.println("Choose execution style:");
         System.out.println("1. FSQS Legacy Script (*.txt)");
-        System.out.println("2. Gherkin Cucumber Feature (*.feature)");
+        System.out.println("2. Gherkin Feature (*.feature, in-process)");
         System.out.println("3. API Test Case (*.txt with GET/POST/etc)");
-        System.out.print("Your choice [1/2/3]: ");
+        System.out.println("4. Run all scripts in testcases/ (parallel suite)");
+        System.out.println("5. Load test an API script");
+        System.out.println("6. Watch testcases/ and re-run scripts on save");
+        System.out.print("Your choice [1/2/3/4/5/6]: ");
 
         String choice = scanner.nextLine();
 
@@ -34,15 +63,20 @@ public class Main {
                 break;
 
             case "2":
-                try {
-                    System.out.println("🧪 Running Cucumber Feature Tests...");
-                    ProcessBuilder pb = new ProcessBuilder("mvn", "test");
-                    pb.inheritIO();
-                    Process process = pb.start();
-                    int exitCode = process.waitFor();
-                    System.out.println("✅ Cucumber test completed with exit code: " + exitCode);
-                } catch (Exception e) {
-                    System.err.println("❌ Failed to run Cucumber tests: " + e.getMessage());
+                // Compiled and run in this JVM; no "mvn test" subprocess. The built-in steps
+                // cover the bundled feature, so the test glue need not be on the classpath.
+                Path features = Path.of("src", "test", "resources", "features");
+                try (DiscoveryIndex featureFiles = new DiscoveryIndex(features);
+                     WebDriverPool drivers = new WebDriverPool(ChromeDriver::new, 1)) {
+                    long start = System.nanoTime();
+                    GherkinEngine gherkin = new GherkinEngine(StepRegistry.withGlue("stepdefinitions"),
+                            drivers, new TestCaseService(drivers));
+                    List<TestResultDto> results = gherkin.runFeatures(featureFiles.files(".feature"));
+                    long passed = results.stream().filter(TestResultDto::isPassed).count();
+                    System.out.printf("🥒 %d scenarios: ✅ %d passed, ❌ %d failed in %d ms%n",
+                            results.size(), passed, results.size() - passed, (System.nanoTime() - start) / 1_000_000);
+                } catch (IOException e) {
+                    System.err.println("❌ Failed to run feature files: " + e.getMessage());
                 }
                 break;
 
@@ -57,6 +91,86 @@ public class Main {
                 }
                 break;
 
+            case "4":
+                try {
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    System.out.print("Browser slots [" + cores + "]: ");
+                    String workers = scanner.nextLine().trim();
+                    int parallelism = workers.isEmpty() ? cores : Integer.parseInt(workers);
+
+                    System.out.print("Execution style: (1) Standard  (2) Gherkin  (3) REST [1]: ");
+                    ExecutionStyle style = ExecutionStyle.fromChoice(scanner.nextLine());
+
+                    System.out.print("Only run new, changed or previously failed scripts? (y/n) [n]: ");
+                    boolean incremental = scanner.nextLine().trim().equalsIgnoreCase("y");
+
+                    Path junit = Path.of("target", "fsqs-reports", "results.xml");
+                    Path jsonl = Path.of("target", "fsqs-reports", "results.jsonl");
+                    try (ResultWriter reports = ResultWriter.tee(List.of(
+                            ResultWriter.forPath(junit), ResultWriter.forPath(jsonl)))) {
+                        SuiteResult result = new SuiteRunner(parallelism, style)
+                                .incremental(incremental)
+                                .resultWriter(reports)
+                                .run("testcases", ".txt");
+                        result.printReport();
+                    }
+                    System.out.println(ElementFinder.getLocatorCache().summary());
+                    System.out.println("📄 Reports: " + junit + ", " + jsonl);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("❌ Failed to run suite: " + e.getMessage());
+                }
+                break;
+
+            case "5":
+                try {
+                    System.out.print("API script [getPostTest.txt]: ");
+                    String file = scanner.nextLine().trim();
+                    TestCaseDto apiTest = new TestCaseParser().loadFromScriptFile(file.isEmpty() ? "getPostTest.txt" : file);
+
+                    System.out.print("Virtual users [10]: ");
+                    String users = scanner.nextLine().trim();
+                    System.out.print("Duration in seconds [10]: ");
+                    String seconds = scanner.nextLine().trim();
+                    System.out.print("Target iterations/s (0 = as fast as possible) [0]: ");
+                    String rate = scanner.nextLine().trim();
+                    LoadProfile profile = new LoadProfile(
+                            users.isEmpty() ? 10 : Integer.parseInt(users),
+                            Duration.ofSeconds(seconds.isEmpty() ? 10 : Long.parseLong(seconds)),
+                            rate.isEmpty() ? 0 : Double.parseDouble(rate));
+
+                    System.out.print("Replay against the embedded local stub instead of the real host? (y/n): ");
+                    boolean local = scanner.nextLine().trim().equalsIgnoreCase("y");
+                    try (HttpTransport http = HttpTransport.create(TransportSettings.fromSystemProperties())) {
+                        LoadGenerator generator = new LoadGenerator(http);
+                        if (local) {
+                            try (StubHttpServer stub = StubHttpServer.start()) {
+                                generator.run(LoadGenerator.retarget(apiTest, stub.baseUrl()), profile).print();
+                            }
+                        } else {
+                            generator.run(apiTest, profile).print();
+                        }
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("❌ Failed to run load test: " + e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    System.err.println("❌ Load test interrupted.");
+                }
+                break;
+
+            case "6":
+                System.out.print("Execution style: (1) Standard  (2) Gherkin  (3) REST [1]: ");
+                ExecutionStyle watchStyle = ExecutionStyle.fromChoice(scanner.nextLine());
+                try (WatchRunner watcher = new WatchRunner(WatchRunner.defaultFolder(), ".txt",
+                        watchStyle, Duration.ofMillis(200))) {
+                    watcher.start();
+                    System.out.println("Save a script to run it. Press Enter to stop.");
+                    scanner.nextLine();
+                } catch (IOException e) {
+                    System.err.println("❌ Failed to start watch mode: " + e.getMessage());
+                }
+                break;
+
             default:
                 System.out.println("⚠️ Invalid choice. Exiting.");
         }
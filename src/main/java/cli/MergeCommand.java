@@ -0,0 +1,129 @@
+package cli;
+
+import dto.TestResultDto;
+import report.JsonLinesResultReader;
+import report.ResultWriter;
+import runner.ScriptTimings;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code cli.BatchMain merge}: combines the JSON Lines results of several shards into
+ * one report, and their timings files into the one the next sharded run reads.
+ * Exit codes match BatchMain: 0 when every merged test passed, 1 when any failed.
+ */
+public class MergeCommand {
+
+    static final String USAGE = String.join("\n",
+            "Usage: java -cp <classpath> cli.BatchMain merge [options] <shard results.jsonl | shard timings.tsv>...",
+            "",
+            "  --report PATH   merged report, .xml for JUnit XML, anything else for JSON Lines; repeatable",
+            "                  (default: target/fsqs-reports/merged.jsonl)",
+            "  --timings PATH  merged timings file (default: " + ScriptTimings.DEFAULT_FILE + ")",
+            "",
+            "Exit codes: 0 all passed, 1 test failures, 2 usage error, 3 internal error");
+
+    private MergeCommand() {
+    }
+
+    public static int run(String... args) {
+        List<Path> results = new ArrayList<>();
+        List<Path> timingFiles = new ArrayList<>();
+        List<Path> reports = new ArrayList<>();
+        Path timingsOut = ScriptTimings.DEFAULT_FILE;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ((arg.equals("--report") || arg.equals("--timings")) && i + 1 >= args.length) {
+                return usage(arg + " needs a value");
+            }
+            switch (arg) {
+                case "-h", "--help" -> {
+                    System.out.println(USAGE);
+                    return BatchMain.EXIT_PASSED;
+                }
+                case "--report" -> reports.add(Path.of(args[++i]));
+                case "--timings" -> timingsOut = Path.of(args[++i]);
+                default -> {
+                    if (arg.startsWith("--")) return usage("Unknown option: " + arg);
+                    if (arg.endsWith(".jsonl")) results.add(Path.of(arg));
+                    else if (arg.endsWith(".tsv")) timingFiles.add(Path.of(arg));
+                    else return usage("Expected shard results (.jsonl) or timings (.tsv): " + arg);
+                }
+            }
+        }
+        if (results.isEmpty() && timingFiles.isEmpty()) {
+            return usage("No shard files given");
+        }
+        if (reports.isEmpty()) {
+            reports.add(Path.of("target", "fsqs-reports", "merged.jsonl"));
+        }
+
+        try {
+            boolean allPassed = mergeResults(results, reports);
+            if (!timingFiles.isEmpty()) {
+                ScriptTimings timings = ScriptTimings.empty(timingsOut);
+                for (Path file : timingFiles) {
+                    timings.load(file);
+                }
+                timings.save();
+                System.out.printf("⏱ Merged %d timings files into %s (%d scripts)%n",
+                        timingFiles.size(), timingsOut, timings.size());
+            }
+            return allPassed ? BatchMain.EXIT_PASSED : BatchMain.EXIT_FAILED;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Merge failed: " + e.getMessage());
+            return BatchMain.EXIT_ERROR;
+        }
+    }
+
+    private static boolean mergeResults(List<Path> results, List<Path> reports) throws IOException {
+        if (results.isEmpty()) return true;
+
+        AtomicLong total = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<ResultWriter> writers = new ArrayList<>();
+        try {
+            for (Path report : reports) {
+                writers.add(ResultWriter.forPath(report));
+            }
+        } catch (IOException e) {
+            ResultWriter.tee(writers).close();
+            throw e;
+        }
+
+        try (ResultWriter merged = ResultWriter.tee(writers)) {
+            for (Path file : results) {
+                AtomicLong shardNanos = new AtomicLong();
+                long count = JsonLinesResultReader.copy(file, new ResultWriter() {
+                    @Override
+                    public void write(TestResultDto result) throws IOException {
+                        total.incrementAndGet();
+                        if (!result.isPassed()) failed.incrementAndGet();
+                        shardNanos.addAndGet(result.getDurationNanos());
+                        merged.write(result);
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                });
+                // Similar totals mean the shards were balanced
+                System.out.printf("🧩 %-40s %5d tests, %8.1f s of test time%n", file, count, shardNanos.get() / 1e9);
+            }
+        }
+        System.out.printf("🧮 Merged %d results: ✅ %d passed, ❌ %d failed%n", total.get(), total.get() - failed.get(), failed.get());
+        System.out.println("📄 Reports: " + reports);
+        return failed.get() == 0;
+    }
+
+    private static int usage(String message) {
+        System.err.println("❌ " + message);
+        System.err.println(USAGE);
+        return BatchMain.EXIT_USAGE;
+    }
+}
@@ -0,0 +1,128 @@
+package data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * RFC 4180 style CSV: comma separated, fields may be quoted, {@code ""} inside quotes
+ * is a literal quote and quoted fields may span lines. Blank lines are skipped and
+ * cells missing at the end of a row read as empty.
+ */
+final class CsvDataSource implements DataSource {
+
+    private final Reader reader;
+    private final List<String> header;
+    private Map<String, String> next;
+    private int peeked = -2;
+
+    CsvDataSource(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> columns = readRecord();
+        if (columns == null) {
+            throw new IOException("❌ CSV data file is empty");
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            columns.set(i, columns.get(i).trim());
+        }
+        this.header = columns;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        try {
+            List<String> cells = readRecord();
+            if (cells == null) return false;
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), i < cells.size() ? cells.get(i) : "");
+            }
+            next = row;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Map<String, String> row = next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * @return the cells of the next non-blank record, or null at end of input
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int after = read();
+                    if (after == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        unread(after);
+                    }
+                } else {
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && cell.isEmpty()) {
+                quoted = true;
+                any = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+                any = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int after = read();
+                    if (after != '\n') unread(after);
+                }
+                if (any || !cell.isEmpty()) break;
+            } else {
+                cell.append((char) c);
+                any = true;
+            }
+        }
+
+        if (quoted) {
+            throw new IOException("❌ Unterminated quoted field in CSV data file");
+        }
+        if (!any && cell.isEmpty()) return null;
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        peeked = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,82 @@
+package data;
+
+import dto.TestCaseDto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The test cases of a data-driven script, one per data row, produced on demand:
+ * the script is compiled once and each next() reads one row and binds it, so the
+ * rows are never all in memory at once. Not thread-safe; one thread iterates and
+ * hands the bound cases to the executor.
+ */
+public final class DataDrivenCases implements Iterator<TestCaseDto>, AutoCloseable {
+
+    private final ParameterizedTestCase template;
+    private final DataSource rows;
+    private final Path dataFile;
+    private int rowNumber;
+
+    private DataDrivenCases(ParameterizedTestCase template, DataSource rows, Path dataFile) {
+        this.template = template;
+        this.rows = rows;
+        this.dataFile = dataFile;
+    }
+
+    /**
+     * Opens the data file named by the script's {@code Data:} header. A relative
+     * path is looked up next to the script first, then in the working directory.
+     *
+     * @throws IllegalArgumentException if the script has no Data header
+     */
+    public static DataDrivenCases open(TestCaseDto testCase, Path scriptDir) throws IOException {
+        String file = ParameterizedTestCase.dataFile(testCase);
+        if (file == null) {
+            throw new IllegalArgumentException("❌ Script has no Data: header: " + testCase.getFeatureName());
+        }
+        Path path = resolve(file, scriptDir);
+        return new DataDrivenCases(ParameterizedTestCase.compile(testCase), DataSource.open(path), path);
+    }
+
+    /**
+     * Where {@link #open} looks for the data file named {@code file}.
+     */
+    public static Path resolve(String file, Path scriptDir) {
+        Path path = Path.of(file);
+        if (!path.isAbsolute() && scriptDir != null && Files.isRegularFile(scriptDir.resolve(path))) {
+            return scriptDir.resolve(path);
+        }
+        return path;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return rows.hasNext();
+    }
+
+    @Override
+    public TestCaseDto next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return template.bind(rows.next(), ++rowNumber);
+    }
+
+    /**
+     * Rows handed out so far.
+     */
+    public int getRowCount() {
+        return rowNumber;
+    }
+
+    public Path getDataFile() {
+        return dataFile;
+    }
+
+    @Override
+    public void close() throws IOException {
+        rows.close();
+    }
+}
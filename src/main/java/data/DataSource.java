@@ -0,0 +1,37 @@
+package data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rows of a data file, read one at a time so that a file of any size costs the
+ * same memory as its widest row. Keys are column names, values are the cell text.
+ * A malformed file surfaces as an UncheckedIOException from hasNext()/next().
+ */
+public interface DataSource extends Iterator<Map<String, String>>, AutoCloseable {
+
+    /**
+     * Opens a {@code .csv} file (first record is the header) or a {@code .json} file
+     * holding an array of flat objects.
+     */
+    static DataSource open(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("❌ Data file not found: " + file);
+        }
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return new CsvDataSource(Files.newBufferedReader(file));
+        }
+        if (name.endsWith(".json")) {
+            return new JsonDataSource(Files.newBufferedReader(file));
+        }
+        throw new IOException("❌ Unsupported data file (use .csv or .json): " + file);
+    }
+
+    @Override
+    void close() throws IOException;
+}
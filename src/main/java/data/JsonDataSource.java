@@ -0,0 +1,148 @@
+package data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A JSON array of flat objects, e.g. {@code [{"user":"ada","age":36}, ...]}, pulled
+ * one object at a time. Strings are unescaped; numbers and booleans keep their
+ * literal text; null becomes an empty string. Nested objects and arrays are rejected.
+ */
+final class JsonDataSource implements DataSource {
+
+    private final Reader reader;
+    private Map<String, String> next;
+    private boolean finished;
+    private boolean first = true;
+    private int peeked = -2;
+
+    JsonDataSource(Reader reader) throws IOException {
+        this.reader = reader;
+        if (skipWhitespace() != '[') {
+            throw new IOException("❌ JSON data file must hold an array of objects");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        if (finished) return false;
+        try {
+            int c = skipWhitespace();
+            if (c == ']') {
+                finished = true;
+                return false;
+            }
+            if (!first) {
+                if (c != ',') throw error("',' or ']'", c);
+                c = skipWhitespace();
+            }
+            first = false;
+            if (c != '{') throw error("'{'", c);
+            next = readObject();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Map<String, String> row = next;
+        next = null;
+        return row;
+    }
+
+    private Map<String, String> readObject() throws IOException {
+        Map<String, String> row = new LinkedHashMap<>();
+        int c = skipWhitespace();
+        if (c == '}') return row;
+        while (true) {
+            if (c != '"') throw error("a quoted key", c);
+            String key = readString();
+            if (skipWhitespace() != ':') throw new IOException("❌ Expected ':' after \"" + key + "\" in JSON data file");
+            row.put(key, readScalar(key));
+            c = skipWhitespace();
+            if (c == '}') return row;
+            if (c != ',') throw error("',' or '}'", c);
+            c = skipWhitespace();
+        }
+    }
+
+    private String readScalar(String key) throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') return readString();
+        if (c == '{' || c == '[') {
+            throw new IOException("❌ Nested value for \"" + key + "\" is not supported in JSON data files");
+        }
+        StringBuilder literal = new StringBuilder();
+        while (c != -1 && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+            literal.append((char) c);
+            c = read();
+        }
+        peeked = c;
+        String text = literal.toString();
+        if (text.isEmpty()) throw error("a value for \"" + key + "\"", c);
+        return text.equals("null") ? "" : text;
+    }
+
+    private String readString() throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = read()) != '"') {
+            if (c == -1) throw new IOException("❌ Unterminated string in JSON data file");
+            if (c != '\\') {
+                text.append((char) c);
+                continue;
+            }
+            int escaped = read();
+            switch (escaped) {
+                case 'n' -> text.append('\n');
+                case 't' -> text.append('\t');
+                case 'r' -> text.append('\r');
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'u' -> {
+                    char[] hex = new char[4];
+                    for (int i = 0; i < 4; i++) hex[i] = (char) read();
+                    text.append((char) Integer.parseInt(new String(hex), 16));
+                }
+                case -1 -> throw new IOException("❌ Unterminated string in JSON data file");
+                default -> text.append((char) escaped);
+            }
+        }
+        return text.toString();
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && Character.isWhitespace(c));
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private static IOException error(String expected, int found) {
+        return new IOException("❌ Expected " + expected + " in JSON data file but found "
+                + (found == -1 ? "end of file" : "'" + (char) found + "'"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,131 @@
+package data;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A test case whose steps contain {@code ${name}} placeholders, compiled once so that
+ * binding a data row only concatenates pre-split pieces. Placeholders are allowed in
+ * the target URL and in each step's locator type, locator value and value; fields
+ * without one are shared as-is between all bound copies.
+ */
+public final class ParameterizedTestCase {
+
+    /** Property naming the data file, set by a {@code Data:} script header. */
+    public static final String DATA_PROPERTY = "data";
+
+    private final TestCaseDto template;
+    private final Template targetUrl;
+    private final List<Template[]> steps = new ArrayList<>();
+    private final Set<String> variables = new LinkedHashSet<>();
+
+    private ParameterizedTestCase(TestCaseDto template) {
+        this.template = template;
+        this.targetUrl = compile(template.getTargetUrl());
+        for (StepDto step : template.getSteps()) {
+            steps.add(new Template[]{
+                    compile(step.getLocatorType()), compile(step.getProperty()), compile(step.getValue())});
+        }
+    }
+
+    public static ParameterizedTestCase compile(TestCaseDto template) {
+        return new ParameterizedTestCase(template);
+    }
+
+    /**
+     * True if the script names a data file with a {@code Data:} header.
+     */
+    public static boolean isDataDriven(TestCaseDto testCase) {
+        return dataFile(testCase) != null;
+    }
+
+    /**
+     * @return the data file named by the script, or null
+     */
+    public static String dataFile(TestCaseDto testCase) {
+        Map<String, String> properties = testCase.getProperties();
+        String file = properties == null ? null : properties.get(DATA_PROPERTY);
+        return file == null || file.isBlank() ? null : file.trim();
+    }
+
+    /**
+     * Every placeholder name used by the script, in order of first use.
+     */
+    public Set<String> variables() {
+        return variables;
+    }
+
+    /**
+     * @param rowNumber 1-based, appended to the feature name as {@code [row n]}
+     * @throws IllegalArgumentException if the row has no column for a placeholder
+     */
+    public TestCaseDto bind(Map<String, String> row, int rowNumber) {
+        TestCaseDto bound = new TestCaseDto();
+        bound.setFeatureName(template.getFeatureName() + " [row " + rowNumber + "]");
+        bound.setTargetUrl(targetUrl.render(row, rowNumber));
+        bound.setEventListener(template.getEventListener());
+        if (template.getProperties() != null) {
+            Map<String, String> properties = new LinkedHashMap<>(template.getProperties());
+            properties.remove(DATA_PROPERTY);
+            bound.setProperties(properties);
+        }
+
+        List<StepDto> boundSteps = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            Template[] fields = steps.get(i);
+            boundSteps.add(new StepDto(template.getSteps().get(i).getAction(),
+                    fields[0].render(row, rowNumber), fields[1].render(row, rowNumber), fields[2].render(row, rowNumber)));
+        }
+        bound.setSteps(boundSteps);
+        return bound;
+    }
+
+    private Template compile(String text) {
+        if (text == null || !text.contains("${")) {
+            return new Template(text, null, null);
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = text.indexOf("${", from)) >= 0) {
+            int close = text.indexOf('}', open + 2);
+            if (close < 0) break;
+            literals.add(text.substring(from, open));
+            String name = text.substring(open + 2, close).trim();
+            names.add(name);
+            variables.add(name);
+            from = close + 1;
+        }
+        literals.add(text.substring(from));
+        return new Template(text, literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    /**
+     * literals[0] names[0] literals[1] ... names[n-1] literals[n]; names is null when
+     * the text has no placeholder.
+     */
+    private record Template(String text, String[] literals, String[] names) {
+
+        String render(Map<String, String> row, int rowNumber) {
+            if (names == null) return text;
+            StringBuilder out = new StringBuilder(text.length() + 16 * names.length);
+            for (int i = 0; i < names.length; i++) {
+                out.append(literals[i]);
+                String value = row.get(names[i]);
+                if (value == null) {
+                    throw new IllegalArgumentException("❌ Data row " + rowNumber + " has no column '" + names[i] + "'");
+                }
+                out.append(value);
+            }
+            return out.append(literals[names.length]).toString();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package driver;
+
+import dto.TestCaseDto;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How a Chrome session for UI tests is started: headless or not, when driver.get()
+ * returns (page-load strategy), which resource URLs are never fetched, and the window
+ * size. A script picks one with a "Profile:" header, either a built-in name or a
+ * comma-separated list of settings applied in order, e.g.
+ * {@code Profile: fast, window=1024x768, block=*.css}:
+ * <ul>
+ *   <li>{@code default}  – visible browser, full page load (what ChromeDriver does by default)</li>
+ *   <li>{@code headless} – like default, without a window</li>
+ *   <li>{@code fast}     – headless, eager load (DOM ready), images/fonts/media blocked, 1280x800</li>
+ *   <li>{@code minimal}  – fast, plus page-load strategy none and common trackers blocked</li>
+ * </ul>
+ * Other settings: {@code headed}, {@code normal}/{@code eager}/{@code none},
+ * {@code block=pattern|pattern} (Chrome URL patterns, {@code *} as wildcard) and
+ * {@code window=WIDTHxHEIGHT}. With {@code none}, navigation does not wait at all, so
+ * the first steps of a script must be ones that wait for their element.
+ */
+public class BrowserProfile {
+
+    public static final String PROPERTY = "profile";
+    public static final String DEFAULT_NAME = "default";
+
+    private static final List<String> HEAVY_RESOURCES = List.of(
+            "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico",
+            "*.woff", "*.woff2", "*.ttf", "*.otf", "*.mp4", "*.webm", "*.mp3");
+    private static final List<String> TRACKERS = List.of(
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*", "*facebook.net*", "*hotjar.com*");
+
+    private String name = DEFAULT_NAME;
+    private boolean headless;
+    private PageLoadStrategy pageLoadStrategy = PageLoadStrategy.NORMAL;
+    private final List<String> blockedUrls = new ArrayList<>();
+    private int windowWidth;
+    private int windowHeight;
+
+    public static BrowserProfile defaults() {
+        return new BrowserProfile();
+    }
+
+    /**
+     * The profile named by the test case's "profile" property, or the default one.
+     *
+     * @throws IllegalArgumentException if the property is not a valid profile
+     */
+    public static BrowserProfile forTestCase(TestCaseDto testCase) {
+        Map<String, String> properties = testCase != null ? testCase.getProperties() : null;
+        String spec = properties != null ? properties.get(PROPERTY) : null;
+        return spec == null || spec.isBlank() ? defaults() : parse(spec);
+    }
+
+    /**
+     * Parses a built-in name or a comma-separated list of settings. Profiles that
+     * parse from the same settings share a name, and so share a session pool.
+     */
+    public static BrowserProfile parse(String spec) {
+        BrowserProfile profile = new BrowserProfile();
+        List<String> tokens = new ArrayList<>();
+        for (String raw : spec.split(",")) {
+            String token = raw.trim();
+            if (token.isEmpty()) continue;
+            profile.apply(token);
+            tokens.add(token);
+        }
+        profile.name = tokens.isEmpty() ? DEFAULT_NAME : String.join(",", tokens);
+        return profile;
+    }
+
+    private void apply(String token) {
+        String setting = token.toLowerCase(Locale.ROOT);
+        switch (setting) {
+            case "default" -> {
+            }
+            case "headless" -> headless(true);
+            case "headed" -> headless(false);
+            case "normal" -> pageLoadStrategy(PageLoadStrategy.NORMAL);
+            case "eager" -> pageLoadStrategy(PageLoadStrategy.EAGER);
+            case "none" -> pageLoadStrategy(PageLoadStrategy.NONE);
+            case "fast" -> headless(true).pageLoadStrategy(PageLoadStrategy.EAGER)
+                    .block(HEAVY_RESOURCES).windowSize(1280, 800);
+            case "minimal" -> {
+                apply("fast");
+                pageLoadStrategy(PageLoadStrategy.NONE).block(TRACKERS);
+            }
+            default -> {
+                if (setting.startsWith("block=")) {
+                    block(List.of(token.substring(6).split("\\|")));
+                } else if (setting.startsWith("window=")) {
+                    String[] size = setting.substring(7).split("x");
+                    try {
+                        windowSize(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+                    } catch (RuntimeException e) {
+                        throw new IllegalArgumentException("Window size must look like 1280x800: " + token);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unknown browser profile setting: " + token);
+                }
+            }
+        }
+    }
+
+    public BrowserProfile headless(boolean headless) {
+        this.headless = headless;
+        return this;
+    }
+
+    public BrowserProfile pageLoadStrategy(PageLoadStrategy pageLoadStrategy) {
+        this.pageLoadStrategy = pageLoadStrategy;
+        return this;
+    }
+
+    public BrowserProfile block(List<String> urlPatterns) {
+        for (String pattern : urlPatterns) {
+            String trimmed = pattern.trim();
+            if (!trimmed.isEmpty() && !blockedUrls.contains(trimmed)) {
+                blockedUrls.add(trimmed);
+            }
+        }
+        return this;
+    }
+
+    public BrowserProfile windowSize(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + width + "x" + height);
+        }
+        this.windowWidth = width;
+        this.windowHeight = height;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public List<String> getBlockedUrls() {
+        return blockedUrls;
+    }
+
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (windowWidth > 0) {
+            options.addArguments("--window-size=" + windowWidth + "," + windowHeight);
+        }
+        return options;
+    }
+
+    /**
+     * Starts a Chrome session with this profile. URL blocking is set up over the
+     * DevTools protocol and stays in effect for the whole session.
+     */
+    public WebDriver create() {
+        ChromeDriver driver = new ChromeDriver(toChromeOptions());
+        if (!blockedUrls.isEmpty()) {
+            try {
+                driver.executeCdpCommand("Network.enable", Map.of());
+                driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", List.copyOf(blockedUrls)));
+            } catch (RuntimeException e) {
+                driver.quit();
+                throw e;
+            }
+        }
+        return driver;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s, page load %s, %d URL patterns blocked%s)",
+                name, headless ? "headless" : "headed", pageLoadStrategy.toString().toLowerCase(Locale.ROOT),
+                blockedUrls.size(), windowWidth > 0 ? ", " + windowWidth + "x" + windowHeight : "");
+    }
+}
@@ -0,0 +1,109 @@
+package driver;
+
+import org.openqa.selenium.WebDriver;
+import util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * One WebDriverPool per BrowserProfile, created when a test first asks for that
+ * profile, plus per-profile navigation times so profiles can be compared.
+ *
+ * Every pool has the same size. Callers that bound browser use overall (such as the
+ * ExecutionEngine's browser slots) still bound it across profiles; only idle
+ * sessions are kept per profile.
+ */
+public class ProfiledDriverPools implements AutoCloseable {
+
+    private final int maxSizePerProfile;
+    private final Function<BrowserProfile, Supplier<WebDriver>> factory;
+    private final Map<String, WebDriverPool> pools = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public ProfiledDriverPools(int maxSizePerProfile) {
+        this(maxSizePerProfile, profile -> profile::create);
+    }
+
+    /**
+     * @param factory the session factory for a profile, e.g. a fake driver in tests
+     */
+    public ProfiledDriverPools(int maxSizePerProfile, Function<BrowserProfile, Supplier<WebDriver>> factory) {
+        if (maxSizePerProfile < 1) {
+            throw new IllegalArgumentException("maxSizePerProfile must be at least 1: " + maxSizePerProfile);
+        }
+        this.maxSizePerProfile = maxSizePerProfile;
+        this.factory = factory;
+    }
+
+    public WebDriverPool poolFor(BrowserProfile profile) {
+        return pools.computeIfAbsent(profile.getName(), name -> {
+            if (!BrowserProfile.DEFAULT_NAME.equals(name)) {
+                System.out.println("🧭 Browser profile: " + profile);
+            }
+            return new WebDriverPool(factory.apply(profile), maxSizePerProfile);
+        });
+    }
+
+    /**
+     * Records one test run: how long its initial navigation took and whether it passed.
+     */
+    public void record(BrowserProfile profile, long navigationNanos, boolean passed) {
+        Stats entry = stats.computeIfAbsent(profile.getName(), name -> new Stats());
+        entry.navigation.record(navigationNanos);
+        entry.runs.increment();
+        if (passed) entry.passed.increment();
+    }
+
+    /**
+     * Average and p95 navigation time per profile, and the saving against the
+     * default profile when both were used.
+     */
+    public List<String> navigationReport() {
+        List<String> lines = new ArrayList<>();
+        Stats baseline = stats.get(BrowserProfile.DEFAULT_NAME);
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingDouble(e -> e.getValue().navigation.getMean()));
+        for (Map.Entry<String, Stats> entry : entries) {
+            Stats profile = entry.getValue();
+            double meanMillis = profile.navigation.getMean() / 1e6;
+            String saving = "";
+            if (baseline != null && profile != baseline && baseline.navigation.getMean() > 0) {
+                double percent = 100.0 * (1 - profile.navigation.getMean() / baseline.navigation.getMean());
+                saving = String.format("  (%+.0f%% vs default)", -percent);
+            }
+            lines.add(String.format("%-30s %4d runs  ✅ %4d  nav avg %7.1f ms  p95 %7.1f ms%s",
+                    entry.getKey(), profile.runs.sum(), profile.passed.sum(), meanMillis,
+                    profile.navigation.getValueAtPercentile(95) / 1e6, saving));
+        }
+        return lines;
+    }
+
+    public void printReport() {
+        if (stats.isEmpty()) return;
+        System.out.println("🧭 Navigation by browser profile:");
+        for (String line : navigationReport()) {
+            System.out.println("   " + line);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (WebDriverPool pool : pools.values()) {
+            pool.close();
+        }
+        pools.clear();
+    }
+
+    private static final class Stats {
+        final LatencyHistogram navigation = new LatencyHistogram();
+        final LongAdder runs = new LongAdder();
+        final LongAdder passed = new LongAdder();
+    }
+}
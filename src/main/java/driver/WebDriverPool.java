@@ -0,0 +1,223 @@
+package driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable WebDriver sessions.
+ *
+ * A test leases one session, uses it exclusively and closes the lease when done.
+ * On release the session's cookies and web storage are cleared so the next test
+ * starts clean. Sessions are quit instead of reused when they fail a health check,
+ * were invalidated by the caller, or have served {@code maxUses} leases.
+ */
+public class WebDriverPool implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_USES = 50;
+
+    private final Supplier<WebDriver> factory;
+    private final int maxUses;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledSession> idle = new ConcurrentLinkedDeque<>();
+    /** Held while setting {@code closed} and while returning a session to {@code idle}. */
+    private final Object closeLock = new Object();
+    private volatile boolean closed;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public WebDriverPool(Supplier<WebDriver> factory, int maxSize, int maxUses) {
+        if (maxSize < 1 || maxUses < 1) {
+            throw new IllegalArgumentException("maxSize and maxUses must be at least 1");
+        }
+        this.factory = factory;
+        this.maxUses = maxUses;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public WebDriverPool(Supplier<WebDriver> factory, int maxSize) {
+        this(factory, maxSize, DEFAULT_MAX_USES);
+    }
+
+    /**
+     * Blocks until a session is available.
+     */
+    public Lease lease() throws InterruptedException {
+        ensureOpen();
+        permits.acquire();
+        return checkout();
+    }
+
+    /**
+     * Waits at most {@code timeout} for a session.
+     *
+     * @throws IllegalStateException if no session became available in time
+     */
+    public Lease lease(Duration timeout) throws InterruptedException {
+        ensureOpen();
+        if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("❌ No WebDriver session available within " + timeout);
+        }
+        return checkout();
+    }
+
+    private Lease checkout() {
+        try {
+            // close() may have run while this thread waited for its permit
+            ensureOpen();
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                if (isHealthy(session.driver)) {
+                    reused.incrementAndGet();
+                    session.uses++;
+                    return new Lease(session);
+                }
+                discard(session);
+            }
+
+            session = new PooledSession(factory.get());
+            created.incrementAndGet();
+            session.uses++;
+            return new Lease(session);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledSession session, boolean invalid) {
+        try {
+            if (closed || invalid || session.uses >= maxUses || !reset(session.driver) || !returnToIdle(session)) {
+                discard(session);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return false if the pool was closed meanwhile, e.g. during the slow reset
+     */
+    private boolean returnToIdle(PooledSession session) {
+        synchronized (closeLock) {
+            if (closed) return false;
+            idle.offerFirst(session);
+            return true;
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return driver.getWindowHandle() != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor js) {
+                js.executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledSession session) {
+        evicted.incrementAndGet();
+        try {
+            session.driver.quit();
+        } catch (RuntimeException ignored) {
+            // the session is already unusable; nothing more to clean up
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("❌ WebDriver pool is shut down");
+        }
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getReusedCount() {
+        return reused.get();
+    }
+
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Quits every idle session. Sessions that are still leased are quit when returned.
+     */
+    @Override
+    public void close() {
+        synchronized (closeLock) {
+            closed = true;
+        }
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            discard(session);
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * Exclusive use of one pooled session. Always close it, ideally with try-with-resources.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final PooledSession session;
+        private boolean invalid;
+        private boolean returned;
+
+        private Lease(PooledSession session) {
+            this.session = session;
+        }
+
+        public WebDriver driver() {
+            return session.driver;
+        }
+
+        /**
+         * Marks the session as broken so it is quit instead of returned to the pool.
+         */
+        public void invalidate() {
+            invalid = true;
+        }
+
+        @Override
+        public void close() {
+            if (returned) return;
+            returned = true;
+            release(session, invalid);
+        }
+    }
+}
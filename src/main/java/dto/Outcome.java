@@ -0,0 +1,24 @@
+package dto;
+
+import java.util.Locale;
+
+/**
+ * Result of a step or a whole test, in the terms JUnit reports use.
+ */
+public enum Outcome {
+    PASSED,
+    /** An assertion did not hold. */
+    FAILED,
+    /** The step could not be carried out at all (element missing, I/O error, ...). */
+    ERROR,
+    /** Not run because an earlier step ended the test. */
+    SKIPPED;
+
+    /**
+     * Assertion steps and AssertionErrors count as failures; anything else is an error.
+     */
+    public static Outcome forFailure(String action, Throwable error) {
+        if (error instanceof AssertionError) return FAILED;
+        return action != null && action.toLowerCase(Locale.ROOT).startsWith("assert") ? FAILED : ERROR;
+    }
+}
@@ -0,0 +1,119 @@
+package dto;
+
+/**
+ * DTO recording how one step of a test case went.
+ */
+public class StepResultDto {
+
+    /** Longest response body excerpt kept per step. */
+    public static final int SNIPPET_LIMIT = 256;
+
+    private int index;
+    private String action;
+    private String target;
+    private Outcome outcome;
+    private long durationNanos;
+    private String error;
+    private String responseSnippet;
+
+    public StepResultDto(int index, String action, String target, Outcome outcome, long durationNanos, String error) {
+        this.index = index;
+        this.action = action;
+        this.target = target;
+        this.outcome = outcome;
+        this.durationNanos = durationNanos;
+        this.error = error;
+    }
+
+    public StepResultDto() {}
+
+    public static StepResultDto passed(int index, StepDto step, long durationNanos) {
+        return new StepResultDto(index, step.getAction(), targetOf(step), Outcome.PASSED, durationNanos, null);
+    }
+
+    public static StepResultDto failed(int index, StepDto step, long durationNanos, Throwable error) {
+        return new StepResultDto(index, step.getAction(), targetOf(step),
+                Outcome.forFailure(step.getAction(), error), durationNanos, messageOf(error));
+    }
+
+    public static StepResultDto skipped(int index, StepDto step) {
+        return new StepResultDto(index, step.getAction(), targetOf(step), Outcome.SKIPPED, 0, null);
+    }
+
+    /**
+     * The locator an UI step acted on, or the URL / expected text of an API step.
+     */
+    private static String targetOf(StepDto step) {
+        if (step.getProperty() != null && !step.getProperty().isBlank()) return step.getProperty();
+        return step.getValue();
+    }
+
+    public static String messageOf(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+
+    // --- Getters and Setters ---
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getResponseSnippet() {
+        return responseSnippet;
+    }
+
+    /**
+     * Keeps at most SNIPPET_LIMIT characters of the response body.
+     */
+    public void setResponseSnippet(String responseBody) {
+        if (responseBody == null || responseBody.length() <= SNIPPET_LIMIT) {
+            this.responseSnippet = responseBody;
+        } else {
+            this.responseSnippet = responseBody.substring(0, SNIPPET_LIMIT) + "…";
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO recording the outcome of one test case run, step by step.
+ *
+ * The test outcome is derived from its steps unless the run failed outside any step
+ * (no browser session, navigation error, ...), which is recorded as a test-level error.
+ * A test whose every step was skipped is itself SKIPPED.
+ * Step counts and the first failing step are kept as steps are added, so the outcome
+ * never needs the step list; streamed runs turn {@link #setKeepSteps keeping steps}
+ * off and hold only those.
+ */
+public class TestResultDto {
+
+    private String name;
+    private String source;
+    private String style;
+    private long startedAtMillis;
+    private long durationNanos;
+    private String error;
+    private final List<StepResultDto> steps = new ArrayList<>();
+    private final long[] counts = new long[Outcome.values().length];
+    private StepResultDto firstFailure;
+    private boolean keepSteps = true;
+
+    public TestResultDto(String name, String style) {
+        this.name = name;
+        this.style = style;
+        this.startedAtMillis = System.currentTimeMillis();
+    }
+
+    public TestResultDto() {}
+
+    public void addStep(StepResultDto step) {
+        synchronized (steps) {
+            counts[step.getOutcome().ordinal()]++;
+            boolean failing = step.getOutcome() == Outcome.FAILED || step.getOutcome() == Outcome.ERROR;
+            if (failing && (firstFailure == null || step.getIndex() < firstFailure.getIndex())) {
+                firstFailure = step;
+            }
+            if (keepSteps) {
+                steps.add(step);
+            }
+        }
+    }
+
+    /**
+     * With {@code false}, steps added from now on are only counted; {@link #getSteps()}
+     * then returns just the first failing one, so memory stays flat however long the
+     * script is.
+     */
+    public void setKeepSteps(boolean keepSteps) {
+        synchronized (steps) {
+            this.keepSteps = keepSteps;
+        }
+    }
+
+    /**
+     * PASSED only if no step failed and there was no test-level error; ERROR if
+     * anything errored; FAILED if only assertions did not hold.
+     */
+    public Outcome getOutcome() {
+        if (error != null) return Outcome.ERROR;
+        synchronized (steps) {
+            if (counts[Outcome.ERROR.ordinal()] > 0) return Outcome.ERROR;
+            if (counts[Outcome.FAILED.ordinal()] > 0) return Outcome.FAILED;
+            long skipped = counts[Outcome.SKIPPED.ordinal()];
+            if (skipped > 0 && skipped == getStepCount()) return Outcome.SKIPPED;
+        }
+        return Outcome.PASSED;
+    }
+
+    public boolean isPassed() {
+        return getOutcome() == Outcome.PASSED;
+    }
+
+    /**
+     * The test-level error, or else the message of the first failing step, or of the
+     * first step when none was run.
+     */
+    public String getFailureMessage() {
+        if (error != null) return error;
+        synchronized (steps) {
+            if (firstFailure != null) return firstFailure.getError();
+            return getOutcome() == Outcome.SKIPPED && !steps.isEmpty() ? steps.get(0).getError() : null;
+        }
+    }
+
+    public long countSteps(Outcome outcome) {
+        synchronized (steps) {
+            return counts[outcome.ordinal()];
+        }
+    }
+
+    /**
+     * Every step added, including those not kept.
+     */
+    public long getStepCount() {
+        synchronized (steps) {
+            long total = 0;
+            for (long count : counts) total += count;
+            return total;
+        }
+    }
+
+    // --- Getters and Setters ---
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Script file the test came from, if it was loaded from one.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getStyle() {
+        return style;
+    }
+
+    public void setStyle(String style) {
+        this.style = style;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public void setStartedAtMillis(long startedAtMillis) {
+        this.startedAtMillis = startedAtMillis;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * Snapshot of the kept step results, ordered by step index.
+     */
+    public List<StepResultDto> getSteps() {
+        synchronized (steps) {
+            List<StepResultDto> copy = new ArrayList<>(steps);
+            if (firstFailure != null && !copy.contains(firstFailure)) {
+                copy.add(firstFailure);
+            }
+            copy.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package gherkin;
+
+import dto.StepDto;
+import io.cucumber.cucumberexpressions.ExpressionFactory;
+import io.cucumber.cucumberexpressions.ParameterTypeRegistry;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import service.TestCaseService;
+import util.WaitEngine;
+
+import java.lang.reflect.Type;
+import java.util.Locale;
+
+/**
+ * Steps every feature can use without glue code. They run through the same
+ * TestCaseService step executor as FSQS scripts, so locator fallbacks, the locator
+ * cache, waits and step metrics all behave the same:
+ * <pre>
+ *   I open "https://…"                 / I navigate to "…"
+ *   I enter "text" into "field"         / I enter "text" into the "field" field
+ *   I click "target"                    / I click the "target" button
+ *   I press the "ENTER" key in the "field" field
+ *   I should see "locator"              (same check as an assert script step)
+ *   I should see the "Title" page       / … "Title" article page (page title contains)
+ * </pre>
+ */
+final class BuiltInSteps {
+
+    private static final ExpressionFactory EXPRESSIONS = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+    private static final Type[] NO_TYPES = new Type[0];
+
+    static final StepDefinition NAVIGATE = definition("I navigate to {string}",
+            (context, args) -> context.navigate((String) args[0]));
+
+    /** Runs one parsed script step; only used by plans compiled from a TestCaseDto. */
+    static final StepDefinition SCRIPT_STEP = new StepDefinition("<script step>", null, NO_TYPES,
+            (context, args) -> script(context, (StepDto) args[0]));
+
+    private BuiltInSteps() {
+    }
+
+    static void registerAll(StepRegistry registry) {
+        registry.add(NAVIGATE);
+        registry.add(definition("I open {string}", NAVIGATE.action()));
+        registry.add(definition("I enter {string} into {string}", BuiltInSteps::type));
+        registry.add(definition("I enter {string} into the {string} field", BuiltInSteps::type));
+        registry.add(definition("I click {string}", BuiltInSteps::click));
+        registry.add(definition("I click the {string} button", BuiltInSteps::click));
+        registry.add(definition("I press the {string} key in the {string} field", BuiltInSteps::press));
+        registry.add(definition("I should see {string}", (context, args) ->
+                script(context, new StepDto("assert", "id", (String) args[0], ""))));
+        registry.add(definition("I should see the {string} (article )page", BuiltInSteps::titleContains));
+    }
+
+    private static StepDefinition definition(String expression, StepAction action) {
+        return new StepDefinition(expression, EXPRESSIONS.createExpression(expression), NO_TYPES, action);
+    }
+
+    private static void type(StepContext context, Object[] args) throws InterruptedException {
+        script(context, new StepDto("type", "auto", (String) args[1], (String) args[0]));
+    }
+
+    private static void click(StepContext context, Object[] args) throws InterruptedException {
+        script(context, new StepDto("click", "auto", (String) args[0], ""));
+    }
+
+    private static void press(StepContext context, Object[] args) throws InterruptedException {
+        script(context, new StepDto("keypress", "auto", (String) args[1], (String) args[0]));
+    }
+
+    private static void script(StepContext context, StepDto step) throws InterruptedException {
+        context.service().executeUiStep(context.driver(), step, context.pageUrl());
+        if (TestCaseService.mayNavigate(step)) {
+            context.leftPage();
+        }
+    }
+
+    /**
+     * Waits for the title like any other "title" wait, so {@code -Dfsqs.wait.title}
+     * and per-step timeouts apply.
+     */
+    private static void titleContains(StepContext context, Object[] args) throws InterruptedException {
+        WebDriver driver = context.driver();
+        String expected = ((String) args[0]).toLowerCase(Locale.ROOT);
+        try {
+            WaitEngine.getDefault().await("title", "a page title containing '" + args[0] + "'", () -> {
+                String title = driver.getTitle();
+                return title != null && title.toLowerCase(Locale.ROOT).contains(expected) ? title : null;
+            });
+        } catch (TimeoutException e) {
+            throw new AssertionError("❌ Page title '" + driver.getTitle() + "' does not contain: " + args[0]);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package gherkin;
+
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Feature;
+import io.cucumber.messages.types.Pickle;
+import io.cucumber.messages.types.PickleStep;
+import io.cucumber.messages.types.PickleStepType;
+import io.cucumber.messages.types.PickleTag;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compiles .feature files into ScenarioPlans with the Gherkin parser Cucumber uses:
+ * backgrounds are inlined, outlines are expanded per Examples row, and every step is
+ * bound to its definition once, here, rather than matched again on each run.
+ */
+public class FeatureCompiler {
+
+    private final StepRegistry registry;
+    private final GherkinParser parser = GherkinParser.builder()
+            .includeSource(false)
+            .includeGherkinDocument(true)
+            .includePickles(true)
+            .build();
+
+    public FeatureCompiler(StepRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @throws IOException if the file cannot be read or is not valid Gherkin
+     */
+    public List<ScenarioPlan> compile(Path featureFile) throws IOException {
+        String feature = featureFile.getFileName().toString();
+        List<Pickle> pickles = new ArrayList<>();
+
+        try (Stream<Envelope> envelopes = parser.parse(featureFile)) {
+            for (Envelope envelope : (Iterable<Envelope>) envelopes::iterator) {
+                if (envelope.getParseError().isPresent()) {
+                    throw new IOException("❌ " + featureFile + ": " + envelope.getParseError().get().getMessage());
+                }
+                String name = envelope.getGherkinDocument()
+                        .flatMap(document -> document.getFeature())
+                        .map(Feature::getName)
+                        .orElse(null);
+                if (name != null && !name.isBlank()) feature = name;
+                envelope.getPickle().ifPresent(pickles::add);
+            }
+        }
+
+        List<ScenarioPlan> plans = new ArrayList<>(pickles.size());
+        for (Pickle pickle : pickles) {
+            List<PlannedStep> steps = new ArrayList<>(pickle.getSteps().size());
+            for (PickleStep step : pickle.getSteps()) {
+                steps.add(registry.bind(keyword(step), step.getText()));
+            }
+            List<String> tags = pickle.getTags().stream().map(PickleTag::getName).toList();
+            plans.add(new ScenarioPlan(feature, pickle.getName(), featureFile.toString(), tags, steps));
+        }
+        return plans;
+    }
+
+    private static String keyword(PickleStep step) {
+        PickleStepType type = step.getType().orElse(PickleStepType.UNKNOWN);
+        return switch (type) {
+            case CONTEXT -> "Given";
+            case ACTION -> "When";
+            case OUTCOME -> "Then";
+            default -> "*";
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package gherkin;
+
+import driver.WebDriverPool;
+import dto.Outcome;
+import dto.StepResultDto;
+import dto.TestResultDto;
+import metrics.MetricsRegistry;
+import service.TestCaseService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs Gherkin scenarios in-process. A scenario stops at its first failing or
+ * undefined step; the steps after it are reported as skipped.
+ */
+public class GherkinEngine {
+
+    private final FeatureCompiler compiler;
+    private final WebDriverPool drivers;
+    private final TestCaseService service;
+
+    public GherkinEngine(StepRegistry registry, WebDriverPool drivers, TestCaseService service) {
+        this.compiler = new FeatureCompiler(registry);
+        this.drivers = drivers;
+        this.service = service;
+    }
+
+    /**
+     * An engine for already compiled plans, such as ScenarioPlan.fromTestCase; it
+     * cannot compile feature files.
+     */
+    public GherkinEngine(WebDriverPool drivers, TestCaseService service) {
+        this.compiler = null;
+        this.drivers = drivers;
+        this.service = service;
+    }
+
+    public List<ScenarioPlan> compile(Path featureFile) throws IOException {
+        if (compiler == null) {
+            throw new IllegalStateException("This GherkinEngine has no StepRegistry to compile features with");
+        }
+        return compiler.compile(featureFile);
+    }
+
+    /**
+     * Compiles and runs every scenario of every file. A file that does not compile is
+     * reported as one errored result.
+     */
+    public List<TestResultDto> runFeatures(List<Path> featureFiles) {
+        List<TestResultDto> results = new ArrayList<>();
+        for (Path file : featureFiles) {
+            long start = System.nanoTime();
+            List<ScenarioPlan> plans;
+            try {
+                plans = compile(file);
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+                TestResultDto failed = new TestResultDto(file.getFileName().toString(), "gherkin");
+                failed.setSource(file.toString());
+                failed.setError(StepResultDto.messageOf(e));
+                results.add(failed);
+                continue;
+            }
+            System.out.printf("🥒 Compiled %s: %d scenarios in %.1f ms%n",
+                    file.getFileName(), plans.size(), (System.nanoTime() - start) / 1e6);
+            for (ScenarioPlan plan : plans) {
+                results.add(run(plan));
+            }
+        }
+        return results;
+    }
+
+    public TestResultDto run(ScenarioPlan plan) {
+        long start = System.nanoTime();
+        TestResultDto result = new TestResultDto(plan.displayName(), "gherkin");
+        result.setSource(plan.source());
+        System.out.println("🧪 Scenario: " + plan.displayName());
+
+        try (StepContext context = new StepContext(drivers, service)) {
+            List<PlannedStep> steps = plan.steps();
+            boolean stopped = false;
+            for (int i = 0; i < steps.size(); i++) {
+                PlannedStep step = steps.get(i);
+                if (stopped) {
+                    result.addStep(new StepResultDto(i, step.keyword(), step.text(), Outcome.SKIPPED, 0, null));
+                    continue;
+                }
+                stopped = !runStep(context, i, step, result);
+            }
+        }
+
+        result.setDurationNanos(System.nanoTime() - start);
+        System.out.println(result.isPassed() ? "✅ Scenario passed." : "❌ Scenario failed: " + result.getFailureMessage());
+        MetricsRegistry.global().timer("fsqs_test", "style", "gherkin", "outcome", result.getOutcome().name().toLowerCase(Locale.ROOT))
+                .record(result.getDurationNanos());
+        return result;
+    }
+
+    /**
+     * @return false if the scenario must stop here
+     */
+    private static boolean runStep(StepContext context, int index, PlannedStep step, TestResultDto result) {
+        if (!step.isDefined()) {
+            String message = "❌ Undefined step: " + step;
+            System.out.println(message);
+            result.addStep(new StepResultDto(index, step.keyword(), step.text(), Outcome.ERROR, 0, message));
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            step.definition().action().run(context, step.args());
+            result.addStep(new StepResultDto(index, step.keyword(), step.text(), Outcome.PASSED, System.nanoTime() - start, null));
+            return true;
+        } catch (Exception | AssertionError e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            System.out.printf("❌ Step failed: %s (%s)%n", step, e.getMessage());
+            result.addStep(new StepResultDto(index, step.keyword(), step.text(),
+                    Outcome.forFailure(step.keyword().equals("Then") ? "assert" : step.text(), e),
+                    System.nanoTime() - start, StepResultDto.messageOf(e)));
+            return false;
+        }
+    }
+}
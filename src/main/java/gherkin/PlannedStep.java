@@ -0,0 +1,17 @@
+package gherkin;
+
+/**
+ * One compiled step: the definition it is bound to and its arguments, resolved once
+ * when the feature is compiled. {@code definition} is null for an undefined step.
+ */
+public record PlannedStep(String keyword, String text, StepDefinition definition, Object[] args) {
+
+    public boolean isDefined() {
+        return definition != null;
+    }
+
+    @Override
+    public String toString() {
+        return keyword + " " + text;
+    }
+}
@@ -0,0 +1,50 @@
+package gherkin;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scenario ready to run: a feature file's scenario (or one Examples row of an
+ * outline), or an FSQS script run in Gherkin style.
+ */
+public record ScenarioPlan(String feature, String name, String source, List<String> tags, List<PlannedStep> steps) {
+
+    public String displayName() {
+        return name == null || name.isBlank() ? feature : feature + ": " + name;
+    }
+
+    public List<PlannedStep> undefinedSteps() {
+        return steps.stream().filter(step -> !step.isDefined()).toList();
+    }
+
+    /**
+     * Compiles a parsed script straight into steps, without going through its
+     * Gherkin text: navigate to the target URL, run each step with its own locator
+     * type, then click the event trigger if there is one. The text is kept only
+     * as a label for reports.
+     */
+    public static ScenarioPlan fromTestCase(TestCaseDto testCase) {
+        List<String> labels = testCase.getStepsAsText();
+        List<PlannedStep> steps = new ArrayList<>();
+
+        String url = testCase.getTargetUrl();
+        if (url != null && !url.isBlank()) {
+            steps.add(new PlannedStep("Given", labels.get(0), BuiltInSteps.NAVIGATE, new Object[]{url}));
+        }
+        List<StepDto> dtoSteps = testCase.getSteps();
+        for (int i = 0; i < dtoSteps.size(); i++) {
+            StepDto step = dtoSteps.get(i);
+            String keyword = step.getAction().equalsIgnoreCase("assert") ? "Then" : "When";
+            steps.add(new PlannedStep(keyword, labels.get(i + 1), BuiltInSteps.SCRIPT_STEP, new Object[]{step}));
+        }
+        String trigger = testCase.getEventListener();
+        if (trigger != null && !trigger.isBlank()) {
+            steps.add(new PlannedStep("When", labels.get(labels.size() - 1), BuiltInSteps.SCRIPT_STEP,
+                    new Object[]{new StepDto("click", "id", trigger, "")}));
+        }
+        return new ScenarioPlan(testCase.getFeatureName(), null, null, List.of(), steps);
+    }
+}
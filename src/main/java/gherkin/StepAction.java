@@ -0,0 +1,10 @@
+package gherkin;
+
+/**
+ * The code behind one step definition. {@code args} are the values captured by the
+ * step's expression, already converted to the declared parameter types.
+ */
+@FunctionalInterface
+public interface StepAction {
+    void run(StepContext context, Object[] args) throws Exception;
+}
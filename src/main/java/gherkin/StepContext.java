@@ -0,0 +1,86 @@
+package gherkin;
+
+import driver.WebDriverPool;
+import org.openqa.selenium.WebDriver;
+import service.TestCaseService;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-scenario state shared by its steps: a browser leased on first use and one
+ * instance of each glue class, so glue fields live exactly as long as the scenario.
+ */
+public final class StepContext implements AutoCloseable {
+
+    private final WebDriverPool drivers;
+    private final TestCaseService service;
+    private final Map<Class<?>, Object> glue = new HashMap<>();
+    private WebDriverPool.Lease lease;
+    private String pageUrl;
+
+    StepContext(WebDriverPool drivers, TestCaseService service) {
+        this.drivers = drivers;
+        this.service = service;
+    }
+
+    /**
+     * The scenario's browser. Scenarios that never ask for one never take a session.
+     */
+    public WebDriver driver() throws InterruptedException {
+        if (lease == null) {
+            lease = drivers.lease();
+        }
+        return lease.driver();
+    }
+
+    /**
+     * Opens {@code url} in the scenario's browser and remembers it as the page the
+     * following steps run on.
+     */
+    public void navigate(String url) throws InterruptedException {
+        driver().get(url);
+        pageUrl = url;
+    }
+
+    /**
+     * The URL last opened with {@link #navigate}; null before the first one and after
+     * a step that may have left that page.
+     */
+    public String pageUrl() {
+        return pageUrl;
+    }
+
+    /**
+     * Forgets the page URL after a click or key press that may have loaded another page.
+     */
+    void leftPage() {
+        pageUrl = null;
+    }
+
+    public TestCaseService service() {
+        return service;
+    }
+
+    Object glue(Class<?> type) throws ReflectiveOperationException {
+        Object instance = glue.get(type);
+        if (instance == null) {
+            try {
+                instance = type.getDeclaredConstructor().newInstance();
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("❌ Could not create glue " + type.getName() + ": " + e.getCause(), e.getCause());
+            }
+            glue.put(type, instance);
+        }
+        return instance;
+    }
+
+    @Override
+    public void close() {
+        if (lease != null) {
+            lease.close();
+            lease = null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package gherkin;
+
+import io.cucumber.cucumberexpressions.Argument;
+import io.cucumber.cucumberexpressions.Expression;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * A Cucumber expression (e.g. {@code I enter {string} into {string}}) and the action
+ * it runs. {@code parameterTypes} is empty for built-in steps, which take the
+ * expression's own types.
+ */
+public record StepDefinition(String source, Expression expression, Type[] parameterTypes, StepAction action) {
+
+    /**
+     * @return the converted arguments, or null if the step text does not match
+     */
+    Object[] match(String text) {
+        List<Argument<?>> arguments = expression.match(text, parameterTypes);
+        if (arguments == null) return null;
+        Object[] values = new Object[arguments.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = arguments.get(i).getValue();
+        }
+        return values;
+    }
+}
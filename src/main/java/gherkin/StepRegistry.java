@@ -0,0 +1,175 @@
+package gherkin;
+
+import io.cucumber.cucumberexpressions.ExpressionFactory;
+import io.cucumber.cucumberexpressions.ParameterTypeRegistry;
+import io.cucumber.java.en.And;
+import io.cucumber.java.en.But;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Step definitions the Gherkin engine can bind steps to. Glue classes are the same
+ * ones Cucumber runs: public methods annotated with {@code @Given/@When/@Then/@And/@But}
+ * from io.cucumber.java.en. Definitions are tried in the order they were added, and
+ * glue added before the built-in steps takes precedence over them.
+ */
+public class StepRegistry {
+
+    private final ExpressionFactory expressions = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+    private final List<StepDefinition> definitions = new ArrayList<>();
+
+    /**
+     * Glue found in {@code gluePackage} (if it is on the classpath), then the built-in steps.
+     */
+    public static StepRegistry withGlue(String gluePackage) {
+        StepRegistry registry = new StepRegistry();
+        registry.scanGlue(gluePackage);
+        BuiltInSteps.registerAll(registry);
+        return registry;
+    }
+
+    public static StepRegistry builtInOnly() {
+        StepRegistry registry = new StepRegistry();
+        BuiltInSteps.registerAll(registry);
+        return registry;
+    }
+
+    public StepRegistry define(String cucumberExpression, StepAction action) {
+        return add(new StepDefinition(cucumberExpression, expressions.createExpression(cucumberExpression),
+                new Type[0], action));
+    }
+
+    StepRegistry add(StepDefinition definition) {
+        definitions.add(definition);
+        return this;
+    }
+
+    /**
+     * Registers every annotated method of {@code glueClass}. A fresh instance of the
+     * class is created for each scenario that uses it.
+     */
+    public StepRegistry addGlue(Class<?> glueClass) {
+        for (Method method : glueClass.getMethods()) {
+            String expression = expressionOf(method);
+            if (expression == null) continue;
+            definitions.add(new StepDefinition(expression, expressions.createExpression(expression),
+                    method.getGenericParameterTypes(), (context, args) -> invoke(method, context.glue(glueClass), args)));
+        }
+        return this;
+    }
+
+    /**
+     * Adds every glue class found in a package on the classpath. Missing packages,
+     * and classes whose dependencies are not on the classpath, are skipped.
+     *
+     * @return the number of classes that contributed steps
+     */
+    public int scanGlue(String packageName) {
+        int found = 0;
+        for (String className : classesIn(packageName)) {
+            try {
+                Class<?> type = Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+                if (Modifier.isAbstract(type.getModifiers())) continue;
+                int before = definitions.size();
+                addGlue(type);
+                if (definitions.size() > before) found++;
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.out.println("⚠️ Skipping glue " + className + ": " + e);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Binds step text to the first matching definition; an undefined step gets a
+     * null definition, so it is reported when run instead of failing compilation.
+     */
+    public PlannedStep bind(String keyword, String text) {
+        for (StepDefinition definition : definitions) {
+            Object[] args = definition.match(text);
+            if (args != null) {
+                return new PlannedStep(keyword, text, definition, args);
+            }
+        }
+        return new PlannedStep(keyword, text, null, new Object[0]);
+    }
+
+    public int size() {
+        return definitions.size();
+    }
+
+    private static String expressionOf(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            if (annotation instanceof Given given) return given.value();
+            if (annotation instanceof When when) return when.value();
+            if (annotation instanceof Then then) return then.value();
+            if (annotation instanceof And and) return and.value();
+            if (annotation instanceof But but) return but.value();
+        }
+        return null;
+    }
+
+    private static void invoke(Method method, Object target, Object[] args) throws Exception {
+        try {
+            method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            // Report the step's own failure, not the reflection wrapper
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) throw exception;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private static List<String> classesIn(String packageName) {
+        List<String> classes = new ArrayList<>();
+        String folder = packageName.replace('.', '/');
+        try {
+            Enumeration<URL> roots = Thread.currentThread().getContextClassLoader().getResources(folder);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if (root.getProtocol().equals("file")) {
+                    try (Stream<Path> files = Files.list(Path.of(root.toURI()))) {
+                        files.map(file -> file.getFileName().toString())
+                                .filter(name -> name.endsWith(".class") && !name.contains("$"))
+                                .forEach(name -> classes.add(packageName + "." + name.substring(0, name.length() - 6)));
+                    }
+                } else if (root.getProtocol().equals("jar")) {
+                    JarFile jar = ((JarURLConnection) root.openConnection()).getJarFile();
+                    for (JarEntry entry : Collections.list(jar.entries())) {
+                        String name = entry.getName();
+                        if (name.startsWith(folder + "/") && name.endsWith(".class") && !name.contains("$")
+                                && name.indexOf('/', folder.length() + 1) < 0) {
+                            classes.add(name.substring(0, name.length() - 6).replace('/', '.'));
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            System.out.println("⚠️ Could not scan glue package " + packageName + ": " + e.getMessage());
+        }
+        classes.sort(null);
+        return classes;
+    }
+}
@@ -0,0 +1,342 @@
+package http;
+
+import metrics.MetricsRegistry;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the responses another transport receives to a cassette file and replays
+ * them from memory on later runs, so API suites can run offline and without the
+ * remote service's latency.
+ *
+ * Exchanges are keyed by method, URL and a hash of the request body. The cassette
+ * is loaded once when the transport is created; each new recording is appended to
+ * the file straight away, so nothing is lost if the run is killed, and a later line
+ * for the same key replaces an earlier one. In AUTO mode 5xx responses are passed
+ * through without being recorded, so a transient outage is not replayed on every
+ * later run. Replayed bodies are pushed to the BodyHandler like a live response,
+ * so streaming assertions work unchanged.
+ */
+public class CassetteTransport implements HttpTransport {
+
+    public enum Mode {
+        /** Replay what is recorded, record everything else except server errors (the default). */
+        AUTO,
+        /** Only replay; a request that was never recorded fails. */
+        REPLAY,
+        /** Always send, and record the fresh response over the old one. */
+        RECORD;
+
+        public static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown cassette mode: " + value + " (expected auto, replay or record)");
+            }
+        }
+    }
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.global();
+    private static final Duration DEFAULT_BODY_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpTransport delegate;
+    private final Path file;
+    private final Mode mode;
+    private final Duration bodyTimeout;
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+
+    private record Recording(int status, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    /**
+     * @throws IOException if an existing cassette cannot be read
+     */
+    public CassetteTransport(HttpTransport delegate, Path file, Mode mode) throws IOException {
+        this(delegate, file, mode, DEFAULT_BODY_TIMEOUT);
+    }
+
+    /**
+     * @param bodyTimeout how long to wait for a request body to be read for its key
+     * @throws IOException if an existing cassette cannot be read
+     */
+    public CassetteTransport(HttpTransport delegate, Path file, Mode mode, Duration bodyTimeout) throws IOException {
+        this.delegate = delegate;
+        this.file = file;
+        this.mode = mode;
+        this.bodyTimeout = bodyTimeout;
+        load();
+    }
+
+    /**
+     * The JDK transport shared by the interactive runner, wrapped in a cassette when
+     * {@code -Dfsqs.http.cassette} is set.
+     */
+    static HttpTransport shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static final class Shared {
+        static final HttpTransport INSTANCE = wrap(JdkHttpTransport.shared(), TransportSettings.fromSystemProperties());
+    }
+
+    /**
+     * @return {@code transport} itself when the settings name no cassette
+     */
+    static HttpTransport wrap(HttpTransport transport, TransportSettings settings) {
+        if (settings.getCassette() == null) return transport;
+        try {
+            return new CassetteTransport(transport, settings.getCassette(), settings.getCassetteMode(),
+                    settings.getResponseTimeout());
+        } catch (IOException e) {
+            throw new UncheckedIOException("❌ Could not read cassette " + settings.getCassette() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T> TransportResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        String key = keyOf(request, bodyTimeout);
+        Recording recording = lookup(key, request);
+        if (recording != null) {
+            return replay(recording, handler);
+        }
+        AtomicReference<HttpHeaders> headers = new AtomicReference<>();
+        TransportResponse<byte[]> live = delegate.send(request, capturing(headers));
+        return replay(record(key, live, headers.get()), handler);
+    }
+
+    @Override
+    public <T> CompletableFuture<TransportResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        String key;
+        Recording recording;
+        try {
+            key = keyOf(request, bodyTimeout);
+            recording = lookup(key, request);
+            if (recording != null) {
+                return CompletableFuture.completedFuture(replay(recording, handler));
+            }
+        } catch (IOException | InterruptedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        AtomicReference<HttpHeaders> headers = new AtomicReference<>();
+        return delegate.sendAsync(request, capturing(headers)).thenApply(live -> {
+            try {
+                return replay(record(key, live, headers.get()), handler);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private Recording lookup(String key, HttpRequest request) throws IOException {
+        if (mode == Mode.RECORD) return null;
+        Recording recording = recordings.get(key);
+        if (recording != null) {
+            replayed.increment();
+            METRICS.counter("fsqs_cassette_requests_total", "result", "replayed").increment();
+            return recording;
+        }
+        if (mode == Mode.REPLAY) {
+            METRICS.counter("fsqs_cassette_requests_total", "result", "missing").increment();
+            throw new IOException("❌ No recording of " + request.method() + " " + request.uri() + " in cassette " + file);
+        }
+        return null;
+    }
+
+    private Recording record(String key, TransportResponse<byte[]> live, HttpHeaders headers) throws IOException {
+        Recording recording = new Recording(live.statusCode(),
+                headers != null ? headers.map() : Map.of(), live.body() != null ? live.body() : new byte[0]);
+        if (mode == Mode.AUTO && live.statusCode() >= 500) {
+            // A passing outage must not be replayed forever; the next run asks again
+            METRICS.counter("fsqs_cassette_requests_total", "result", "not_recorded").increment();
+            return recording;
+        }
+        recordings.put(key, recording);
+        append(key, recording);
+        recorded.increment();
+        METRICS.counter("fsqs_cassette_requests_total", "result", "recorded").increment();
+        return recording;
+    }
+
+    private static HttpResponse.BodyHandler<byte[]> capturing(AtomicReference<HttpHeaders> headers) {
+        return info -> {
+            headers.set(info.headers());
+            return HttpResponse.BodySubscribers.ofByteArray();
+        };
+    }
+
+    /**
+     * Feeds a recorded response to the caller's handler as one body chunk.
+     */
+    private static <T> TransportResponse<T> replay(Recording recording, HttpResponse.BodyHandler<T> handler)
+            throws IOException {
+        HttpHeaders headers = HttpHeaders.of(recording.headers(), (name, value) -> true);
+        HttpResponse.BodySubscriber<T> subscriber = handler.apply(new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return recording.status();
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        });
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        if (recording.body().length > 0) {
+            // Subscribers may keep the buffers they are given, so the recording is not handed out
+            subscriber.onNext(List.of(ByteBuffer.wrap(recording.body().clone())));
+        }
+        subscriber.onComplete();
+
+        try {
+            return new TransportResponse<>(recording.status(), subscriber.getBody().toCompletableFuture().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while decoding the response body", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not decode the response body: " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * "METHOD url sha256(body)", with "-" for requests without a body.
+     */
+    static String keyOf(HttpRequest request, Duration bodyTimeout) throws IOException, InterruptedException {
+        String bodyHash = "-";
+        if (request.bodyPublisher().isPresent() && request.bodyPublisher().get().contentLength() != 0) {
+            byte[] body = PooledHttpTransport.readBody(request.bodyPublisher().get(), bodyTimeout);
+            try {
+                bodyHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return request.method().toUpperCase(Locale.ROOT) + " " + request.uri() + " " + bodyHash;
+    }
+
+    /**
+     * One line per exchange: key, status, headers and body, tab-separated, with
+     * headers and body Base64-encoded.
+     */
+    private synchronized void append(String key, Recording recording) throws IOException {
+        StringBuilder headerText = new StringBuilder();
+        recording.headers().forEach((name, values) -> values.forEach(value ->
+                headerText.append(name).append(": ").append(value).append('\n')));
+        Base64.Encoder base64 = Base64.getEncoder();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(key + "\t" + recording.status() + "\t"
+                    + base64.encodeToString(headerText.toString().getBytes(StandardCharsets.UTF_8)) + "\t"
+                    + base64.encodeToString(recording.body()));
+            out.newLine();
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.isRegularFile(file)) return;
+        Base64.Decoder base64 = Base64.getDecoder();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.split("\t", -1);
+                if (cols.length < 4) continue;
+                try {
+                    Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                    for (String header : new String(base64.decode(cols[2]), StandardCharsets.UTF_8).split("\n")) {
+                        int colon = header.indexOf(": ");
+                        if (colon > 0) {
+                            headers.computeIfAbsent(header.substring(0, colon), k -> new ArrayList<>()).add(header.substring(colon + 2));
+                        }
+                    }
+                    recordings.put(cols[0], new Recording(Integer.parseInt(cols[1]), headers, base64.decode(cols[3])));
+                } catch (IllegalArgumentException ignored) {
+                    // a damaged line, e.g. from a killed run, is simply recorded again
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return recordings.size();
+    }
+
+    public long getReplayedCount() {
+        return replayed.sum();
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    /**
+     * For end-of-run logs, e.g. "cassette api.cassette (auto): 40 replayed, 2 recorded".
+     */
+    public String summary() {
+        return String.format("cassette %s (%s): %d replayed, %d recorded",
+                file, mode.name().toLowerCase(Locale.ROOT), replayed.sum(), recorded.sum());
+    }
+
+    /**
+     * The transport that carries requests the cassette cannot answer.
+     */
+    public HttpTransport getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String name() {
+        return delegate.name() + "+cassette";
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,57 @@
+package http;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends the requests built by RestRequests. Requests are described with
+ * java.net.http types and bodies are read through a BodyHandler, so the streaming
+ * assertion handler works the same on every implementation.
+ *
+ * One transport is meant to be shared by every API test in a run, so connections
+ * are reused across tests instead of being opened per test.
+ */
+public interface HttpTransport extends AutoCloseable {
+
+    <T> TransportResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException;
+
+    <T> CompletableFuture<TransportResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler);
+
+    /**
+     * Short name for logs and metrics, e.g. "jdk" or "pooled".
+     */
+    String name();
+
+    @Override
+    void close();
+
+    /**
+     * Process-wide default used when no transport is passed in: the shared JDK
+     * transport, behind a cassette when {@code -Dfsqs.http.cassette} is set. Never closed.
+     */
+    static HttpTransport shared() {
+        return CassetteTransport.shared();
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown transport kind
+     * @throws java.io.UncheckedIOException if the settings' cassette cannot be read
+     */
+    static HttpTransport create(TransportSettings settings) {
+        HttpTransport transport;
+        switch (settings.getKind()) {
+            case "jdk":
+                transport = new JdkHttpTransport(settings);
+                break;
+            case "pooled":
+                transport = new PooledHttpTransport(settings);
+                break;
+            default:
+                throw new IllegalArgumentException("❌ Unknown HTTP transport '" + settings.getKind() + "' (use jdk or pooled)");
+        }
+        return CassetteTransport.wrap(transport, settings);
+    }
+}
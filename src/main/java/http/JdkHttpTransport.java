@@ -0,0 +1,81 @@
+package http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Transport on java.net.http.HttpClient, which pools connections on its own.
+ * The response timeout is applied to every request that does not set one.
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+    private static final class Shared {
+        static final JdkHttpTransport INSTANCE = new JdkHttpTransport(new TransportSettings());
+    }
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final Duration responseTimeout;
+
+    public JdkHttpTransport(TransportSettings settings) {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(settings.getConnectTimeout())
+                .executor(executor)
+                .build();
+        this.responseTimeout = settings.getResponseTimeout();
+    }
+
+    /**
+     * Wraps a client the caller built and keeps owning; close() leaves it alone.
+     */
+    public JdkHttpTransport(HttpClient client) {
+        this.client = client;
+        this.executor = null;
+        this.responseTimeout = null;
+    }
+
+    /**
+     * Process-wide default used when no transport is passed in. Never closed.
+     */
+    public static JdkHttpTransport shared() {
+        return Shared.INSTANCE;
+    }
+
+    @Override
+    public <T> TransportResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        HttpResponse<T> response = client.send(withTimeout(request), handler);
+        return new TransportResponse<>(response.statusCode(), response.body());
+    }
+
+    @Override
+    public <T> CompletableFuture<TransportResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        return client.sendAsync(withTimeout(request), handler)
+                .thenApply(response -> new TransportResponse<>(response.statusCode(), response.body()));
+    }
+
+    private HttpRequest withTimeout(HttpRequest request) {
+        if (responseTimeout == null || request.timeout().isPresent()) return request;
+        return HttpRequest.newBuilder(request, (name, value) -> true).timeout(responseTimeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "jdk";
+    }
+
+    @Override
+    public void close() {
+        if (executor != null && this != Shared.INSTANCE) {
+            client.close();
+            executor.close();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package http;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transport on a pooled httpclient5 classic client: per-route and total connection
+ * limits, keep-alive that honours the server's Keep-Alive header up to the
+ * configured maximum, idle-connection eviction, and connect / pool-lease / response
+ * timeouts. Like the JDK client it does not follow redirects, retry, or ask for
+ * compressed bodies, so both transports see the same responses.
+ *
+ * The classic client blocks while reading, so sendAsync runs each exchange on its
+ * own virtual thread. Response bodies are pushed to the BodyHandler's subscriber
+ * in chunks as they are read; subscribers that wait for demand before consuming
+ * (such as ofInputStream) are not supported.
+ */
+public class PooledHttpTransport implements HttpTransport {
+
+    private static final int CHUNK_BYTES = 8 * 1024;
+
+    private final PoolingHttpClientConnectionManager connections;
+    private final CloseableHttpClient client;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TransportSettings settings;
+
+    public PooledHttpTransport(TransportSettings settings) {
+        this.settings = settings;
+        Timeout connectTimeout = Timeout.of(settings.getConnectTimeout());
+        TimeValue keepAlive = TimeValue.of(settings.getKeepAlive());
+
+        this.connections = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(settings.getMaxPerRoute())
+                .setMaxConnTotal(settings.getMaxTotal())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(Timeout.of(settings.getResponseTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        this.client = HttpClients.custom()
+                .setConnectionManager(connections)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(connectTimeout)
+                        .setResponseTimeout(Timeout.of(settings.getResponseTimeout()))
+                        .setConnectionKeepAlive(keepAlive)
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue offered = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(offered) && offered.compareTo(keepAlive) < 0 ? offered : keepAlive;
+                })
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                .disableRedirectHandling()
+                .disableAutomaticRetries()
+                .disableContentCompression()
+                .build();
+    }
+
+    @Override
+    public <T> TransportResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        ClassicRequestBuilder builder = ClassicRequestBuilder.create(request.method()).setUri(request.uri());
+        String contentType = null;
+        for (Map.Entry<String, List<String>> header : request.headers().map().entrySet()) {
+            for (String value : header.getValue()) {
+                if (header.getKey().equalsIgnoreCase("Content-Type")) {
+                    contentType = value;
+                } else {
+                    builder.addHeader(header.getKey(), value);
+                }
+            }
+        }
+        if (request.bodyPublisher().isPresent()) {
+            byte[] body = readBody(request.bodyPublisher().get(), settings.getResponseTimeout());
+            builder.setEntity(body, contentType == null ? null : ContentType.parse(contentType));
+        }
+
+        try {
+            return client.execute(builder.build(), r -> readResponse(r, handler));
+        } catch (InterruptedIOException e) {
+            // Socket timeouts are InterruptedIOExceptions too; only a real interrupt is rethrown as one
+            if (Thread.interrupted()) {
+                throw new InterruptedException(e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<TransportResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        CompletableFuture<TransportResponse<T>> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(send(request, handler));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private static <T> TransportResponse<T> readResponse(ClassicHttpResponse response, HttpResponse.BodyHandler<T> handler)
+            throws IOException {
+        int status = response.getCode();
+        HttpHeaders headers = toHeaders(response.getHeaders());
+        HttpResponse.BodySubscriber<T> subscriber = handler.apply(new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return status;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        });
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+
+        HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            try (InputStream in = entity.getContent()) {
+                byte[] chunk = new byte[CHUNK_BYTES];
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    if (read == 0) continue;
+                    // Subscribers may keep the buffers they are given, so each chunk gets its own copy
+                    subscriber.onNext(List.of(ByteBuffer.wrap(Arrays.copyOf(chunk, read))));
+                }
+            } catch (IOException e) {
+                subscriber.onError(e);
+                throw e;
+            }
+        }
+        subscriber.onComplete();
+
+        try {
+            return new TransportResponse<>(status, subscriber.getBody().toCompletableFuture().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while decoding the response body", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not decode the response body: " + e.getCause(), e.getCause());
+        }
+    }
+
+    private static HttpHeaders toHeaders(Header[] headers) {
+        Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : headers) {
+            map.computeIfAbsent(header.getName(), k -> new ArrayList<>()).add(header.getValue());
+        }
+        return HttpHeaders.of(map, (name, value) -> true);
+    }
+
+    /**
+     * Drains a java.net.http body publisher; the ones RestRequests builds publish a
+     * single in-memory buffer.
+     */
+    static byte[] readBody(HttpRequest.BodyPublisher publisher, Duration timeout) throws IOException, InterruptedException {
+        CompletableFuture<byte[]> body = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] chunk = new byte[item.remaining()];
+                item.get(chunk);
+                bytes.writeBytes(chunk);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                body.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                body.complete(bytes.toByteArray());
+            }
+        });
+        try {
+            return body.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not read the request body: " + e.getCause(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out reading the request body", e);
+        }
+    }
+
+    /**
+     * Leased / idle / pending connections across all routes, for end-of-run logs.
+     */
+    public String poolSummary() {
+        PoolStats stats = connections.getTotalStats();
+        return String.format("%d leased, %d idle, %d pending (max %d per route, %d total)",
+                stats.getLeased(), stats.getAvailable(), stats.getPending(), settings.getMaxPerRoute(), settings.getMaxTotal());
+    }
+
+    @Override
+    public String name() {
+        return "pooled";
+    }
+
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+        executor.close();
+    }
+}
@@ -0,0 +1,7 @@
+package http;
+
+/**
+ * Status code and decoded body of one exchange, whichever transport carried it.
+ */
+public record TransportResponse<T>(int statusCode, T body) {
+}
@@ -0,0 +1,138 @@
+package http;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Which transport to use and how its connections are managed. Every value can be
+ * set with a system property, e.g. {@code -Dfsqs.http.transport=pooled}:
+ * <ul>
+ *   <li>{@code fsqs.http.transport}        – jdk (default) or pooled</li>
+ *   <li>{@code fsqs.http.maxPerRoute}      – open connections per host (default 20)</li>
+ *   <li>{@code fsqs.http.maxTotal}         – open connections overall (default 200)</li>
+ *   <li>{@code fsqs.http.connectTimeoutMs} – connect and pool-lease timeout (default 10000)</li>
+ *   <li>{@code fsqs.http.responseTimeoutMs}– time to wait for response data (default 30000)</li>
+ *   <li>{@code fsqs.http.keepAliveMs}      – how long idle connections are kept (default 30000)</li>
+ *   <li>{@code fsqs.http.cassette}         – record responses to / replay them from this file (default none)</li>
+ *   <li>{@code fsqs.http.cassetteMode}     – auto (default), replay or record; see CassetteTransport</li>
+ * </ul>
+ * Connection limits and keep-alive only apply to the pooled transport; the JDK
+ * client manages its own pool.
+ */
+public class TransportSettings {
+
+    private String kind = "jdk";
+    private int maxPerRoute = 20;
+    private int maxTotal = 200;
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration responseTimeout = Duration.ofSeconds(30);
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Path cassette;
+    private CassetteTransport.Mode cassetteMode = CassetteTransport.Mode.AUTO;
+
+    public static TransportSettings fromSystemProperties() {
+        TransportSettings settings = new TransportSettings();
+        settings.kind(System.getProperty("fsqs.http.transport", settings.kind));
+        settings.maxPerRoute(Integer.getInteger("fsqs.http.maxPerRoute", settings.maxPerRoute));
+        settings.maxTotal(Integer.getInteger("fsqs.http.maxTotal", settings.maxTotal));
+        settings.connectTimeout(Duration.ofMillis(Long.getLong("fsqs.http.connectTimeoutMs", settings.connectTimeout.toMillis())));
+        settings.responseTimeout(Duration.ofMillis(Long.getLong("fsqs.http.responseTimeoutMs", settings.responseTimeout.toMillis())));
+        settings.keepAlive(Duration.ofMillis(Long.getLong("fsqs.http.keepAliveMs", settings.keepAlive.toMillis())));
+        String cassette = System.getProperty("fsqs.http.cassette");
+        if (cassette != null && !cassette.isBlank()) {
+            settings.cassette(Path.of(cassette));
+        }
+        settings.cassetteMode(CassetteTransport.Mode.parse(System.getProperty("fsqs.http.cassetteMode", "auto")));
+        return settings;
+    }
+
+    public TransportSettings kind(String kind) {
+        this.kind = kind.trim().toLowerCase(Locale.ROOT);
+        return this;
+    }
+
+    public TransportSettings maxPerRoute(int maxPerRoute) {
+        if (maxPerRoute < 1) {
+            throw new IllegalArgumentException("maxPerRoute must be at least 1: " + maxPerRoute);
+        }
+        this.maxPerRoute = maxPerRoute;
+        return this;
+    }
+
+    public TransportSettings maxTotal(int maxTotal) {
+        if (maxTotal < 1) {
+            throw new IllegalArgumentException("maxTotal must be at least 1: " + maxTotal);
+        }
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    public TransportSettings connectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    public TransportSettings responseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+        return this;
+    }
+
+    public TransportSettings keepAlive(Duration keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    /**
+     * Sends requests through a CassetteTransport on this file; null for none.
+     */
+    public TransportSettings cassette(Path cassette) {
+        this.cassette = cassette;
+        return this;
+    }
+
+    public TransportSettings cassetteMode(CassetteTransport.Mode cassetteMode) {
+        this.cassetteMode = cassetteMode;
+        return this;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public Path getCassette() {
+        return cassette;
+    }
+
+    public CassetteTransport.Mode getCassetteMode() {
+        return cassetteMode;
+    }
+
+    @Override
+    public String toString() {
+        String text = String.format("%s (per route %d, total %d, connect %d ms, response %d ms, keep-alive %d ms)",
+                kind, maxPerRoute, maxTotal, connectTimeout.toMillis(), responseTimeout.toMillis(), keepAlive.toMillis());
+        return cassette == null ? text
+                : text + " via cassette " + cassette + " (" + cassetteMode.name().toLowerCase(Locale.ROOT) + ")";
+    }
+}
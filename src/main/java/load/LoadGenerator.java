@@ -0,0 +1,185 @@
+package load;
+
+import assertion.Expectation;
+import assertion.ResponseCheck;
+import assertion.ResponseExpectations;
+import assertion.StreamingResponseHandler;
+import dto.StepDto;
+import dto.TestCaseDto;
+import http.HttpTransport;
+import http.TransportResponse;
+import service.RestRequests;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays an API TestCaseDto (GET/POST and ASSERT_* steps) from many concurrent
+ * virtual users for a fixed duration, either as fast as possible or at a target
+ * iteration rate, and reports throughput, error rate and latency percentiles.
+ *
+ * Steps are compiled to HttpRequests once up front and all users share one
+ * HttpTransport, so the per-request cost of the generator stays small. Responses are
+ * discarded unless an assertion step checks them, and even then the body is only
+ * streamed through the checks, never buffered.
+ */
+public class LoadGenerator {
+
+    private final HttpTransport transport;
+    private final ThreadFactory userThreads;
+
+    /**
+     * The caller stays responsible for closing the transport.
+     */
+    public LoadGenerator(HttpTransport transport, ThreadFactory userThreads) {
+        this.transport = transport;
+        this.userThreads = userThreads;
+    }
+
+    /**
+     * Each virtual user is a virtual thread, so thousands of users cost little more than
+     * their open connections.
+     */
+    public LoadGenerator(HttpTransport transport) {
+        this(transport, Thread.ofVirtual().name("fsqs-vu-", 1).factory());
+    }
+
+    public LoadReport run(TestCaseDto testCase, LoadProfile profile) throws InterruptedException {
+        List<CompiledStep> script = compile(testCase.getSteps());
+        if (script.isEmpty()) {
+            throw new IllegalArgumentException("❌ Test case has no GET/POST steps to replay: " + testCase.getFeatureName());
+        }
+
+        LoadReport report = new LoadReport();
+        long start = System.nanoTime();
+        long end = start + profile.duration().toNanos();
+        long interval = profile.isRateLimited() ? (long) (1e9 / profile.targetRate()) : 0;
+        AtomicLong nextSlot = new AtomicLong(start);
+        long cpuBefore = processCpuNanos();
+
+        List<Thread> users = new ArrayList<>(profile.virtualUsers());
+        for (int i = 0; i < profile.virtualUsers(); i++) {
+            Thread user = userThreads.newThread(() -> userLoop(script, report, end, interval, nextSlot));
+            users.add(user);
+            user.start();
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+
+        long cpuAfter = processCpuNanos();
+        report.finish(System.nanoTime() - start, cpuBefore < 0 || cpuAfter < 0 ? -1 : cpuAfter - cpuBefore);
+        return report;
+    }
+
+    private void userLoop(List<CompiledStep> script, LoadReport report, long end, long interval, AtomicLong nextSlot) {
+        while (!Thread.currentThread().isInterrupted()) {
+            long intended;
+            if (interval > 0) {
+                intended = nextSlot.getAndAdd(interval);
+                // Stop at the deadline even when users have fallen behind the schedule
+                if (intended >= end || System.nanoTime() >= end) return;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+            } else {
+                intended = System.nanoTime();
+                if (intended >= end) return;
+            }
+
+            boolean failed = !runIteration(script, report);
+            report.recordIteration(System.nanoTime() - intended, failed);
+        }
+    }
+
+    private boolean runIteration(List<CompiledStep> script, LoadReport report) {
+        for (CompiledStep step : script) {
+            long sent = System.nanoTime();
+            try {
+                if (step.checks() == null) {
+                    TransportResponse<Void> response = transport.send(step.request(), HttpResponse.BodyHandlers.discarding());
+                    report.recordRequest(response.statusCode(), System.nanoTime() - sent);
+                    if (response.statusCode() >= 400) return false;
+                } else {
+                    TransportResponse<ResponseCheck> response = transport.send(step.request(), step.checks());
+                    report.recordRequest(response.statusCode(), System.nanoTime() - sent);
+                    // An ASSERT_STATUS step decides for itself which codes are acceptable
+                    if (response.statusCode() >= 400 && !step.checksStatus()) return false;
+                    if (!response.body().allPassed()) return false;
+                }
+            } catch (IOException e) {
+                report.recordRequest(0, System.nanoTime() - sent);
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pairs every request with a handler for the assertion steps that check its
+     * response, or null when nothing checks it. Assertions that precede the first
+     * request are ignored, as they can never pass.
+     */
+    static List<CompiledStep> compile(List<StepDto> steps) {
+        List<CompiledStep> compiled = new ArrayList<>();
+        for (List<StepDto> segment : RestRequests.segments(steps)) {
+            HttpRequest request = RestRequests.toRequest(segment.get(0));
+            if (request == null) continue;
+            ResponseExpectations expectations = ResponseExpectations.of(segment);
+            boolean checksStatus = expectations.all().stream().anyMatch(e -> e.kind() == Expectation.Kind.STATUS);
+            compiled.add(new CompiledStep(request,
+                    expectations.isEmpty() ? null : new StreamingResponseHandler(expectations, 0), checksStatus));
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns a copy of {@code testCase} whose request URLs point at {@code baseUrl}
+     * (scheme, host and port replaced; path and query kept). Used to aim a script
+     * recorded against a remote API at a local StubHttpServer.
+     */
+    public static TestCaseDto retarget(TestCaseDto testCase, String baseUrl) {
+        URI base = URI.create(baseUrl);
+        List<StepDto> steps = new ArrayList<>();
+        for (StepDto step : testCase.getSteps()) {
+            String property = step.getProperty();
+            if (RestRequests.isRequest(step)) {
+                URI original = URI.create(property);
+                String rest = original.getRawPath() == null ? "" : original.getRawPath();
+                if (original.getRawQuery() != null) rest += "?" + original.getRawQuery();
+                property = base.getScheme() + "://" + base.getRawAuthority() + rest;
+            }
+            steps.add(new StepDto(step.getAction(), step.getLocatorType(), property, step.getValue()));
+        }
+
+        TestCaseDto copy = new TestCaseDto();
+        copy.setFeatureName(testCase.getFeatureName());
+        copy.setTargetUrl(testCase.getTargetUrl());
+        copy.setEventListener(testCase.getEventListener());
+        copy.setProperties(testCase.getProperties());
+        copy.setSteps(steps);
+        return copy;
+    }
+
+    private static long processCpuNanos() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            return sunOs.getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    record CompiledStep(HttpRequest request, StreamingResponseHandler checks, boolean checksStatus) {
+    }
+}
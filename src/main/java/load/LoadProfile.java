@@ -0,0 +1,30 @@
+package load;
+
+import java.time.Duration;
+
+/**
+ * How hard and for how long LoadGenerator replays a test case.
+ *
+ * @param virtualUsers number of concurrent users, each replaying the script in a loop
+ * @param duration     how long to generate load
+ * @param targetRate   iterations per second across all users; 0 means every user
+ *                     starts its next iteration as soon as the previous one ends
+ */
+public record LoadProfile(int virtualUsers, Duration duration, double targetRate) {
+
+    public LoadProfile {
+        if (virtualUsers < 1) {
+            throw new IllegalArgumentException("virtualUsers must be at least 1");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        if (targetRate < 0) {
+            throw new IllegalArgumentException("targetRate must not be negative");
+        }
+    }
+
+    public boolean isRateLimited() {
+        return targetRate > 0;
+    }
+}
@@ -0,0 +1,115 @@
+package load;
+
+import util.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated results of a load run. Memory use is constant however many requests
+ * were made: latencies go into fixed-size histograms and everything else is a counter.
+ */
+public class LoadReport {
+
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final LatencyHistogram iterationLatency = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final AtomicLong elapsedNanos = new AtomicLong();
+    private final AtomicLong cpuNanos = new AtomicLong(-1);
+
+    void recordRequest(int status, long latencyNanos) {
+        requests.increment();
+        requestLatency.record(latencyNanos);
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    void recordIteration(long latencyNanos, boolean failed) {
+        iterations.increment();
+        iterationLatency.record(latencyNanos);
+        if (failed) errors.increment();
+    }
+
+    void finish(long elapsedNanos, long cpuNanos) {
+        this.elapsedNanos.set(elapsedNanos);
+        this.cpuNanos.set(cpuNanos);
+    }
+
+    public LatencyHistogram getRequestLatency() {
+        return requestLatency;
+    }
+
+    /**
+     * Latency of whole script iterations, measured from when the iteration was
+     * scheduled to start. Under a target rate this includes any time the iteration
+     * spent waiting behind slow ones, so it is not skewed by coordinated omission.
+     */
+    public LatencyHistogram getIterationLatency() {
+        return iterationLatency;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getIterations() {
+        return iterations.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public double getErrorRate() {
+        long total = getIterations();
+        return total == 0 ? 0 : (double) getErrors() / total;
+    }
+
+    public double getThroughput() {
+        long elapsed = elapsedNanos.get();
+        return elapsed == 0 ? 0 : getRequests() / (elapsed / 1e9);
+    }
+
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> snapshot = new TreeMap<>();
+        statusCounts.forEach((status, count) -> snapshot.put(status, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Process CPU time spent per request, in microseconds; -1 if the JVM cannot report it.
+     * This is the generator's own cost (plus any stub server running in the same JVM).
+     */
+    public double getCpuMicrosPerRequest() {
+        long cpu = cpuNanos.get();
+        long count = getRequests();
+        return cpu < 0 || count == 0 ? -1 : cpu / 1e3 / count;
+    }
+
+    public void print() {
+        System.out.println("\n======= LOAD REPORT =======");
+        System.out.printf("⏱ Duration:     %.1f s%n", elapsedNanos.get() / 1e9);
+        System.out.printf("🔁 Iterations:   %d (%d failed, %.2f%% error rate)%n",
+                getIterations(), getErrors(), getErrorRate() * 100);
+        System.out.printf("🌐 Requests:     %d (%.1f req/s)%n", getRequests(), getThroughput());
+        System.out.printf("📊 Statuses:     %s%n", getStatusCounts());
+        System.out.printf("📈 Request ms:   p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                millis(requestLatency, 50), millis(requestLatency, 90), millis(requestLatency, 99),
+                millis(requestLatency, 99.9), requestLatency.getMax() / 1e6);
+        System.out.printf("📈 Iteration ms: p50 %.2f  p99 %.2f  max %.2f%n",
+                millis(iterationLatency, 50), millis(iterationLatency, 99), iterationLatency.getMax() / 1e6);
+        if (getCpuMicrosPerRequest() >= 0) {
+            System.out.printf("🧮 Generator CPU: %.1f µs/request%n", getCpuMicrosPerRequest());
+        }
+        System.out.println("===========================\n");
+    }
+
+    private static double millis(LatencyHistogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
@@ -0,0 +1,39 @@
+package metrics;
+
+import util.LatencyHistogram;
+
+import java.util.Map;
+
+/**
+ * Keeps the last exported snapshot in memory; intended for tests and for code that
+ * wants to inspect metrics after a run without touching the filesystem.
+ */
+public class InMemorySink implements MetricsSink {
+
+    private volatile Map<MetricsRegistry.MetricKey, Long> counters = Map.of();
+    private volatile Map<MetricsRegistry.MetricKey, LatencyHistogram> timers = Map.of();
+
+    @Override
+    public void export(MetricsRegistry registry) {
+        counters = registry.counterValues();
+        timers = registry.timers();
+    }
+
+    public Map<MetricsRegistry.MetricKey, Long> getCounters() {
+        return counters;
+    }
+
+    public Map<MetricsRegistry.MetricKey, LatencyHistogram> getTimers() {
+        return timers;
+    }
+
+    /**
+     * Sum of a counter across every label combination; 0 if it was never incremented.
+     */
+    public long counterTotal(String name) {
+        return counters.entrySet().stream()
+                .filter(e -> e.getKey().name().equals(name))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+}
@@ -0,0 +1,68 @@
+package metrics;
+
+import util.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+
+import static util.JsonStrings.escape;
+
+/**
+ * Appends one JSON object per series to a file on every export, stamped with the
+ * export time, so successive runs accumulate into a log that is easy to load into
+ * any analysis tool.
+ */
+public class JsonLinesSink implements MetricsSink {
+
+    private final Path file;
+
+    public JsonLinesSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void export(MetricsRegistry registry) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        long timestamp = System.currentTimeMillis();
+
+        try (Writer out = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Map.Entry<MetricsRegistry.MetricKey, Long> entry : registry.counterValues().entrySet()) {
+                out.write(prefix(timestamp, "counter", entry.getKey()) + ",\"value\":" + entry.getValue() + "}\n");
+            }
+            for (Map.Entry<MetricsRegistry.MetricKey, LatencyHistogram> entry : registry.timers().entrySet()) {
+                LatencyHistogram h = entry.getValue();
+                out.write(prefix(timestamp, "timer", entry.getKey())
+                        + ",\"count\":" + h.getCount()
+                        + ",\"meanMs\":" + millis((long) h.getMean())
+                        + ",\"p50Ms\":" + millis(h.getValueAtPercentile(50))
+                        + ",\"p90Ms\":" + millis(h.getValueAtPercentile(90))
+                        + ",\"p99Ms\":" + millis(h.getValueAtPercentile(99))
+                        + ",\"maxMs\":" + millis(h.getMax()) + "}\n");
+            }
+        }
+    }
+
+    private static String prefix(long timestamp, String type, MetricsRegistry.MetricKey key) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"ts\":").append(timestamp)
+                .append(",\"type\":\"").append(type)
+                .append("\",\"name\":\"").append(escape(key.name())).append("\",\"labels\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> label : key.labels().entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append('"').append(escape(label.getKey())).append("\":\"").append(escape(label.getValue())).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+}
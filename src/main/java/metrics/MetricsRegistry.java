@@ -0,0 +1,88 @@
+package metrics;
+
+import util.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency timers keyed by metric name plus label pairs.
+ *
+ * Recording is lock-free and allocation-free once a series exists, so it is safe to
+ * call from every step of every test. Timers hold nanoseconds in a LatencyHistogram;
+ * sinks convert to seconds on export.
+ *
+ * <pre>
+ * registry.counter("fsqs_http_requests_total", "method", "GET", "status", "200").increment();
+ * registry.timer("fsqs_step_lookup", "action", "click").record(nanos);
+ * </pre>
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<MetricKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<MetricKey, LatencyHistogram> timers = new ConcurrentHashMap<>();
+
+    /**
+     * The registry every runner records into unless it was given its own.
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public LongAdder counter(String name, String... labelPairs) {
+        return counters.computeIfAbsent(MetricKey.of(name, labelPairs), k -> new LongAdder());
+    }
+
+    public LatencyHistogram timer(String name, String... labelPairs) {
+        return timers.computeIfAbsent(MetricKey.of(name, labelPairs), k -> new LatencyHistogram());
+    }
+
+    /**
+     * Convenience for {@code timer(name, labels).record(System.nanoTime() - startNanos)}.
+     */
+    public void recordSince(long startNanos, String name, String... labelPairs) {
+        timer(name, labelPairs).record(System.nanoTime() - startNanos);
+    }
+
+    public Map<MetricKey, Long> counterValues() {
+        Map<MetricKey, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, value) -> snapshot.put(key, value.sum()));
+        return snapshot;
+    }
+
+    public Map<MetricKey, LatencyHistogram> timers() {
+        return new TreeMap<>(timers);
+    }
+
+    public void clear() {
+        counters.clear();
+        timers.clear();
+    }
+
+    /**
+     * Metric name plus labels, with labels sorted by name so equal sets compare equal.
+     */
+    public record MetricKey(String name, Map<String, String> labels) implements Comparable<MetricKey> {
+
+        static MetricKey of(String name, String... labelPairs) {
+            if (labelPairs.length % 2 != 0) {
+                throw new IllegalArgumentException("Labels must be name/value pairs: " + name);
+            }
+            Map<String, String> labels = new TreeMap<>();
+            for (int i = 0; i < labelPairs.length; i += 2) {
+                labels.put(labelPairs[i], labelPairs[i + 1] == null ? "" : labelPairs[i + 1]);
+            }
+            return new MetricKey(name, labels);
+        }
+
+        @Override
+        public int compareTo(MetricKey other) {
+            int byName = name.compareTo(other.name);
+            return byName != 0 ? byName : labels.toString().compareTo(other.labels.toString());
+        }
+    }
+}
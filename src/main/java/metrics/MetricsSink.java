@@ -0,0 +1,29 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Destination for a snapshot of a MetricsRegistry.
+ */
+public interface MetricsSink {
+
+    void export(MetricsRegistry registry) throws IOException;
+
+    /**
+     * Builds a sink from a spec such as {@code prometheus:target/fsqs.prom},
+     * {@code jsonl:target/metrics.jsonl} or {@code memory}.
+     */
+    static MetricsSink fromSpec(String spec) {
+        int colon = spec.indexOf(':');
+        String kind = colon < 0 ? spec : spec.substring(0, colon);
+        String target = colon < 0 ? "" : spec.substring(colon + 1);
+
+        return switch (kind.trim().toLowerCase()) {
+            case "prometheus", "prom" -> new PrometheusTextSink(Path.of(target.isEmpty() ? "target/fsqs-metrics.prom" : target));
+            case "jsonl", "json" -> new JsonLinesSink(Path.of(target.isEmpty() ? "target/fsqs-metrics.jsonl" : target));
+            case "memory" -> new InMemorySink();
+            default -> throw new IllegalArgumentException("❌ Unknown metrics sink: " + spec);
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package metrics;
+
+import util.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Writes the Prometheus text exposition format to a file, e.g. for the node
+ * exporter's textfile collector. Timers are exported as summaries in seconds.
+ * The file is replaced atomically so a scraper never sees a half-written file.
+ */
+public class PrometheusTextSink implements MetricsSink {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final Path file;
+
+    public PrometheusTextSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void export(MetricsRegistry registry) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try (Writer out = Files.newBufferedWriter(tmp)) {
+            String lastName = null;
+            for (Map.Entry<MetricsRegistry.MetricKey, Long> entry : registry.counterValues().entrySet()) {
+                String name = entry.getKey().name();
+                if (!name.equals(lastName)) {
+                    out.write("# TYPE " + name + " counter\n");
+                    lastName = name;
+                }
+                out.write(name + labels(entry.getKey().labels(), null) + " " + entry.getValue() + "\n");
+            }
+
+            lastName = null;
+            for (Map.Entry<MetricsRegistry.MetricKey, LatencyHistogram> entry : registry.timers().entrySet()) {
+                String name = entry.getKey().name() + "_seconds";
+                Map<String, String> labels = entry.getKey().labels();
+                LatencyHistogram histogram = entry.getValue();
+                if (!name.equals(lastName)) {
+                    out.write("# TYPE " + name + " summary\n");
+                    lastName = name;
+                }
+                for (double q : QUANTILES) {
+                    out.write(name + labels(labels, Double.toString(q)) + " "
+                            + seconds(histogram.getValueAtPercentile(q * 100)) + "\n");
+                }
+                out.write(name + "_sum" + labels(labels, null) + " "
+                        + seconds((long) (histogram.getMean() * histogram.getCount())) + "\n");
+                out.write(name + "_count" + labels(labels, null) + " " + histogram.getCount() + "\n");
+            }
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String labels(Map<String, String> labels, String quantile) {
+        if (labels.isEmpty() && quantile == null) return "";
+        StringBuilder sb = new StringBuilder("{");
+        labels.forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(',');
+            sb.append(k).append("=\"").append(escape(v)).append('"');
+        });
+        if (quantile != null) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append("quantile=\"").append(quantile).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+}
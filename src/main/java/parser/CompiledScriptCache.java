@@ -0,0 +1,338 @@
+package parser;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+import util.ContentHash;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk cache of parsed scripts, so unchanged scripts are never run through the
+ * ScriptGrammar again.
+ *
+ * All scripts share one file (by default {@code target/fsqs-cache/scripts.bin}) holding
+ * a single string table and one compiled entry per script, tagged with the SHA-256 of
+ * the script's bytes. The file is memory-mapped on open; an entry is decoded only when
+ * its script is loaded and its hash still matches. Repeated strings (actions, locator
+ * types, URLs) are stored once and decode to the same String instance.
+ *
+ * <pre>
+ * "FSQC" u16 version u16 grammarVersion
+ * u32 stringCount { u32 length, utf8 bytes }*
+ * u32 entryCount  { u32 pathIndex, 32-byte sha256, u32 bodyLength, body }*
+ * body: feature, targetUrl, event, u32 propertyCount {key, value}*, u32 stepCount {action, locatorType, property, value}*
+ * </pre>
+ * Strings in a body are u32 indexes into the table, -1 for null. A file written by
+ * another {@link ScriptGrammar#VERSION} is ignored, so grammar changes reparse every script.
+ */
+public class CompiledScriptCache {
+
+    public static final Path DEFAULT_FILE = Path.of("target", "fsqs-cache", "scripts.bin");
+
+    private static final int MAGIC = 0x46535143; // "FSQC"
+    private static final short VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    private final Path file;
+    private final TestCaseParser parser = new TestCaseParser();
+
+    private ByteBuffer mapped;
+    private String[] strings = new String[0];
+    /** Entries found in the file: path -> position of the hash in {@link #mapped}. */
+    private final Map<String, Integer> stored = new HashMap<>();
+    /** Entries parsed (or re-validated) during this session, written back by save(). */
+    private final Map<String, Compiled> fresh = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private CompiledScriptCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the cache file, or starts an empty cache if it is missing or unreadable.
+     */
+    public static CompiledScriptCache open(Path file) {
+        CompiledScriptCache cache = new CompiledScriptCache(file);
+        if (Files.isRegularFile(file)) {
+            try {
+                cache.map();
+            } catch (IOException | RuntimeException e) {
+                // A corrupt or outdated cache is only a missed optimisation
+                System.out.println("⚠ Ignoring unreadable script cache " + file + ": " + e.getMessage());
+                cache.stored.clear();
+                cache.strings = new String[0];
+                cache.mapped = null;
+            }
+        }
+        return cache;
+    }
+
+    public static CompiledScriptCache open() {
+        return open(DEFAULT_FILE);
+    }
+
+    /**
+     * Returns the script's test case, decoded from the cache if the script's content
+     * hash matches the cached one and parsed (and remembered) otherwise.
+     */
+    public TestCaseDto load(Path script) throws IOException {
+        if (!Files.isRegularFile(script)) {
+            throw new IOException("❌ File not found: " + script);
+        }
+        byte[] content = Files.readAllBytes(script);
+        byte[] hash = ContentHash.sha256(content);
+        String key = keyOf(script);
+
+        Compiled known = fresh.get(key);
+        if (known != null && Arrays.equals(known.hash, hash)) {
+            hits.incrementAndGet();
+            return copyOf(known.testCase);
+        }
+
+        TestCaseDto cached = decodeStored(key, hash);
+        if (cached != null) {
+            hits.incrementAndGet();
+            fresh.put(key, new Compiled(hash, cached));
+            return copyOf(cached);
+        }
+
+        misses.incrementAndGet();
+        TestCaseDto parsed;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+            parsed = parser.parse(reader);
+        }
+        fresh.put(key, new Compiled(hash, parsed));
+        return copyOf(parsed);
+    }
+
+    /**
+     * Writes every known entry whose script still exists back to the cache file.
+     * The file is replaced atomically, so a concurrent reader never sees half of it.
+     */
+    public synchronized void save() throws IOException {
+        Map<String, Compiled> all = new LinkedHashMap<>();
+        for (String key : stored.keySet()) {
+            if (!fresh.containsKey(key) && Files.isRegularFile(Path.of(key))) {
+                int at = stored.get(key);
+                all.put(key, new Compiled(hashAt(at), decodeBody(at + HASH_LENGTH)));
+            }
+        }
+        all.putAll(fresh);
+
+        StringTable table = new StringTable();
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(entries);
+        for (Map.Entry<String, Compiled> entry : all.entrySet()) {
+            byte[] body = encodeBody(entry.getValue().testCase, table);
+            out.writeInt(table.indexOf(entry.getKey()));
+            out.write(entry.getValue().hash);
+            out.writeInt(body.length);
+            out.write(body);
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream header = new DataOutputStream(Files.newOutputStream(tmp))) {
+            header.writeInt(MAGIC);
+            header.writeShort(VERSION);
+            header.writeShort(ScriptGrammar.VERSION);
+            header.writeInt(table.values.size());
+            for (String value : table.values) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                header.writeInt(utf8.length);
+                header.write(utf8);
+            }
+            header.writeInt(all.size());
+            entries.writeTo(header);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public String summary() {
+        return String.format("📦 Script cache: %d reused, %d parsed", hits.get(), misses.get());
+    }
+
+    // --- reading ---
+
+    private void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new IOException("not a version " + VERSION + " script cache");
+            }
+            short grammar = buffer.getShort();
+            if (grammar != ScriptGrammar.VERSION) {
+                throw new IOException("compiled by script grammar " + grammar + ", now " + ScriptGrammar.VERSION);
+            }
+
+            String[] table = new String[buffer.getInt()];
+            for (int i = 0; i < table.length; i++) {
+                byte[] utf8 = new byte[buffer.getInt()];
+                buffer.get(utf8);
+                table[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+
+            int entryCount = buffer.getInt();
+            for (int i = 0; i < entryCount; i++) {
+                String key = table[buffer.getInt()];
+                stored.put(key, buffer.position());
+                buffer.position(buffer.position() + HASH_LENGTH);
+                int bodyLength = buffer.getInt();
+                buffer.position(buffer.position() + bodyLength);
+            }
+
+            this.strings = table;
+            this.mapped = buffer;
+        }
+    }
+
+    private TestCaseDto decodeStored(String key, byte[] hash) {
+        Integer at = stored.get(key);
+        if (at == null || !Arrays.equals(hashAt(at), hash)) return null;
+        return decodeBody(at + HASH_LENGTH);
+    }
+
+    private byte[] hashAt(int position) {
+        byte[] hash = new byte[HASH_LENGTH];
+        mapped.get(position, hash);
+        return hash;
+    }
+
+    /**
+     * @param position offset of the body length that follows an entry's hash
+     */
+    private TestCaseDto decodeBody(int position) {
+        // Absolute reads on a private view, so concurrent loads never share a position
+        ByteBuffer in = mapped.duplicate();
+        in.position(position + Integer.BYTES);
+
+        TestCaseDto testCase = new TestCaseDto();
+        testCase.setFeatureName(string(in));
+        testCase.setTargetUrl(string(in));
+        testCase.setEventListener(string(in));
+
+        int propertyCount = in.getInt();
+        if (propertyCount >= 0) {
+            Map<String, String> properties = new LinkedHashMap<>();
+            for (int i = 0; i < propertyCount; i++) {
+                properties.put(string(in), string(in));
+            }
+            testCase.setProperties(properties);
+        }
+
+        int stepCount = in.getInt();
+        List<StepDto> steps = new ArrayList<>(stepCount);
+        for (int i = 0; i < stepCount; i++) {
+            steps.add(new StepDto(string(in), string(in), string(in), string(in)));
+        }
+        testCase.setSteps(steps);
+        return testCase;
+    }
+
+    private String string(ByteBuffer in) {
+        int index = in.getInt();
+        return index < 0 ? null : strings[index];
+    }
+
+    // --- writing ---
+
+    private static byte[] encodeBody(TestCaseDto testCase, StringTable table) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(table.indexOf(testCase.getFeatureName()));
+        out.writeInt(table.indexOf(testCase.getTargetUrl()));
+        out.writeInt(table.indexOf(testCase.getEventListener()));
+
+        Map<String, String> properties = testCase.getProperties();
+        out.writeInt(properties == null ? -1 : properties.size());
+        if (properties != null) {
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                out.writeInt(table.indexOf(property.getKey()));
+                out.writeInt(table.indexOf(property.getValue()));
+            }
+        }
+
+        List<StepDto> steps = testCase.getSteps() != null ? testCase.getSteps() : List.of();
+        out.writeInt(steps.size());
+        for (StepDto step : steps) {
+            out.writeInt(table.indexOf(step.getAction()));
+            out.writeInt(table.indexOf(step.getLocatorType()));
+            out.writeInt(table.indexOf(step.getProperty()));
+            out.writeInt(table.indexOf(step.getValue()));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Callers may edit the returned test case (data-driven runs substitute values),
+     * so the cached instance is never handed out directly. Strings stay shared.
+     */
+    private static TestCaseDto copyOf(TestCaseDto source) {
+        TestCaseDto copy = new TestCaseDto();
+        copy.setFeatureName(source.getFeatureName());
+        copy.setTargetUrl(source.getTargetUrl());
+        copy.setEventListener(source.getEventListener());
+        if (source.getProperties() != null) {
+            copy.setProperties(new LinkedHashMap<>(source.getProperties()));
+        }
+        List<StepDto> steps = new ArrayList<>(source.getSteps().size());
+        for (StepDto step : source.getSteps()) {
+            steps.add(new StepDto(step.getAction(), step.getLocatorType(), step.getProperty(), step.getValue()));
+        }
+        copy.setSteps(steps);
+        return copy;
+    }
+
+    private static String keyOf(Path script) {
+        return script.toAbsolutePath().normalize().toString();
+    }
+
+    private record Compiled(byte[] hash, TestCaseDto testCase) {
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int indexOf(String value) {
+            if (value == null) return -1;
+            return indexes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+}
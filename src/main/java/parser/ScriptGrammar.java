@@ -0,0 +1,243 @@
+package parser;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The FSQS script grammar: one rule per line form, with every regex compiled once.
+ *
+ * A line is dispatched on its first token (e.g. "action", "enter", "click") to the
+ * rule for that token. The old if/else cascade tried its rules in a fixed order and
+ * most step patterns match anywhere in the line, so before the dispatched rule runs,
+ * every unanchored rule that came earlier in that order is tried too (only when the
+ * line contains its literal text, which keeps it cheap). Lines whose first token is
+ * unknown, or that the selected rule rejects, are tried against every rule in order.
+ * Either way a line parses as the old cascade parsed it: for example
+ * {@code Feature: 1. [a] using [b=c] => d} is a step, not a feature name.
+ */
+final class ScriptGrammar {
+
+    /**
+     * Bump whenever a script can parse differently (a new rule, a changed pattern or
+     * property), so CompiledScriptCache drops test cases compiled by an older grammar.
+     * 2 added "Data:", 3 added "Profile:", 4 restored the cascade's precedence.
+     */
+    static final short VERSION = 4;
+
+    private static final Pattern SUMMARY_STEP =
+            Pattern.compile("\\d+\\. \\[(.*?)\\] using \\[(.*?)=(.*?)\\] => ?(.*)");
+    private static final Pattern ACTION_LINE = Pattern.compile(
+            "Action:\\s*(\\w+),\\s*Locator Type:\\s*([^,]+),\\s*Locator Value:\\s*([^,]+),\\s*Value:\\s*(.*)");
+    private static final Pattern KEYPRESS = Pattern.compile("keypress\\s+\"(.*?)\"\\s+key\\s+in\\s+\"(.*?)\"");
+    private static final Pattern ENTER = Pattern.compile("enter\\s+\"(.*?)\"\\s+into\\s+\"(.*?)\"");
+    private static final Pattern ASSERT = Pattern.compile("assert\\s+\"(.*?)\"");
+    private static final Pattern CLICK = Pattern.compile("click\\s+\"(.*?)\"");
+
+    /**
+     * Applies one line form. Returns false if the line is not of this form.
+     */
+    @FunctionalInterface
+    interface Rule {
+        boolean apply(String line, String lower, TestCaseDto testCase, Consumer<StepDto> steps);
+    }
+
+    private static final Rule EMOJI_FEATURE = header("🧪 Feature:", false, TestCaseDto::setFeatureName);
+    private static final Rule EMOJI_TARGET = header("🌐 Target URL:", false, TestCaseDto::setTargetUrl);
+    private static final Rule EMOJI_EVENT = header("🎯 Event Trigger:", false, TestCaseDto::setEventListener);
+    private static final Rule FEATURE = header("feature:", true, TestCaseDto::setFeatureName);
+    private static final Rule TARGET = header("target url:", true, TestCaseDto::setTargetUrl);
+    private static final Rule EVENT = header("event trigger:", true, TestCaseDto::setEventListener);
+    private static final Rule NAVIGATE = header("navigate to ", true, TestCaseDto::setTargetUrl);
+    private static final Rule DATA = header("data:", true, ScriptGrammar::setDataFile);
+    private static final Rule PROFILE = header("profile:", true, ScriptGrammar::setProfile);
+
+    private static final Rule SUMMARY = (line, lower, testCase, steps) -> {
+        Matcher m = SUMMARY_STEP.matcher(line);
+        if (!m.find()) return false;
+        steps.accept(new StepDto(m.group(1).trim(), m.group(2).trim(), m.group(3).trim(), m.group(4).trim()));
+        return true;
+    };
+
+    private static final Rule ACTION = (line, lower, testCase, steps) -> {
+        Matcher m = ACTION_LINE.matcher(line);
+        if (!m.find()) return false;
+        steps.accept(new StepDto(m.group(1).trim(), m.group(2).trim(), m.group(3).trim(), m.group(4).trim()));
+        return true;
+    };
+
+    private static final Rule PRESS = (line, lower, testCase, steps) -> {
+        Matcher m = KEYPRESS.matcher(line);
+        if (!m.find()) return false;
+        steps.accept(new StepDto("keypress", "id", m.group(2).trim(), m.group(1).trim()));
+        return true;
+    };
+
+    private static final Rule TYPE = (line, lower, testCase, steps) -> {
+        Matcher m = ENTER.matcher(line);
+        if (!m.find()) return false;
+        steps.accept(new StepDto("type", "id", m.group(2).trim(), m.group(1).trim()));
+        return true;
+    };
+
+    private static final Rule ASSERTION = (line, lower, testCase, steps) -> {
+        Matcher m = ASSERT.matcher(line);
+        if (!m.find()) return false;
+        String raw = m.group(1).trim();
+        String locatorType = "id";
+        String locatorValue = raw;
+
+        if (raw.contains("=")) {
+            String[] parts = raw.split("=", 2);
+            locatorType = parts[0].trim();
+            locatorValue = parts[1].trim();
+        }
+
+        steps.accept(new StepDto("assert", locatorType, locatorValue, ""));
+        return true;
+    };
+
+    private static final Rule CLICK_RULE = (line, lower, testCase, steps) -> {
+        Matcher m = CLICK.matcher(line);
+        if (!m.find()) return false;
+        String raw = m.group(1).trim();
+        String locatorType = raw.startsWith("alt=") ? "alt" : "id";
+        String locatorValue = raw.startsWith("alt=") ? raw.substring(4).trim() : raw;
+
+        steps.accept(new StepDto("click", locatorType, locatorValue, ""));
+        return true;
+    };
+
+    /** Every rule, in the precedence order of the original parser. */
+    private static final List<Rule> CASCADE = List.of(
+            EMOJI_FEATURE, EMOJI_TARGET, EMOJI_EVENT, SUMMARY,
+            FEATURE, TARGET, EVENT, NAVIGATE, DATA, PROFILE,
+            ACTION, PRESS, TYPE, ASSERTION, CLICK_RULE);
+
+    /** A rule whose pattern is not anchored to the line start, and text any match contains. */
+    private record Unanchored(Rule rule, String literal) {
+    }
+
+    private static final List<Unanchored> UNANCHORED = List.of(
+            new Unanchored(SUMMARY, "] using ["),
+            new Unanchored(ACTION, "Action:"),
+            new Unanchored(PRESS, "keypress"),
+            new Unanchored(TYPE, "enter"),
+            new Unanchored(ASSERTION, "assert"),
+            new Unanchored(CLICK_RULE, "click"));
+
+    private static final String NUMBERED = "#";
+    private static final Map<String, Rule> BY_FIRST_TOKEN = new HashMap<>();
+    /** For each rule, the unanchored rules that the cascade tried before it. */
+    private static final Map<Rule, List<Unanchored>> EARLIER = new HashMap<>();
+
+    static {
+        BY_FIRST_TOKEN.put("🧪", EMOJI_FEATURE);
+        BY_FIRST_TOKEN.put("🌐", EMOJI_TARGET);
+        BY_FIRST_TOKEN.put("🎯", EMOJI_EVENT);
+        BY_FIRST_TOKEN.put(NUMBERED, SUMMARY);
+        BY_FIRST_TOKEN.put("feature", FEATURE);
+        BY_FIRST_TOKEN.put("target", TARGET);
+        BY_FIRST_TOKEN.put("event", EVENT);
+        BY_FIRST_TOKEN.put("navigate", NAVIGATE);
+        BY_FIRST_TOKEN.put("data", DATA);
+        BY_FIRST_TOKEN.put("profile", PROFILE);
+        BY_FIRST_TOKEN.put("action", ACTION);
+        BY_FIRST_TOKEN.put("keypress", PRESS);
+        BY_FIRST_TOKEN.put("enter", TYPE);
+        BY_FIRST_TOKEN.put("assert", ASSERTION);
+        BY_FIRST_TOKEN.put("click", CLICK_RULE);
+
+        for (Rule rule : CASCADE) {
+            int position = CASCADE.indexOf(rule);
+            EARLIER.put(rule, UNANCHORED.stream()
+                    .filter(earlier -> CASCADE.indexOf(earlier.rule()) < position)
+                    .toList());
+        }
+    }
+
+    private ScriptGrammar() {
+    }
+
+    /**
+     * Parses one trimmed, non-empty line, updating header fields on {@code testCase}
+     * and passing any step to {@code steps}. Lines that match no rule are ignored.
+     */
+    static void parseLine(String line, TestCaseDto testCase, Consumer<StepDto> steps) {
+        String lower = line.toLowerCase(Locale.ROOT);
+        Rule rule = BY_FIRST_TOKEN.get(firstToken(lower));
+        if (rule != null) {
+            for (Unanchored earlier : EARLIER.get(rule)) {
+                if (line.contains(earlier.literal()) && earlier.rule().apply(line, lower, testCase, steps)) {
+                    return;
+                }
+            }
+            if (rule.apply(line, lower, testCase, steps)) {
+                return;
+            }
+        }
+
+        for (Rule candidate : CASCADE) {
+            if (candidate != rule && candidate.apply(line, lower, testCase, steps)) {
+                return;
+            }
+        }
+    }
+
+    private static String firstToken(String lower) {
+        if (Character.isDigit(lower.charAt(0))) {
+            return NUMBERED;
+        }
+        int end = 0;
+        while (end < lower.length()) {
+            char c = lower.charAt(end);
+            if (Character.isWhitespace(c) || c == ':') break;
+            end++;
+        }
+        return lower.substring(0, end);
+    }
+
+    private static Rule header(String prefix, boolean ignoreCase, HeaderSetter setter) {
+        return (line, lower, testCase, steps) -> {
+            if (!(ignoreCase ? lower : line).startsWith(prefix)) return false;
+            setter.set(testCase, line.substring(prefix.length()).trim());
+            return true;
+        };
+    }
+
+    /**
+     * "Data: users.csv" names the rows a data-driven script is run with; see
+     * data.ParameterizedTestCase.
+     */
+    private static void setDataFile(TestCaseDto testCase, String file) {
+        setProperty(testCase, "data", file);
+    }
+
+    /**
+     * "Profile: fast" picks the browser profile a UI script runs with; see
+     * driver.BrowserProfile.
+     */
+    private static void setProfile(TestCaseDto testCase, String profile) {
+        setProperty(testCase, "profile", profile);
+    }
+
+    private static void setProperty(TestCaseDto testCase, String key, String value) {
+        if (testCase.getProperties() == null) {
+            testCase.setProperties(new LinkedHashMap<>());
+        }
+        testCase.getProperties().put(key, value);
+    }
+
+    @FunctionalInterface
+    private interface HeaderSetter {
+        void set(TestCaseDto testCase, String value);
+    }
+}
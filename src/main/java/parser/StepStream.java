@@ -0,0 +1,104 @@
+package parser;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams the steps of a script one at a time as lines are read, so memory use does
+ * not grow with the length of the script.
+ *
+ * Header lines (Feature:, Target URL:, navigate to ...) are applied to {@link #header()}
+ * as they are encountered. Calling {@link #hasNext()} reads up to the next step, so
+ * header fields that precede the first step are available once hasNext() has been
+ * called. The header never holds steps.
+ */
+public class StepStream implements Iterator<StepDto>, Closeable {
+
+    private final BufferedReader reader;
+    private final TestCaseDto header = new TestCaseDto();
+    // A single line never yields more than one step, but a queue keeps ScriptGrammar's callback simple
+    private final ArrayDeque<StepDto> pending = new ArrayDeque<>(2);
+    private long linesRead;
+    private boolean exhausted;
+
+    public StepStream(BufferedReader reader) {
+        this.reader = reader;
+        this.header.setEventListener("");
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            String line;
+            while (pending.isEmpty() && !exhausted) {
+                line = reader.readLine();
+                if (line == null) {
+                    exhausted = true;
+                    break;
+                }
+                linesRead++;
+                String ln = line.trim();
+                if (ln.isEmpty()) continue;
+                ScriptGrammar.parseLine(ln, header, pending::add);
+            }
+            return !pending.isEmpty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public StepDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more steps in script");
+        }
+        return pending.poll();
+    }
+
+    /**
+     * Header fields seen so far. Feature name defaults to "Auto-parsed test case"
+     * when the script does not declare one.
+     */
+    public TestCaseDto header() {
+        if (header.getFeatureName() == null || header.getFeatureName().isEmpty()) {
+            header.setFeatureName("Auto-parsed test case");
+        }
+        return header;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Sequential Stream view; closing the stream closes the underlying reader.
+     */
+    public Stream<StepDto> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        exhausted = true;
+        reader.close();
+    }
+}
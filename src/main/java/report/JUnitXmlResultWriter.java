@@ -0,0 +1,170 @@
+package report;
+
+import dto.Outcome;
+import dto.StepResultDto;
+import dto.TestResultDto;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams JUnit XML: one {@code <testsuite>} per test case, one {@code <testcase>}
+ * per step, all inside a single {@code <testsuites>} element.
+ *
+ * Each suite carries its own counts, so nothing about earlier tests has to be kept
+ * to write it; the root element is opened up front and closed by {@link #close()}.
+ * A test that failed before running any step is reported as one errored testcase.
+ */
+public class JUnitXmlResultWriter implements ResultWriter {
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private final OutputStream stream;
+    private final XMLStreamWriter xml;
+
+    public JUnitXmlResultWriter(Path file) throws IOException {
+        this(open(file));
+    }
+
+    public JUnitXmlResultWriter(OutputStream stream) throws IOException {
+        this.stream = stream;
+        try {
+            this.xml = XMLOutputFactory.newFactory().createXMLStreamWriter(stream, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("testsuites");
+            xml.writeAttribute("name", "fsqstoolkit");
+            xml.writeCharacters("\n");
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("❌ Could not start JUnit report: " + e.getMessage(), e);
+        }
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        return Files.newOutputStream(file);
+    }
+
+    @Override
+    public synchronized void write(TestResultDto result) throws IOException {
+        List<StepResultDto> steps = result.getSteps();
+        String suiteName = clean(result.getSource() != null ? result.getSource() : result.getName());
+
+        try {
+            xml.writeCharacters("  ");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", suiteName);
+            xml.writeAttribute("tests", Long.toString(Math.max(result.getStepCount(), result.getError() != null ? 1 : 0)));
+            xml.writeAttribute("failures", Long.toString(result.countSteps(Outcome.FAILED)));
+            xml.writeAttribute("errors", Long.toString(result.countSteps(Outcome.ERROR) + (result.getError() != null ? 1 : 0)));
+            xml.writeAttribute("skipped", Long.toString(result.countSteps(Outcome.SKIPPED)));
+            xml.writeAttribute("time", seconds(result.getDurationNanos()));
+            xml.writeAttribute("timestamp", TIMESTAMP.format(Instant.ofEpochMilli(result.getStartedAtMillis())));
+            xml.writeCharacters("\n");
+
+            for (StepResultDto step : steps) {
+                writeStep(suiteName, step);
+            }
+            if (result.getError() != null) {
+                writeTestCase(suiteName, "test", result.getDurationNanos(), Outcome.ERROR, result.getError(), null);
+            }
+
+            xml.writeCharacters("  ");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.flush();
+            stream.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("❌ Could not write JUnit result: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeStep(String suiteName, StepResultDto step) throws XMLStreamException {
+        String name = String.format("%03d %s %s", step.getIndex() + 1, clean(step.getAction()), clean(step.getTarget()));
+        writeTestCase(suiteName, name.trim(), step.getDurationNanos(), step.getOutcome(), step.getError(),
+                step.getResponseSnippet());
+    }
+
+    private void writeTestCase(String suiteName, String name, long nanos, Outcome outcome, String error,
+                               String systemOut) throws XMLStreamException {
+        xml.writeCharacters("    ");
+        xml.writeStartElement("testcase");
+        xml.writeAttribute("classname", suiteName);
+        xml.writeAttribute("name", name);
+        xml.writeAttribute("time", seconds(nanos));
+
+        switch (outcome) {
+            case FAILED -> writeProblem("failure", error);
+            case ERROR -> writeProblem("error", error);
+            case SKIPPED -> xml.writeEmptyElement("skipped");
+            default -> {
+            }
+        }
+        if (systemOut != null) {
+            xml.writeStartElement("system-out");
+            xml.writeCharacters(clean(systemOut));
+            xml.writeEndElement();
+        }
+
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+    }
+
+    private void writeProblem(String element, String message) throws XMLStreamException {
+        xml.writeStartElement(element);
+        xml.writeAttribute("message", clean(message));
+        xml.writeCharacters(clean(message));
+        xml.writeEndElement();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+            stream.write('\n');
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("❌ Could not finish JUnit report: " + e.getMessage(), e);
+        } finally {
+            stream.close();
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e9);
+    }
+
+    /**
+     * Drops characters XML 1.0 cannot carry (control characters from raw response bodies).
+     */
+    private static String clean(String text) {
+        if (text == null) return "";
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean legal = c == '\t' || c == '\n' || c == '\r' || (c >= 0x20 && c <= 0xD7FF)
+                    || Character.isSurrogate(c) || (c >= 0xE000 && c <= 0xFFFD);
+            if (!legal && sb == null) {
+                sb = new StringBuilder(text.length());
+                sb.append(text, 0, i);
+            }
+            if (sb != null && legal) sb.append(c);
+        }
+        return sb != null ? sb.toString() : text;
+    }
+}
@@ -0,0 +1,235 @@
+package report;
+
+import dto.Outcome;
+import dto.StepResultDto;
+import dto.TestResultDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads back the files JsonLinesResultWriter writes, one TestResultDto per line,
+ * e.g. to merge the results of several shards into one report. Results are handed
+ * to a ResultWriter as they are read, so memory stays constant however long the
+ * files are.
+ */
+public class JsonLinesResultReader {
+
+    private JsonLinesResultReader() {
+    }
+
+    /**
+     * Writes every result in {@code file} to {@code sink}.
+     *
+     * @return the number of results read
+     * @throws IOException if the file cannot be read or a line is not a result
+     */
+    public static long copy(Path file, ResultWriter sink) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                TestResultDto result;
+                try {
+                    result = parse(line);
+                } catch (RuntimeException e) {
+                    throw new IOException("❌ " + file + " line " + lineNumber + " is not a test result: " + e.getMessage(), e);
+                }
+                sink.write(result);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Parses one line. The stored outcome is restored exactly: a test-level error is
+     * set only where the steps alone would give a different outcome.
+     */
+    @SuppressWarnings("unchecked")
+    public static TestResultDto parse(String line) {
+        Map<String, Object> json = (Map<String, Object>) new Parser(line).value();
+        TestResultDto result = new TestResultDto((String) json.get("name"), (String) json.get("style"));
+        result.setSource((String) json.get("source"));
+        result.setDurationNanos(nanos(json.get("durationMs")));
+        if (json.get("startedAt") instanceof Double startedAt) {
+            result.setStartedAtMillis(startedAt.longValue());
+        }
+
+        Object steps = json.get("steps");
+        if (steps instanceof List<?> list) {
+            for (Object item : list) {
+                Map<String, Object> step = (Map<String, Object>) item;
+                StepResultDto stepResult = new StepResultDto(((Double) step.get("index")).intValue(),
+                        (String) step.get("action"), (String) step.get("target"),
+                        Outcome.valueOf((String) step.get("outcome")), nanos(step.get("durationMs")),
+                        (String) step.get("error"));
+                stepResult.setResponseSnippet((String) step.get("response"));
+                result.addStep(stepResult);
+            }
+        }
+
+        Outcome stored = Outcome.valueOf((String) json.get("outcome"));
+        if (result.getOutcome() != stored) {
+            Object error = json.get("error");
+            result.setError(error != null ? (String) error : stored.name());
+        }
+        return result;
+    }
+
+    private static long nanos(Object millis) {
+        return millis instanceof Double d ? Math.round(d * 1_000_000) : 0;
+    }
+
+    /**
+     * Just enough JSON for the writer's output: objects, arrays, strings, numbers
+     * (as Double), booleans and null.
+     */
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object value() {
+            skipWhitespace();
+            char c = peek();
+            switch (c) {
+                case '{':
+                    return object();
+                case '[':
+                    return array();
+                case '"':
+                    return string();
+                case 'n':
+                    expect("null");
+                    return null;
+                case 't':
+                    expect("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    expect("false");
+                    return Boolean.FALSE;
+                default:
+                    return number();
+            }
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                consume(':');
+                map.put(key, value());
+                skipWhitespace();
+                if (peek() == '}') {
+                    pos++;
+                    return map;
+                }
+                consume(',');
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(value());
+                skipWhitespace();
+                if (peek() == ']') {
+                    pos++;
+                    return list;
+                }
+                consume(',');
+            }
+        }
+
+        private String string() {
+            consume('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = text.charAt(pos++);
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(escaped);
+                }
+            }
+        }
+
+        private Double number() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("unexpected '" + peek() + "' at " + pos);
+            }
+            return Double.valueOf(text.substring(start, pos));
+        }
+
+        private void expect(String literal) {
+            if (!text.startsWith(literal, pos)) {
+                throw new IllegalArgumentException("expected " + literal + " at " + pos);
+            }
+            pos += literal.length();
+        }
+
+        private void consume(char c) {
+            if (peek() != c) {
+                throw new IllegalArgumentException("expected '" + c + "' at " + pos);
+            }
+            pos++;
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("unexpected end of line");
+            }
+            return text.charAt(pos);
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
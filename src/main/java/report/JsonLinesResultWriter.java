@@ -0,0 +1,82 @@
+package report;
+
+import dto.StepResultDto;
+import dto.TestResultDto;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static util.JsonStrings.appendQuoted;
+
+/**
+ * Writes one JSON object per test, steps included, one test per line:
+ *
+ * <pre>
+ * {"name":"Login","source":"login.txt","style":"standard","outcome":"FAILED","durationMs":812.4,
+ *  "startedAt":1718000000000,"error":null,"steps":[{"index":0,"action":"type",...}]}
+ * </pre>
+ */
+public class JsonLinesResultWriter implements ResultWriter {
+
+    private final Writer out;
+
+    public JsonLinesResultWriter(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        this.out = Files.newBufferedWriter(file);
+    }
+
+    public JsonLinesResultWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public synchronized void write(TestResultDto result) throws IOException {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"name\":");
+        appendQuoted(sb, result.getName());
+        sb.append(",\"source\":");
+        appendQuoted(sb, result.getSource());
+        sb.append(",\"style\":");
+        appendQuoted(sb, result.getStyle());
+        sb.append(",\"outcome\":\"").append(result.getOutcome()).append('"');
+        sb.append(",\"durationMs\":").append(millis(result.getDurationNanos()));
+        sb.append(",\"startedAt\":").append(result.getStartedAtMillis());
+        sb.append(",\"error\":");
+        appendQuoted(sb, result.getFailureMessage());
+        sb.append(",\"steps\":[");
+
+        boolean first = true;
+        for (StepResultDto step : result.getSteps()) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append("{\"index\":").append(step.getIndex());
+            sb.append(",\"action\":");
+            appendQuoted(sb, step.getAction());
+            sb.append(",\"target\":");
+            appendQuoted(sb, step.getTarget());
+            sb.append(",\"outcome\":\"").append(step.getOutcome()).append('"');
+            sb.append(",\"durationMs\":").append(millis(step.getDurationNanos()));
+            sb.append(",\"error\":");
+            appendQuoted(sb, step.getError());
+            sb.append(",\"response\":");
+            appendQuoted(sb, step.getResponseSnippet());
+            sb.append('}');
+        }
+        sb.append("]}\n");
+
+        out.write(sb.toString());
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(java.util.Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,62 @@
+package report;
+
+import dto.TestResultDto;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Appends test results to a report as each test completes.
+ *
+ * Implementations write and flush one result at a time and keep nothing but the
+ * open stream, so memory stays constant however many tests a suite has. They are
+ * safe to call from concurrently running tests.
+ */
+public interface ResultWriter extends AutoCloseable {
+
+    void write(TestResultDto result) throws IOException;
+
+    /**
+     * Finishes the report (closing tags etc.) and releases the file.
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Picks the writer from the file extension: {@code .xml} for JUnit XML,
+     * anything else for JSON Lines.
+     */
+    static ResultWriter forPath(Path file) throws IOException {
+        return file.getFileName().toString().toLowerCase().endsWith(".xml")
+                ? new JUnitXmlResultWriter(file)
+                : new JsonLinesResultWriter(file);
+    }
+
+    /**
+     * Writes every result to all of the given writers.
+     */
+    static ResultWriter tee(List<ResultWriter> writers) {
+        return new ResultWriter() {
+            @Override
+            public void write(TestResultDto result) throws IOException {
+                for (ResultWriter writer : writers) {
+                    writer.write(result);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                IOException first = null;
+                for (ResultWriter writer : writers) {
+                    try {
+                        writer.close();
+                    } catch (IOException e) {
+                        if (first == null) first = e;
+                    }
+                }
+                if (first != null) throw first;
+            }
+        };
+    }
+}
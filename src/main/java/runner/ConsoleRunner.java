@@ -117,6 +117,7 @@ public class ConsoleRunner {
             testCase = null; // reset for next iteration
         }
 
+        service.shutdown();
         System.out.println("👋 Exiting FSQS Toolkit. Goodbye!");
         scanner.close();
     }
@@ -0,0 +1,163 @@
+package runner;
+
+import dto.StepDto;
+import dto.StepResultDto;
+import dto.TestCaseDto;
+import dto.TestResultDto;
+import metrics.MetricsRegistry;
+import service.RestRequests;
+import service.RestSegments;
+import service.TestCaseService;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs test cases of all three execution styles on virtual threads.
+ *
+ * Every submitted test gets its own virtual thread, so thousands of API flows can be
+ * in flight without a platform thread each. Browser-bound work (standard UI and
+ * Gherkin runs) additionally takes one of {@code browserSlots} permits, which caps the
+ * number of live browsers while everything else keeps running. With {@code structuredRest}
+ * the request segments of a REST test are forked as child tasks in a TaskScope that
+ * still send in script order, so the first failing request, or cancelling the test,
+ * cancels the requests still waiting.
+ */
+public class ExecutionEngine implements AutoCloseable {
+
+    private final TestCaseService service;
+    private final Semaphore browserSlots;
+    private final boolean structuredRest;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ExecutionEngine(TestCaseService service, int browserSlots, boolean structuredRest) {
+        if (browserSlots < 1) {
+            throw new IllegalArgumentException("browserSlots must be at least 1");
+        }
+        this.service = service;
+        this.browserSlots = new Semaphore(browserSlots, true);
+        this.structuredRest = structuredRest;
+    }
+
+    /**
+     * Starts a test case on its own virtual thread.
+     */
+    public Future<Boolean> submit(TestCaseDto testCase, ExecutionStyle style) {
+        return executor.submit(() -> run(testCase, style));
+    }
+
+    /**
+     * Starts arbitrary work on its own virtual thread.
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Runs a test case on the calling thread, taking a browser slot only if it needs one.
+     */
+    public boolean run(TestCaseDto testCase, ExecutionStyle style) throws InterruptedException {
+        return execute(testCase, style).isPassed();
+    }
+
+    /**
+     * Like {@link #run(TestCaseDto, ExecutionStyle)}, but returns the step-by-step result.
+     */
+    public TestResultDto execute(TestCaseDto testCase, ExecutionStyle style) throws InterruptedException {
+        boolean api = TestCaseService.isApiTestCase(testCase);
+        if (style == ExecutionStyle.REST || (style == ExecutionStyle.STANDARD && api)) {
+            return structuredRest ? executeRestStructured(testCase) : service.executeRest(testCase);
+        }
+
+        return withBrowserSlot(() -> style == ExecutionStyle.GHERKIN
+                ? service.executeGherkin(testCase)
+                : service.execute(testCase));
+    }
+
+    /**
+     * Runs browser-bound work once a browser slot is free.
+     */
+    public <T> T withBrowserSlot(Callable<T> work) throws InterruptedException {
+        browserSlots.acquire();
+        try {
+            return work.call();
+        } catch (InterruptedException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            browserSlots.release();
+        }
+    }
+
+    /**
+     * Forks each request segment (a request plus the assertion steps after it) as a
+     * child task that waits for the segment before it, so requests go out in script
+     * order; the first failure cancels the remaining requests of this test and they
+     * are reported as skipped.
+     */
+    public boolean runRestStructured(TestCaseDto testCase) throws InterruptedException {
+        return executeRestStructured(testCase).isPassed();
+    }
+
+    public TestResultDto executeRestStructured(TestCaseDto testCase) throws InterruptedException {
+        long start = System.nanoTime();
+        TestResultDto result = new TestResultDto(testCase.getFeatureName(), "rest");
+
+        List<StepDto> steps = testCase.getSteps();
+        AtomicInteger skipFrom = new AtomicInteger(steps.size());
+
+        try (TaskScope<Void> scope = new TaskScope<>()) {
+            int first = 0;
+            Future<Void> previous = null;
+            for (List<StepDto> segment : RestRequests.segments(steps)) {
+                if (scope.isFailed()) break;
+                int offset = first;
+                Future<Void> before = previous;
+                try {
+                    previous = scope.fork(() -> {
+                        if (before != null) before.get();
+                        try {
+                            runSegment(segment, offset, result);
+                        } catch (Exception | AssertionError e) {
+                            skipFrom.set(offset + segment.size());
+                            throw e;
+                        }
+                        return null;
+                    });
+                } catch (IllegalStateException e) {
+                    break; // a segment failed while this one was being forked; join() reports it
+                }
+                first += segment.size();
+            }
+            scope.join();
+            System.out.println("✅ REST-style test ran successfully: " + testCase.getFeatureName());
+        } catch (ExecutionException e) {
+            System.out.println("❌ REST test failed: " + e.getCause().getMessage());
+            for (int j = skipFrom.get(); j < steps.size(); j++) {
+                result.addStep(StepResultDto.skipped(j, steps.get(j)));
+            }
+        }
+
+        result.setDurationNanos(System.nanoTime() - start);
+        MetricsRegistry.global().timer("fsqs_test", "style", "rest", "outcome", result.getOutcome().name().toLowerCase(Locale.ROOT))
+                .record(result.getDurationNanos());
+        return result;
+    }
+
+    private void runSegment(List<StepDto> segment, int offset, TestResultDto result) throws Exception {
+        RestSegments.run(service.getHttpTransport(), segment, offset, result);
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,21 @@
+package runner;
+
+/**
+ * The three ways a TestCaseDto can be executed by TestCaseService.
+ */
+public enum ExecutionStyle {
+    STANDARD,
+    GHERKIN,
+    REST;
+
+    /**
+     * Maps the console menu choices (1/2/3) to a style.
+     */
+    public static ExecutionStyle fromChoice(String choice) {
+        return switch (choice.trim()) {
+            case "2" -> GHERKIN;
+            case "3" -> REST;
+            default -> STANDARD;
+        };
+    }
+}
@@ -0,0 +1,219 @@
+package runner;
+
+import data.DataDrivenCases;
+import data.ParameterizedTestCase;
+import dto.StepDto;
+import dto.TestCaseDto;
+import parser.StepStream;
+import parser.TestCaseParser;
+import util.ContentHash;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per discovered script path, what the script looked like and how it did
+ * the last time it ran: content hash (covering its data file too, for data-driven
+ * scripts), target host, outcome, when it ran and how long it took. Incremental suite runs use it to pick only the scripts worth running.
+ *
+ * Stored as one tab-separated line per script in
+ * {@code target/fsqs-cache/fingerprints.tsv}.
+ */
+public class FingerprintStore {
+
+    public static final Path DEFAULT_FILE = Path.of("target", "fsqs-cache", "fingerprints.tsv");
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(24);
+
+    /**
+     * Why a script was selected for a run, or UP_TO_DATE if it was skipped.
+     */
+    public enum Reason {
+        NEW, CHANGED, FAILED_LAST_TIME, STALE, UP_TO_DATE
+    }
+
+    public record Fingerprint(String hash, String host, boolean passed, long lastRunMillis, long durationMillis) {
+    }
+
+    private final Path file;
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    /** Hashes computed by select(), recorded against the result once the script has run. */
+    private final Map<String, String> selectedHashes = new ConcurrentHashMap<>();
+    private Duration maxAge = DEFAULT_MAX_AGE;
+
+    private FingerprintStore(Path file) {
+        this.file = file;
+    }
+
+    public static FingerprintStore open(Path file) throws IOException {
+        FingerprintStore store = new FingerprintStore(file);
+        if (Files.isRegularFile(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] cols = line.split("\t", -1);
+                    if (cols.length < 6) continue;
+                    try {
+                        store.fingerprints.put(cols[0], new Fingerprint(cols[1], cols[2],
+                                Boolean.parseBoolean(cols[3]), Long.parseLong(cols[4]), Long.parseLong(cols[5])));
+                    } catch (NumberFormatException ignored) {
+                        // a damaged line just means that script runs again
+                    }
+                }
+            }
+        }
+        return store;
+    }
+
+    public static FingerprintStore open() throws IOException {
+        return open(DEFAULT_FILE);
+    }
+
+    /**
+     * Scripts whose last successful run is older than this are run again even if unchanged.
+     */
+    public FingerprintStore maxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * Decides whether the script needs to run, hashing its current content.
+     */
+    public Reason check(Path script) throws IOException {
+        String key = keyOf(script);
+        String hash = hashOf(script);
+        selectedHashes.put(key, hash);
+
+        Fingerprint last = fingerprints.get(key);
+        if (last == null) return Reason.NEW;
+        if (!last.hash().equals(hash)) return Reason.CHANGED;
+        if (!last.passed()) return Reason.FAILED_LAST_TIME;
+        if (System.currentTimeMillis() - last.lastRunMillis() > maxAge.toMillis()) return Reason.STALE;
+        return Reason.UP_TO_DATE;
+    }
+
+    /**
+     * Filters the scripts down to the ones that need to run and prints why each one runs.
+     * A script that cannot be read is kept, so the run reports the error.
+     */
+    public List<Path> select(List<Path> scripts) {
+        List<Path> selected = new ArrayList<>();
+        int skipped = 0;
+        for (Path script : scripts) {
+            Reason reason;
+            try {
+                reason = check(script);
+            } catch (IOException e) {
+                reason = Reason.CHANGED;
+            }
+            if (reason == Reason.UP_TO_DATE) {
+                skipped++;
+            } else {
+                System.out.printf("🔁 %-40s %s%n", script.getFileName(), reason);
+                selected.add(script);
+            }
+        }
+        System.out.printf("⏭ Skipping %d up-to-date scripts, running %d%n", skipped, selected.size());
+        return selected;
+    }
+
+    /**
+     * Records the outcome of a script that ran. {@code host} may be null when it is not
+     * known, in which case the previously recorded host is kept.
+     */
+    public void record(Path script, String host, boolean passed, long durationMillis) {
+        String key = keyOf(script);
+        String hash = selectedHashes.get(key);
+        if (hash == null) {
+            try {
+                hash = hashOf(script);
+            } catch (IOException e) {
+                return;
+            }
+        }
+        Fingerprint previous = fingerprints.get(key);
+        String knownHost = host != null ? host : previous != null ? previous.host() : "";
+        fingerprints.put(key, new Fingerprint(hash, knownHost, passed, System.currentTimeMillis(), durationMillis));
+    }
+
+    public Fingerprint get(Path script) {
+        return fingerprints.get(keyOf(script));
+    }
+
+    /**
+     * Writes the store, replacing the file atomically. Scripts that no longer exist are dropped.
+     */
+    public synchronized void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try (BufferedWriter out = Files.newBufferedWriter(tmp)) {
+            for (Map.Entry<String, Fingerprint> entry : new TreeMap<>(fingerprints).entrySet()) {
+                if (!Files.exists(Path.of(entry.getKey()))) continue;
+                Fingerprint f = entry.getValue();
+                out.write(String.join("\t", entry.getKey(), f.hash(), f.host(), Boolean.toString(f.passed()),
+                        Long.toString(f.lastRunMillis()), Long.toString(f.durationMillis())));
+                out.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Hash of the script, combined with the hash of the data file its {@code Data:}
+     * header names, so editing only the rows still reruns the script.
+     */
+    static String hashOf(Path script) throws IOException {
+        String hash = ContentHash.sha256Hex(script);
+        String dataFile;
+        try (StepStream steps = new TestCaseParser().openStream(script)) {
+            steps.hasNext();
+            dataFile = ParameterizedTestCase.dataFile(steps.header());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (dataFile == null) return hash;
+        String dataHash = ContentHash.sha256Hex(DataDrivenCases.resolve(dataFile, script.getParent()));
+        return ContentHash.sha256Hex((hash + dataHash).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Host of the target URL, or of the first API request for API-only scripts.
+     */
+    public static String hostOf(TestCaseDto testCase) {
+        String host = host(testCase.getTargetUrl());
+        if (host != null || testCase.getSteps() == null) return host;
+        for (StepDto step : testCase.getSteps()) {
+            host = host(step.getProperty());
+            if (host != null) return host;
+        }
+        return null;
+    }
+
+    private static String host(String url) {
+        if (url == null || url.isBlank()) return null;
+        try {
+            return URI.create(url.trim()).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String keyOf(Path script) {
+        return script.toAbsolutePath().normalize().toString();
+    }
+}
@@ -0,0 +1,108 @@
+package runner;
+
+import metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Suite-level circuit breaker per target host. After {@code threshold} tests in a
+ * row errored against a host, further tests for it are skipped for {@code openFor}
+ * instead of each one waiting out its own timeouts. After that one trial test is let
+ * through: if it passes the host is healthy again, otherwise the circuit reopens.
+ *
+ * Only errors count (navigation failures, missing elements, refused connections);
+ * a failed assertion means the host answered, so it resets the count like a pass.
+ */
+public class HostCircuitBreaker {
+
+    private final int threshold;
+    private final long openForNanos;
+    private final LongSupplier clock;
+    private final Map<String, Circuit> circuits = new HashMap<>();
+    private long skipped;
+
+    public HostCircuitBreaker(int threshold, Duration openFor) {
+        this(threshold, openFor, System::nanoTime);
+    }
+
+    HostCircuitBreaker(int threshold, Duration openFor, LongSupplier clock) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1: " + threshold);
+        }
+        this.threshold = threshold;
+        this.openForNanos = openFor.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * @return false if tests for this host should be skipped right now
+     */
+    public synchronized boolean allow(String host) {
+        if (host == null) return true;
+        Circuit circuit = circuits.get(host);
+        if (circuit == null || circuit.openedAt < 0) return true;
+
+        if (clock.getAsLong() - circuit.openedAt >= openForNanos && !circuit.trialRunning) {
+            circuit.trialRunning = true;
+            return true;
+        }
+        skipped++;
+        circuit.skipped++;
+        MetricsRegistry.global().counter("fsqs_circuit_skipped_total", "host", host).increment();
+        return false;
+    }
+
+    /**
+     * Records the outcome of a test that {@link #allow} let through.
+     *
+     * @param errored true if the test could not run against the host
+     */
+    public synchronized void record(String host, boolean errored) {
+        if (host == null) return;
+        Circuit circuit = circuits.computeIfAbsent(host, h -> new Circuit());
+        boolean trial = circuit.trialRunning;
+        circuit.trialRunning = false;
+
+        if (!errored) {
+            circuit.consecutiveErrors = 0;
+            circuit.openedAt = -1;
+            return;
+        }
+        circuit.consecutiveErrors++;
+        if (trial || (circuit.openedAt < 0 && circuit.consecutiveErrors >= threshold)) {
+            circuit.openedAt = clock.getAsLong();
+            System.out.printf("🔌 Circuit open for %s after %d consecutive errors; skipping its tests for %d s%n",
+                    host, circuit.consecutiveErrors, Duration.ofNanos(openForNanos).toSeconds());
+        }
+    }
+
+    public synchronized long getSkippedCount() {
+        return skipped;
+    }
+
+    /**
+     * One line per host whose tests were skipped.
+     */
+    public synchronized List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        circuits.forEach((host, circuit) -> {
+            if (circuit.skipped > 0) {
+                lines.add(String.format("%s: %d tests skipped (%s)", host, circuit.skipped,
+                        circuit.openedAt < 0 ? "recovered" : "still failing"));
+            }
+        });
+        return lines;
+    }
+
+    private static final class Circuit {
+        int consecutiveErrors;
+        long openedAt = -1;
+        boolean trialRunning;
+        long skipped;
+    }
+}
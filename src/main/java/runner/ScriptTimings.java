@@ -0,0 +1,150 @@
+package runner;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How long each script took in recent runs, used to balance shards by duration.
+ *
+ * Scripts are keyed by their path relative to the working directory, so runners in
+ * different containers with the same checkout share keys. Stored as one
+ * tab-separated "script, millis, recorded at" line per script in
+ * {@code target/fsqs-cache/timings.tsv}; each new run is averaged with the stored
+ * value so one slow run does not reshuffle every shard. When several files are
+ * loaded, the most recently recorded timing of each script wins, so merging the
+ * files of all shards picks up every shard's new timings.
+ */
+public class ScriptTimings {
+
+    public static final Path DEFAULT_FILE = Path.of("target", "fsqs-cache", "timings.tsv");
+
+    private final Path file;
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+
+    private record Timing(long millis, long recordedAt) {
+    }
+
+    private ScriptTimings(Path file) {
+        this.file = file;
+    }
+
+    public static ScriptTimings open(Path file) throws IOException {
+        ScriptTimings timings = new ScriptTimings(file);
+        timings.load(file);
+        return timings;
+    }
+
+    public static ScriptTimings open() throws IOException {
+        return open(DEFAULT_FILE);
+    }
+
+    /**
+     * No timings yet; {@link #save()} writes to {@code file}.
+     */
+    public static ScriptTimings empty(Path file) {
+        return new ScriptTimings(file);
+    }
+
+    /**
+     * Adds the entries of another timings file, e.g. one written by another shard,
+     * where they were recorded later than the ones already held.
+     */
+    public void load(Path other) throws IOException {
+        if (!Files.isRegularFile(other)) return;
+        try (BufferedReader reader = Files.newBufferedReader(other)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.split("\t", -1);
+                if (cols.length < 2) continue;
+                try {
+                    Timing timing = new Timing(Long.parseLong(cols[1]), cols.length > 2 ? Long.parseLong(cols[2]) : 0);
+                    timings.merge(cols[0], timing, (held, loaded) -> loaded.recordedAt() > held.recordedAt() ? loaded : held);
+                } catch (NumberFormatException ignored) {
+                    // a damaged line just means that script gets the median weight
+                }
+            }
+        }
+    }
+
+    public void record(Path script, long durationMillis) {
+        long now = System.currentTimeMillis();
+        timings.merge(keyOf(script), new Timing(Math.max(durationMillis, 0), now),
+                (held, latest) -> new Timing((held.millis() + latest.millis()) / 2, now));
+    }
+
+    /**
+     * @return the script's recorded duration, or null if it never ran
+     */
+    public Long get(Path script) {
+        Timing timing = timings.get(keyOf(script));
+        return timing != null ? timing.millis() : null;
+    }
+
+    public int size() {
+        return timings.size();
+    }
+
+    /**
+     * The median recorded duration, the weight given to scripts without a timing;
+     * 1 when nothing has been recorded, so every script weighs the same.
+     */
+    public long median() {
+        if (timings.isEmpty()) return 1;
+        List<Long> values = new ArrayList<>();
+        for (Timing timing : timings.values()) {
+            values.add(timing.millis());
+        }
+        Collections.sort(values);
+        return Math.max(values.get(values.size() / 2), 1);
+    }
+
+    /**
+     * Writes the timings, replacing the file atomically.
+     */
+    public void save() throws IOException {
+        save(file);
+    }
+
+    /**
+     * Writes the timings to {@code to} instead of the file they were read from, e.g.
+     * one shard's output that is merged with the others' afterwards.
+     */
+    public synchronized void save(Path to) throws IOException {
+        Path parent = to.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, to.getFileName().toString(), ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp)) {
+            for (Map.Entry<String, Timing> entry : new TreeMap<>(timings).entrySet()) {
+                Timing timing = entry.getValue();
+                out.write(entry.getKey() + "\t" + timing.millis() + "\t" + timing.recordedAt());
+                out.newLine();
+            }
+        }
+        Files.move(tmp, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * The script's path relative to the working directory when it lies below it,
+     * with forward slashes on every platform.
+     */
+    public static String keyOf(Path script) {
+        Path absolute = script.toAbsolutePath().normalize();
+        Path workDir = Path.of("").toAbsolutePath().normalize();
+        Path key = absolute.startsWith(workDir) ? workDir.relativize(absolute) : absolute;
+        return key.toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,100 @@
+package runner;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * One of {@code total} slices of a suite, numbered from 1, so the suite can be spread
+ * across processes or machines.
+ *
+ * The split is deterministic: every shard sorts the same scripts the same way and
+ * computes the same assignment, so with the same script list and the same
+ * ScriptTimings each script runs on exactly one shard. Scripts are handed out
+ * longest first, each to the shard with the least estimated time so far; scripts
+ * without a timing weigh the median. Without any timings this is a round-robin over
+ * the sorted scripts.
+ */
+public record Shard(int index, int total) {
+
+    public Shard {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException("Shard must be i/N with 1 <= i <= N: " + index + "/" + total);
+        }
+    }
+
+    /**
+     * Parses "i/N", e.g. "2/4".
+     */
+    public static Shard parse(String spec) {
+        String[] parts = spec.trim().split("/");
+        try {
+            if (parts.length == 2) {
+                return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Shard must look like 2/4: " + spec);
+    }
+
+    /**
+     * The scripts this shard runs, in their sorted order.
+     */
+    public List<Path> select(List<Path> scripts, ScriptTimings timings) {
+        // Sorted by portable key, so every shard sees the same order whatever discovery returned
+        TreeMap<String, Path> byKey = new TreeMap<>();
+        for (Path script : scripts) {
+            byKey.putIfAbsent(ScriptTimings.keyOf(script), script);
+        }
+
+        long fallback = timings.median();
+        List<Weighted> weighted = new ArrayList<>(byKey.size());
+        for (var entry : byKey.entrySet()) {
+            Long millis = timings.get(entry.getValue());
+            weighted.add(new Weighted(entry.getKey(), entry.getValue(), millis != null ? Math.max(millis, 1) : fallback));
+        }
+        weighted.sort(Comparator.comparingLong(Weighted::millis).reversed().thenComparing(Weighted::key));
+
+        long[] load = new long[total];
+        TreeMap<String, Path> mine = new TreeMap<>();
+        long mineMillis = 0;
+        for (Weighted script : weighted) {
+            int target = 0;
+            for (int i = 1; i < total; i++) {
+                if (load[i] < load[target]) target = i;
+            }
+            load[target] += script.millis();
+            if (target == index - 1) {
+                mine.put(script.key(), script.path());
+                mineMillis += script.millis();
+            }
+        }
+
+        long busiest = 0;
+        for (long l : load) busiest = Math.max(busiest, l);
+        System.out.printf("🧩 Shard %d/%d: %d of %d scripts, ~%.1f s estimated (busiest shard ~%.1f s, %d timings known)%n",
+                index, total, mine.size(), byKey.size(), mineMillis / 1000.0, busiest / 1000.0, timings.size());
+        return new ArrayList<>(mine.values());
+    }
+
+    /**
+     * Where this shard writes its timings: {@code timings-2-of-4.tsv} next to
+     * {@code timings.tsv}, so shards never overwrite the file they all read.
+     */
+    public Path timingsFile(Path shared) {
+        String name = shared.getFileName().toString();
+        String base = name.endsWith(".tsv") ? name.substring(0, name.length() - 4) : name;
+        return shared.resolveSibling(base + "-" + index + "-of-" + total + ".tsv");
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+
+    private record Weighted(String key, Path path, long millis) {
+    }
+}
@@ -0,0 +1,67 @@
+package runner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated pass/fail outcome of a suite run.
+ */
+public class SuiteResult {
+
+    private final List<Entry> entries = Collections.synchronizedList(new ArrayList<>());
+    private long wallClockMillis;
+
+    public void record(String scriptName, boolean passed, long durationMillis, String error) {
+        entries.add(new Entry(scriptName, passed, durationMillis, error));
+    }
+
+    public List<Entry> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    public long getPassedCount() {
+        return getEntries().stream().filter(Entry::passed).count();
+    }
+
+    public long getFailedCount() {
+        return getEntries().stream().filter(e -> !e.passed()).count();
+    }
+
+    public boolean allPassed() {
+        return getFailedCount() == 0;
+    }
+
+    public long getWallClockMillis() {
+        return wallClockMillis;
+    }
+
+    public void setWallClockMillis(long wallClockMillis) {
+        this.wallClockMillis = wallClockMillis;
+    }
+
+    public void printReport() {
+        List<Entry> snapshot = getEntries();
+        snapshot.sort((a, b) -> a.scriptName().compareTo(b.scriptName()));
+
+        System.out.println("\n======= SUITE REPORT =======");
+        for (Entry entry : snapshot) {
+            System.out.printf("%s %-40s %6d ms%s%n",
+                    entry.passed() ? "✅" : "❌",
+                    entry.scriptName(),
+                    entry.durationMillis(),
+                    entry.error() != null ? "  (" + entry.error() + ")" : "");
+        }
+
+        long cumulative = snapshot.stream().mapToLong(Entry::durationMillis).sum();
+        System.out.printf("%n🧮 Total: %d  ✅ Passed: %d  ❌ Failed: %d%n",
+                snapshot.size(), getPassedCount(), getFailedCount());
+        System.out.printf("⏱ Wall clock: %d ms (sum of test times: %d ms)%n", wallClockMillis, cumulative);
+        System.out.println("============================\n");
+    }
+
+    public record Entry(String scriptName, boolean passed, long durationMillis, String error) {
+    }
+}
@@ -0,0 +1,663 @@
+package runner;
+
+import data.DataDrivenCases;
+import data.ParameterizedTestCase;
+import driver.BrowserProfile;
+import driver.ProfiledDriverPools;
+import dto.Outcome;
+import dto.StepResultDto;
+import dto.TestCaseDto;
+import dto.TestResultDto;
+import http.CassetteTransport;
+import http.HttpTransport;
+import http.PooledHttpTransport;
+import http.TransportSettings;
+import metrics.MetricsRegistry;
+import metrics.MetricsSink;
+import parser.CompiledScriptCache;
+import parser.StepStream;
+import parser.TestCaseParser;
+import report.ResultWriter;
+import service.AsyncRestExecutor;
+import service.FailurePolicy;
+import service.RestRunResult;
+import service.TestCaseService;
+import util.FileDiscoveryUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Non-interactive suite mode: discovers every script in a resource folder and
+ * runs each one on its own virtual thread through an ExecutionEngine. The
+ * parallelism setting is the number of browser slots: UI scripts wait for a slot
+ * and lease a session from the WebDriverPool of their browser profile, while API
+ * scripts run without one. All API requests of a run go through one HttpTransport, chosen with
+ * {@link #transport(TransportSettings)} or the fsqs.http.* system properties, so
+ * connections are pooled across tests.
+ */
+public class SuiteRunner {
+
+    private final int parallelism;
+    private final ExecutionStyle style;
+    private boolean streaming;
+    private boolean batchedDom = Boolean.getBoolean("fsqs.dom.batched");
+    private boolean structuredRest = Boolean.getBoolean("fsqs.rest.structured");
+    private FailurePolicy failurePolicy = FailurePolicy.fromSystemProperties();
+    private int breakerThreshold = Integer.getInteger("fsqs.breaker.threshold", 5);
+    private HostCircuitBreaker breaker;
+    private Shard shard;
+    private Path timingsFile = ScriptTimings.DEFAULT_FILE;
+    private ScriptTimings timings;
+    private boolean useScriptCache = true;
+    private CompiledScriptCache scriptCache;
+    private boolean incremental;
+    private FingerprintStore fingerprints;
+    private MetricsSink metricsSink;
+    private ResultWriter resultWriter;
+    private TransportSettings transportSettings = TransportSettings.fromSystemProperties();
+    private HttpTransport http;
+
+    public SuiteRunner(int parallelism, ExecutionStyle style) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.style = style;
+    }
+
+    public SuiteRunner() {
+        this(Runtime.getRuntime().availableProcessors(), ExecutionStyle.STANDARD);
+    }
+
+    /**
+     * Standard-style scripts are executed while they are read instead of being
+     * parsed into a full TestCaseDto first. Useful for very long recorded scripts.
+     * Data-driven scripts are not expanded in this mode.
+     */
+    public SuiteRunner streaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * Fills consecutive "type" steps of standard UI scripts with one script call each
+     * run; see {@link TestCaseService#setBatchedDom(boolean)}.
+     */
+    public SuiteRunner batchedDom(boolean batchedDom) {
+        this.batchedDom = batchedDom;
+        return this;
+    }
+
+    /**
+     * Runs the requests of API scripts outside the rest style as child tasks of one
+     * scope per test; see {@link ExecutionEngine}.
+     */
+    public SuiteRunner structuredRest(boolean structuredRest) {
+        this.structuredRest = structuredRest;
+        return this;
+    }
+
+    /**
+     * Step retries and fail-fast for UI tests; see {@link FailurePolicy}.
+     */
+    public SuiteRunner failurePolicy(FailurePolicy failurePolicy) {
+        this.failurePolicy = failurePolicy;
+        return this;
+    }
+
+    /**
+     * Skips the tests of a host for a minute once this many of its tests in a row
+     * errored; see {@link HostCircuitBreaker}. 0 turns the breaker off. Defaults to
+     * the {@code fsqs.breaker.threshold} system property, or 5.
+     */
+    public SuiteRunner circuitBreaker(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Circuit breaker threshold must not be negative: " + threshold);
+        }
+        this.breakerThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Runs only this shard's part of the discovered scripts; see {@link Shard}.
+     */
+    public SuiteRunner shard(Shard shard) {
+        this.shard = shard;
+        return this;
+    }
+
+    /**
+     * Where per-script durations are read for shard balancing and recorded after each
+     * run. Every shard of a suite must read the same file for the split to add up;
+     * sharded runs leave it untouched and write {@link Shard#timingsFile} instead.
+     */
+    public SuiteRunner timings(Path timingsFile) {
+        this.timingsFile = timingsFile;
+        return this;
+    }
+
+    /**
+     * Scripts are loaded through the CompiledScriptCache in target/ by default, so
+     * unchanged scripts are not parsed again. Turn this off to always parse.
+     */
+    public SuiteRunner scriptCache(boolean useScriptCache) {
+        this.useScriptCache = useScriptCache;
+        return this;
+    }
+
+    /**
+     * Runs only the scripts that are new, changed, failed last time, or whose last
+     * run is older than a day, according to the FingerprintStore in target/.
+     */
+    public SuiteRunner incremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    /**
+     * Exports the global MetricsRegistry to this sink once the suite has finished.
+     * Defaults to the sink named by the {@code fsqs.metrics} system property, if set.
+     */
+    public SuiteRunner metricsSink(MetricsSink metricsSink) {
+        this.metricsSink = metricsSink;
+        return this;
+    }
+
+    /**
+     * Every test result is appended to this writer as soon as the test completes.
+     * The caller owns the writer and closes it after the run.
+     */
+    public SuiteRunner resultWriter(ResultWriter resultWriter) {
+        this.resultWriter = resultWriter;
+        return this;
+    }
+
+    /**
+     * Selects the HTTP transport (JDK or pooled httpclient5) and its connection
+     * limits and timeouts. One transport is created per run and closed after it.
+     */
+    public SuiteRunner transport(TransportSettings transportSettings) {
+        this.transportSettings = transportSettings;
+        return this;
+    }
+
+    /**
+     * Discovers scripts with FileDiscoveryUtil and runs them all.
+     */
+    public SuiteResult run(String resourceFolder, String extension) throws IOException {
+        return run(FileDiscoveryUtil.discoverTestFiles(resourceFolder, extension));
+    }
+
+    public SuiteResult run(List<Path> scripts) {
+        SuiteResult result = new SuiteResult();
+        if (scripts.isEmpty()) {
+            System.out.println("⚠ No test scripts to run.");
+            return result;
+        }
+
+        try {
+            timings = ScriptTimings.open(timingsFile);
+        } catch (IOException e) {
+            System.err.println("⚠ Could not read script timings, sharding by count: " + e.getMessage());
+            timings = ScriptTimings.empty(timingsFile);
+        }
+        if (shard != null) {
+            scripts = shard.select(scripts, timings);
+            if (scripts.isEmpty()) {
+                System.out.println("✅ Shard " + shard + " has no scripts to run.");
+                return result;
+            }
+        }
+
+        if (incremental) {
+            try {
+                fingerprints = FingerprintStore.open();
+                scripts = fingerprints.select(scripts);
+            } catch (IOException e) {
+                System.err.println("⚠ Could not read fingerprints, running everything: " + e.getMessage());
+                fingerprints = null;
+            }
+            if (scripts.isEmpty()) {
+                System.out.println("✅ Every script is up to date; nothing to run.");
+                return result;
+            }
+        }
+
+        scriptCache = useScriptCache ? CompiledScriptCache.open() : null;
+        try (HttpTransport transport = HttpTransport.create(transportSettings)) {
+            http = transport;
+            System.out.println("🌐 HTTP transport: " + transportSettings);
+            if (style == ExecutionStyle.REST) {
+                runRestAsync(scripts, result);
+            } else {
+                runOnEngine(scripts, result);
+            }
+            HttpTransport wire = transport;
+            if (transport instanceof CassetteTransport cassette) {
+                System.out.println("📼 " + cassette.summary());
+                wire = cassette.getDelegate();
+            }
+            if (wire instanceof PooledHttpTransport pooled) {
+                System.out.println("🔌 Connection pool: " + pooled.poolSummary());
+            }
+        } finally {
+            http = null;
+        }
+        saveScriptCache();
+        saveFingerprints();
+        saveTimings();
+
+        MetricsRegistry.global().timer("fsqs_suite", "style", style.name().toLowerCase(Locale.ROOT))
+                .record(result.getWallClockMillis() * 1_000_000);
+        exportMetrics();
+        return result;
+    }
+
+    private TestCaseDto load(Path script) throws IOException {
+        return scriptCache != null ? scriptCache.load(script) : new TestCaseParser().loadFromPath(script);
+    }
+
+    private void saveScriptCache() {
+        if (scriptCache == null) return;
+        try {
+            scriptCache.save();
+            System.out.println(scriptCache.summary());
+        } catch (IOException e) {
+            System.err.println("⚠ Could not save script cache: " + e.getMessage());
+        }
+    }
+
+    private void saveFingerprints() {
+        if (fingerprints == null) return;
+        try {
+            fingerprints.save();
+        } catch (IOException e) {
+            System.err.println("⚠ Could not save fingerprints: " + e.getMessage());
+        }
+    }
+
+    private void saveTimings() {
+        if (timings == null) return;
+        try {
+            if (shard == null) {
+                timings.save();
+            } else {
+                Path shardFile = shard.timingsFile(timingsFile);
+                timings.save(shardFile);
+                System.out.println("⏱ Shard timings: " + shardFile + " (merge them into " + timingsFile + ")");
+            }
+        } catch (IOException e) {
+            System.err.println("⚠ Could not save script timings: " + e.getMessage());
+        }
+    }
+
+    private void exportMetrics() {
+        MetricsSink sink = metricsSink;
+        if (sink == null) {
+            String spec = System.getProperty("fsqs.metrics");
+            if (spec == null || spec.isBlank()) return;
+            sink = MetricsSink.fromSpec(spec);
+        }
+        try {
+            sink.export(MetricsRegistry.global());
+        } catch (IOException e) {
+            System.err.println("⚠ Could not export metrics: " + e.getMessage());
+        }
+    }
+
+    private void runOnEngine(List<Path> scripts, SuiteResult result) {
+
+        int slots = Math.min(parallelism, scripts.size());
+        System.out.printf("🚀 Running %d scripts on virtual threads with %d browser slots (%s)%n",
+                scripts.size(), slots, style);
+
+        ProfiledDriverPools drivers = new ProfiledDriverPools(slots);
+        TestCaseService service = new TestCaseService(drivers.poolFor(BrowserProfile.defaults()), http);
+        service.setProfilePools(drivers);
+        service.setBatchedDom(batchedDom);
+        service.setFailurePolicy(failurePolicy);
+        breaker = breakerThreshold > 0 ? new HostCircuitBreaker(breakerThreshold, Duration.ofMinutes(1)) : null;
+        long start = System.nanoTime();
+
+        try (ExecutionEngine engine = new ExecutionEngine(service, slots, structuredRest)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Path script : scripts) {
+                futures.add(engine.submit(() -> {
+                    runOne(engine, service, script, result);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // runOne records its own failures; anything here is a bug in the task itself
+                    System.err.println("❌ Test task crashed: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("❌ Suite run interrupted.");
+        } finally {
+            drivers.close();
+        }
+
+        result.setWallClockMillis((System.nanoTime() - start) / 1_000_000);
+        drivers.printReport();
+        if (breaker != null && breaker.getSkippedCount() > 0) {
+            System.out.println("🔌 Circuit breaker skipped " + breaker.getSkippedCount() + " tests: " + breaker.summary());
+        }
+    }
+
+    /**
+     * REST suites are network-bound, so instead of parking one worker thread per
+     * request they run on AsyncRestExecutor over the run's shared HttpTransport.
+     */
+    private void runRestAsync(List<Path> scripts, SuiteResult result) {
+        System.out.printf("🚀 Running %d REST scripts asynchronously (max %d in flight)%n", scripts.size(), parallelism);
+        long start = System.nanoTime();
+
+        List<Path> loaded = new ArrayList<>();
+        List<TestCaseDto> testCases = new ArrayList<>();
+        List<Path> dataDriven = new ArrayList<>();
+        for (Path script : scripts) {
+            String name = script.getFileName().toString();
+            try {
+                TestCaseDto testCase = load(script);
+                if (ParameterizedTestCase.isDataDriven(testCase)) {
+                    dataDriven.add(script);
+                } else {
+                    testCases.add(testCase);
+                    loaded.add(script);
+                }
+            } catch (IOException e) {
+                result.record(name, false, 0, e.getMessage());
+                report(failedToLoad(name, e));
+            }
+        }
+
+        try {
+            AsyncRestExecutor async = new AsyncRestExecutor(http, parallelism, false);
+            List<RestRunResult> runs = async.runAll(testCases);
+            long requests = 0;
+            long totalNanos = 0;
+            long maxNanos = 0;
+            for (int i = 0; i < runs.size(); i++) {
+                RestRunResult run = runs.get(i);
+                Path script = loaded.get(i);
+                String name = script.getFileName().toString();
+                result.record(name, run.passed(), run.durationNanos() / 1_000_000, run.error());
+                report(toTestResult(name, run));
+                remember(script, FingerprintStore.hostOf(testCases.get(i)), run.passed(), run.durationNanos() / 1_000_000);
+                for (RestRunResult.RequestTiming timing : run.timings()) {
+                    requests++;
+                    totalNanos += timing.latencyNanos();
+                    maxNanos = Math.max(maxNanos, timing.latencyNanos());
+                }
+            }
+            if (requests > 0) {
+                System.out.printf("🌐 %d requests, avg %.1f ms, max %.1f ms%n",
+                        requests, totalNanos / 1e6 / requests, maxNanos / 1e6);
+            }
+
+            for (Path script : dataDriven) {
+                String name = script.getFileName().toString();
+                try {
+                    runRows(script, load(script), result, row -> async.runAsync(row).thenApply(run -> toTestResult(name, run)));
+                } catch (IOException e) {
+                    result.record(name, false, 0, e.getMessage());
+                    report(failedToLoad(name, e));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("❌ Suite run interrupted.");
+        }
+
+        result.setWallClockMillis((System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void runOne(ExecutionEngine engine, TestCaseService service, Path script, SuiteResult result) {
+        String name = script.getFileName().toString();
+        long start = System.nanoTime();
+        TestResultDto testResult;
+        String host = null;
+
+        try {
+            StepStream steps = streaming && style == ExecutionStyle.STANDARD ? streamUnlessDataDriven(script) : null;
+            if (steps != null) {
+                // The script is not read ahead, so assume it may need a browser
+                try {
+                    testResult = engine.withBrowserSlot(() -> service.executeStreaming(steps));
+                } catch (InterruptedException e) {
+                    steps.close();
+                    throw e;
+                }
+            } else {
+                TestCaseDto testCase = load(script);
+                if (ParameterizedTestCase.isDataDriven(testCase)) {
+                    runRows(script, testCase, result, row -> submitRow(engine, row));
+                    return;
+                }
+                host = FingerprintStore.hostOf(testCase);
+                testResult = executeGuarded(engine, testCase);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            testResult = failedToLoad(name, e);
+            testResult.setError("Interrupted");
+        } catch (IOException e) {
+            testResult = failedToLoad(name, e);
+        } catch (RuntimeException e) {
+            testResult = failedToLoad(name, e);
+            testResult.setError(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        testResult.setSource(name);
+        result.record(name, testResult.isPassed(), millis, testResult.isPassed() ? null : testResult.getFailureMessage());
+        report(testResult);
+        remember(script, host, testResult.isPassed(), millis);
+    }
+
+    /**
+     * Opens the script as a step stream, or returns null for a data-driven script: its
+     * steps hold {@code ${var}} placeholders that are only bound row by row, so it goes
+     * through {@link #runRows} like in a non-streaming run.
+     */
+    private static StepStream streamUnlessDataDriven(Path script) throws IOException {
+        StepStream steps = new TestCaseParser().openStream(script);
+        try {
+            // Reading the first step reads every header line before it
+            steps.hasNext();
+        } catch (RuntimeException e) {
+            steps.close();
+            throw e;
+        }
+        if (ParameterizedTestCase.isDataDriven(steps.header())) {
+            steps.close();
+            return null;
+        }
+        return steps;
+    }
+
+    /**
+     * Runs one test case per data row. Rows are read and bound only as earlier rows
+     * finish, so at most {@link #rowsInFlight()} bound cases exist at any time, while
+     * still keeping every core (and every browser slot) busy.
+     */
+    private void runRows(Path script, TestCaseDto template, SuiteResult result,
+                         Function<TestCaseDto, CompletableFuture<TestResultDto>> runRow) throws InterruptedException {
+        String name = script.getFileName().toString();
+        long start = System.nanoTime();
+        Semaphore inFlight = new Semaphore(rowsInFlight());
+        Phaser pending = new Phaser(1);
+        AtomicBoolean allPassed = new AtomicBoolean(true);
+
+        try (DataDrivenCases rows = DataDrivenCases.open(template, script.getParent())) {
+            System.out.printf("📊 %s: one run per row of %s%n", name, rows.getDataFile());
+            while (rows.hasNext()) {
+                inFlight.acquire();
+                TestCaseDto row;
+                try {
+                    row = rows.next();
+                } catch (IllegalArgumentException e) {
+                    inFlight.release();
+                    allPassed.set(false);
+                    String rowName = name + " [row " + rows.getRowCount() + "]";
+                    result.record(rowName, false, 0, e.getMessage());
+                    report(failedToLoad(rowName, e));
+                    continue;
+                }
+
+                String rowName = name + " [row " + rows.getRowCount() + "]";
+                CompletableFuture<TestResultDto> run;
+                pending.register();
+                try {
+                    run = runRow.apply(row);
+                } catch (RuntimeException e) {
+                    // e.g. the engine rejected the row; nothing will arrive for it
+                    inFlight.release();
+                    pending.arriveAndDeregister();
+                    throw e;
+                }
+                run.whenComplete((testResult, error) -> {
+                    try {
+                        TestResultDto rowResult = error == null ? testResult : failedToLoad(rowName, asException(error));
+                        rowResult.setSource(name);
+                        long millis = rowResult.getDurationNanos() / 1_000_000;
+                        result.record(rowName, rowResult.isPassed(), millis,
+                                rowResult.isPassed() ? null : rowResult.getFailureMessage());
+                        report(rowResult);
+                        if (!rowResult.isPassed()) allPassed.set(false);
+                    } finally {
+                        inFlight.release();
+                        pending.arriveAndDeregister();
+                    }
+                });
+            }
+            pending.arriveAndAwaitAdvance();
+            System.out.printf("📊 %s: %d rows in %d ms%n", name, rows.getRowCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            // Rows already started still report before the interrupt is passed on
+            pending.arriveAndAwaitAdvance();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            // Unreadable or malformed data file; rows already started still finish
+            pending.arriveAndAwaitAdvance();
+            allPassed.set(false);
+            result.record(name, false, 0, StepResultDto.messageOf(e));
+            report(failedToLoad(name, e));
+        }
+
+        remember(script, FingerprintStore.hostOf(template), allPassed.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private CompletableFuture<TestResultDto> submitRow(ExecutionEngine engine, TestCaseDto row) {
+        CompletableFuture<TestResultDto> done = new CompletableFuture<>();
+        engine.submit(() -> {
+            try {
+                done.complete(executeGuarded(engine, row));
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+            return null;
+        });
+        return done;
+    }
+
+    /**
+     * Runs the test unless the circuit breaker has given up on its host, and feeds
+     * the outcome back to the breaker.
+     */
+    private TestResultDto executeGuarded(ExecutionEngine engine, TestCaseDto testCase) throws InterruptedException {
+        String host = FingerprintStore.hostOf(testCase);
+        if (breaker == null) {
+            return engine.execute(testCase, style);
+        }
+        if (!breaker.allow(host)) {
+            return circuitOpen(testCase.getFeatureName(), style, host);
+        }
+        boolean errored = true;
+        try {
+            TestResultDto testResult = engine.execute(testCase, style);
+            errored = testResult.getOutcome() == Outcome.ERROR;
+            return testResult;
+        } finally {
+            breaker.record(host, errored);
+        }
+    }
+
+    /**
+     * A test the breaker turned away: one skipped placeholder step, so writers report
+     * it as skipped rather than as an error.
+     */
+    static TestResultDto circuitOpen(String name, ExecutionStyle style, String host) {
+        TestResultDto skipped = new TestResultDto(name, style.name().toLowerCase(Locale.ROOT));
+        skipped.addStep(new StepResultDto(0, "circuit", host, Outcome.SKIPPED, 0,
+                "Skipped: " + host + " keeps failing (circuit open)"));
+        return skipped;
+    }
+
+    private int rowsInFlight() {
+        return Math.max(parallelism, Runtime.getRuntime().availableProcessors()) * 4;
+    }
+
+    private static Exception asException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception e ? e : new RuntimeException(cause);
+    }
+
+    private void remember(Path script, String host, boolean passed, long durationMillis) {
+        if (timings != null) {
+            timings.record(script, durationMillis);
+        }
+        if (fingerprints != null) {
+            fingerprints.record(script, host, passed, durationMillis);
+        }
+    }
+
+    private void report(TestResultDto testResult) {
+        if (resultWriter == null) return;
+        try {
+            resultWriter.write(testResult);
+        } catch (IOException e) {
+            System.err.println("⚠ Could not write result for " + testResult.getSource() + ": " + e.getMessage());
+        }
+    }
+
+    private static TestResultDto failedToLoad(String name, Exception e) {
+        TestResultDto testResult = new TestResultDto(name, null);
+        testResult.setSource(name);
+        testResult.setError(StepResultDto.messageOf(e));
+        return testResult;
+    }
+
+    /**
+     * Copies the step results of an async REST run; only a failure outside every
+     * step is reported against the test as a whole.
+     */
+    private static TestResultDto toTestResult(String name, RestRunResult run) {
+        TestResultDto testResult = new TestResultDto(run.featureName(), "rest");
+        testResult.setSource(name);
+        testResult.setDurationNanos(run.durationNanos());
+        run.steps().forEach(testResult::addStep);
+        if (!run.passed() && testResult.isPassed()) {
+            testResult.setError(run.error() != null ? run.error() : "REST test failed");
+        }
+        return testResult;
+    }
+}
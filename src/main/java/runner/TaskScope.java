@@ -0,0 +1,101 @@
+package runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Structured concurrency for a group of child tasks: every child runs on its own
+ * virtual thread, the scope cannot outlive the block that opened it, and the first
+ * child to fail cancels (interrupts) all of its siblings.
+ *
+ * This is the ShutdownOnFailure policy of the JDK's StructuredTaskScope, which is
+ * still a preview API in Java 21 and would otherwise need --enable-preview.
+ *
+ * <pre>
+ * try (TaskScope&lt;String&gt; scope = new TaskScope&lt;&gt;()) {
+ *     Future&lt;String&gt; a = scope.fork(() -&gt; ...);
+ *     Future&lt;String&gt; b = scope.fork(() -&gt; ...);
+ *     scope.join();          // throws the first failure
+ *     use(a.resultNow(), b.resultNow());
+ * }
+ * </pre>
+ */
+public class TaskScope<T> implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Future<T>> children = new ArrayList<>();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+    public Future<T> fork(Callable<T> task) {
+        if (firstFailure.get() != null) {
+            throw new IllegalStateException("Scope already failed; not forking more tasks");
+        }
+        Future<T> child = executor.submit(() -> {
+            try {
+                return task.call();
+            } catch (Throwable t) {
+                if (firstFailure.compareAndSet(null, t)) {
+                    cancelAll();
+                }
+                throw t;
+            }
+        });
+        synchronized (children) {
+            children.add(child);
+        }
+        return child;
+    }
+
+    /**
+     * @return true once a child has failed; {@link #fork} refuses new tasks from then on
+     */
+    public boolean isFailed() {
+        return firstFailure.get() != null;
+    }
+
+    /**
+     * Waits for every child, then rethrows the first failure, if any.
+     */
+    public void join() throws InterruptedException, ExecutionException {
+        List<Future<T>> snapshot;
+        synchronized (children) {
+            snapshot = new ArrayList<>(children);
+        }
+        for (Future<T> child : snapshot) {
+            try {
+                child.get();
+            } catch (ExecutionException | CancellationException ignored) {
+                // reported through firstFailure below
+            }
+        }
+
+        Throwable failure = firstFailure.get();
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+    }
+
+    private void cancelAll() {
+        synchronized (children) {
+            for (Future<T> child : children) {
+                child.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Cancels anything still running and waits for it to stop.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+        executor.close();
+    }
+}
@@ -0,0 +1,138 @@
+package runner;
+
+import driver.BrowserProfile;
+import driver.ProfiledDriverPools;
+import dto.TestResultDto;
+import parser.CompiledScriptCache;
+import service.TestCaseService;
+import util.DiscoveryIndex;
+import util.FileDiscoveryUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a script folder and re-runs a script every time it is saved.
+ *
+ * Editors usually produce several events per save (truncate, write, rename), so a
+ * script only runs once its file has been quiet for {@code debounce}. A browser is
+ * started on the first UI run and then kept for the whole session, and saves of
+ * unchanged content are answered from the CompiledScriptCache without re-parsing.
+ */
+public class WatchRunner implements AutoCloseable {
+
+    public static final Path SOURCE_FOLDER = Path.of("src", "main", "resources", "testcases");
+
+    private final Path folder;
+    private final String extension;
+    private final ExecutionStyle style;
+    private final Duration debounce;
+
+    private final ProfiledDriverPools drivers = new ProfiledDriverPools(1);
+    private final TestCaseService service = new TestCaseService(drivers.poolFor(BrowserProfile.defaults()));
+    private final ExecutionEngine engine = new ExecutionEngine(service, 1, false);
+    private final CompiledScriptCache scriptCache = CompiledScriptCache.open();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "fsqs-watch-debounce");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private DiscoveryIndex index;
+    private DiscoveryIndex.Listener listener;
+
+    public WatchRunner(Path folder, String extension, ExecutionStyle style, Duration debounce) {
+        this.folder = folder;
+        this.extension = extension;
+        this.style = style;
+        this.debounce = debounce;
+        service.setProfilePools(drivers);
+    }
+
+    /**
+     * Watches the editable sources when run from a checkout, otherwise the classpath copy.
+     */
+    public static Path defaultFolder() {
+        if (Files.isDirectory(SOURCE_FOLDER)) return SOURCE_FOLDER;
+        return FileDiscoveryUtil.resolveClasspathFolder("testcases");
+    }
+
+    /**
+     * Starts watching; returns immediately. Runs happen on the engine's virtual threads.
+     */
+    public void start() throws IOException {
+        if (folder == null) {
+            throw new IOException("❌ No script folder to watch");
+        }
+        index = FileDiscoveryUtil.indexFor(folder);
+        if (!index.isWatching()) {
+            throw new IOException("❌ File watching is not available for " + folder);
+        }
+        listener = this::onChange;
+        index.addListener(listener);
+        System.out.printf("👀 Watching %d %s scripts in %s (%s)%n",
+                index.files(extension).size(), extension, index.getRoot(), style);
+    }
+
+    private void onChange(Path file, DiscoveryIndex.Change change) {
+        if (!file.getFileName().toString().endsWith(extension)) return;
+
+        if (change == DiscoveryIndex.Change.DELETED) {
+            ScheduledFuture<?> cancelled = pending.remove(file);
+            if (cancelled != null) cancelled.cancel(false);
+            System.out.println("🗑 " + file.getFileName() + " deleted");
+            return;
+        }
+
+        pending.compute(file, (path, previous) -> {
+            if (previous != null) previous.cancel(false);
+            return scheduler.schedule(() -> {
+                pending.remove(path);
+                engine.submit(() -> {
+                    rerun(path);
+                    return null;
+                });
+            }, debounce.toMillis(), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void rerun(Path script) {
+        String name = script.getFileName().toString();
+        System.out.println("\n🔄 " + name + " changed, re-running...");
+        try {
+            TestResultDto result = engine.execute(scriptCache.load(script), style);
+            System.out.printf("%s %s in %d ms%s%n",
+                    result.isPassed() ? "✅" : "❌", name, result.getDurationNanos() / 1_000_000,
+                    result.isPassed() ? "" : "  (" + result.getFailureMessage() + ")");
+        } catch (IOException e) {
+            System.out.println("❌ Could not load " + name + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.out.println("❌ " + name + " crashed: " + e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (index != null && listener != null) {
+            index.removeListener(listener);
+        }
+        scheduler.shutdownNow();
+        engine.close();
+        drivers.close();
+        try {
+            scriptCache.save();
+        } catch (IOException e) {
+            System.err.println("⚠ Could not save script cache: " + e.getMessage());
+        }
+    }
+}
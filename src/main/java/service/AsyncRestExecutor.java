@@ -0,0 +1,176 @@
+package service;
+
+import assertion.ResponseCheck;
+import assertion.ResponseExpectations;
+import assertion.StreamingResponseHandler;
+import dto.StepDto;
+import dto.StepResultDto;
+import dto.TestCaseDto;
+import http.HttpTransport;
+import http.JdkHttpTransport;
+import metrics.MetricsRegistry;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Non-blocking REST runner built on HttpClient.sendAsync.
+ *
+ * One HttpTransport is shared by every test case, so connections are reused across
+ * the whole run. Test cases run concurrently (up to {@code maxConcurrentTests}); within a
+ * test case each request and the assertion steps that follow it form a segment.
+ * Segments run in script order by default. With {@code pipelined} they are issued
+ * concurrently, which is safe whenever the requests do not depend on each other's
+ * side effects. Either way every assertion checks the response of the request
+ * directly before it, exactly as runRestTestCase does. Bodies are streamed through
+ * the assertions and never buffered whole.
+ */
+public class AsyncRestExecutor {
+
+    private final HttpTransport transport;
+    private final boolean pipelined;
+    private final Semaphore testPermits;
+
+    public AsyncRestExecutor(HttpTransport transport, int maxConcurrentTests, boolean pipelined) {
+        if (maxConcurrentTests < 1) {
+            throw new IllegalArgumentException("maxConcurrentTests must be at least 1");
+        }
+        this.transport = transport;
+        this.pipelined = pipelined;
+        this.testPermits = new Semaphore(maxConcurrentTests);
+    }
+
+    /**
+     * Sends through a client the caller built and keeps owning.
+     */
+    public AsyncRestExecutor(HttpClient client, int maxConcurrentTests, boolean pipelined) {
+        this(new JdkHttpTransport(client), maxConcurrentTests, pipelined);
+    }
+
+    /**
+     * Runs every test case and waits for all of them. Results are in input order.
+     */
+    public List<RestRunResult> runAll(List<TestCaseDto> testCases) throws InterruptedException {
+        List<CompletableFuture<RestRunResult>> futures = new ArrayList<>(testCases.size());
+        for (TestCaseDto testCase : testCases) {
+            testPermits.acquire();
+            futures.add(runAsync(testCase).whenComplete((r, e) -> testPermits.release()));
+        }
+
+        List<RestRunResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<RestRunResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Starts one test case without blocking. The returned future never completes
+     * exceptionally; failures are reported in the result.
+     */
+    public CompletableFuture<RestRunResult> runAsync(TestCaseDto testCase) {
+        long start = System.nanoTime();
+        List<RestRunResult.RequestTiming> timings = Collections.synchronizedList(new ArrayList<>());
+        List<StepDto> scriptSteps = testCase.getSteps() != null ? testCase.getSteps() : List.of();
+        List<List<StepDto>> segments = RestRequests.segments(scriptSteps);
+        // Each segment fills its own slots; slots of segments that never ran stay null
+        StepResultDto[] steps = new StepResultDto[scriptSteps.size()];
+
+        CompletableFuture<Void> run;
+        int offset = 0;
+        if (pipelined) {
+            List<CompletableFuture<Void>> started = new ArrayList<>(segments.size());
+            for (List<StepDto> segment : segments) {
+                started.add(runSegment(segment, offset, timings, steps));
+                offset += segment.size();
+            }
+            run = CompletableFuture.allOf(started.toArray(CompletableFuture[]::new));
+        } else {
+            run = CompletableFuture.completedFuture(null);
+            for (List<StepDto> segment : segments) {
+                int segmentOffset = offset;
+                run = run.thenCompose(ignored -> runSegment(segment, segmentOffset, timings, steps));
+                offset += segment.size();
+            }
+        }
+
+        return run.handle((ignored, error) -> {
+            List<RestRunResult.RequestTiming> snapshot;
+            synchronized (timings) {
+                snapshot = List.copyOf(timings);
+            }
+            List<StepResultDto> stepResults = new ArrayList<>(steps.length);
+            for (int i = 0; i < steps.length; i++) {
+                stepResults.add(steps[i] != null ? steps[i] : StepResultDto.skipped(i, scriptSteps.get(i)));
+            }
+            long duration = System.nanoTime() - start;
+            MetricsRegistry.global().timer("fsqs_test", "style", "rest", "outcome", error == null ? "passed" : "failed")
+                    .record(duration);
+            if (error == null) {
+                return new RestRunResult(testCase.getFeatureName(), true, null, duration, snapshot, stepResults);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return new RestRunResult(testCase.getFeatureName(), false, cause.getMessage(), duration, snapshot, stepResults);
+        });
+    }
+
+    /**
+     * @param offset index of the segment's first step; its results go to {@code steps} from there
+     */
+    private CompletableFuture<Void> runSegment(List<StepDto> segment, int offset,
+                                               List<RestRunResult.RequestTiming> timings, StepResultDto[] steps) {
+        StepDto head = segment.get(0);
+        ResponseExpectations expectations = ResponseExpectations.of(segment);
+        CompletableFuture<ResponseCheck> check;
+        long start = System.nanoTime();
+
+        HttpRequest request;
+        try {
+            request = RestRequests.toRequest(head);
+        } catch (IllegalArgumentException e) {
+            fill(steps, RestSegments.failed(segment, offset, 0, e));
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (request == null) {
+            if (!RestRequests.isAssertion(head)) {
+                System.out.println("⚠️ Unknown API action: " + head.getAction());
+            }
+            check = CompletableFuture.completedFuture(ResponseCheck.withoutResponse(expectations));
+        } else {
+            check = transport.sendAsync(request, new StreamingResponseHandler(expectations))
+                    .thenApply(response -> {
+                        RestRequests.recordResponse(MetricsRegistry.global(), request.method(), response.statusCode(), start);
+                        timings.add(new RestRunResult.RequestTiming(request.method(), request.uri().toString(),
+                                response.statusCode(), System.nanoTime() - start));
+                        return response.body();
+                    });
+        }
+
+        return check.handle((result, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                fill(steps, RestSegments.failed(segment, offset, System.nanoTime() - start, cause));
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            fill(steps, RestSegments.checked(segment, offset, request != null, result, System.nanoTime() - start));
+            int failed = result.firstFailure();
+            if (failed >= 0) {
+                throw new AssertionError(result.getVerdicts().get(failed).message());
+            }
+            return null;
+        });
+    }
+
+    private static void fill(StepResultDto[] steps, List<StepResultDto> results) {
+        for (StepResultDto result : results) {
+            steps[result.getIndex()] = result;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package service;
+
+import dto.StepDto;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills a run of consecutive "type" steps with one executeScript call instead of a
+ * lookup, clear() and sendKeys() round-trip per field.
+ *
+ * Fields are located in the browser with the same probe order as LocatorCache (id,
+ * name, css, xpath, class name) and set through the native value setter, followed by
+ * bubbling input and change events, so framework-bound inputs see the new value. No
+ * key events are fired: clicks, key presses and assertions always run per step, and
+ * a field the script cannot fill the way typing would (missing, hidden, disabled, or
+ * anything but a textarea or a text-like input, e.g. a checkbox or date input) ends
+ * the batch, so it and the rest of the run fall back to the normal per-step path,
+ * which waits for it.
+ */
+final class DomBatch {
+
+    /**
+     * WebDriver calls of one per-step "type": at least one findElement, clear and sendKeys.
+     */
+    static final int ROUND_TRIPS_PER_FIELD = 3;
+
+    private static final String FILL_SCRIPT = """
+            const fields = arguments[0];
+            function find(locator) {
+              let el = document.getElementById(locator);
+              if (el) return el;
+              el = document.getElementsByName(locator)[0];
+              if (el) return el;
+              try { el = document.querySelector(locator); if (el) return el; } catch (e) {}
+              try {
+                el = document.evaluate(locator, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                if (el) return el;
+              } catch (e) {}
+              if (!/\\s/.test(locator)) return document.getElementsByClassName(locator)[0] || null;
+              return null;
+            }
+            const textTypes = ['text', 'search', 'email', 'url', 'tel', 'password', 'number'];
+            function visible(el) {
+              return el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden';
+            }
+            let filled = 0;
+            for (const [locator, value] of fields) {
+              const el = find(locator);
+              const proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                  : el instanceof HTMLInputElement && textTypes.includes(el.type) ? HTMLInputElement.prototype : null;
+              if (!proto || el.disabled || el.readOnly || !visible(el)) break;
+              el.focus();
+              Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);
+              el.dispatchEvent(new Event('input', { bubbles: true }));
+              el.dispatchEvent(new Event('change', { bubbles: true }));
+              filled++;
+            }
+            return filled;
+            """;
+
+    private DomBatch() {
+    }
+
+    /**
+     * A plain-locator "type" step; alt= and title locators keep their own lookup rules.
+     */
+    static boolean isBatchable(StepDto step) {
+        if (step.getAction() == null || !step.getAction().trim().equalsIgnoreCase("type")) return false;
+        String locator = step.getProperty();
+        String locatorType = step.getLocatorType() != null ? step.getLocatorType() : "";
+        return locator != null && !locator.isBlank()
+                && !locator.startsWith("alt=") && !locator.contains("title") && !locatorType.contains("title");
+    }
+
+    /**
+     * @return the index after the run of batchable steps starting at {@code from}
+     */
+    static int runEnd(List<StepDto> steps, int from) {
+        int end = from;
+        while (end < steps.size() && isBatchable(steps.get(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Fills the steps' fields in order in one script call.
+     *
+     * @return how many leading steps were filled; the rest must run per step
+     */
+    static int fill(JavascriptExecutor js, List<StepDto> steps) {
+        List<List<String>> fields = new ArrayList<>(steps.size());
+        for (StepDto step : steps) {
+            fields.add(List.of(step.getProperty(), step.getValue() != null ? step.getValue() : ""));
+        }
+        Object filled = js.executeScript(FILL_SCRIPT, fields);
+        return filled instanceof Number n ? Math.min(n.intValue(), steps.size()) : 0;
+    }
+
+    static long roundTripsSaved(int filled) {
+        return (long) filled * ROUND_TRIPS_PER_FIELD - 1;
+    }
+}
@@ -0,0 +1,134 @@
+package service;
+
+import metrics.MetricsRegistry;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * How the UI runner reacts to a failing step. Every value can be set with a system
+ * property:
+ * <ul>
+ *   <li>{@code fsqs.retry.max}       – retries of a step after a transient error (default 2)</li>
+ *   <li>{@code fsqs.retry.backoffMs} – wait before the first retry, doubled for each further one (default 200)</li>
+ *   <li>{@code fsqs.failFast}        – skip the rest of a test after a hard failure (default true)</li>
+ * </ul>
+ * Transient errors are the ones a re-render or animation causes: a stale element, or
+ * one that is covered or not yet interactable. Anything else, or a transient error
+ * that outlives its retries, is a hard failure.
+ */
+public class FailurePolicy {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.global();
+
+    private int maxRetries = 2;
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+    private boolean failFast = true;
+
+    /**
+     * A step that may be attempted more than once.
+     */
+    @FunctionalInterface
+    public interface Attempt {
+        void run() throws Exception;
+    }
+
+    public static FailurePolicy fromSystemProperties() {
+        FailurePolicy policy = new FailurePolicy();
+        policy.maxRetries(Integer.getInteger("fsqs.retry.max", policy.maxRetries));
+        policy.initialBackoff(Duration.ofMillis(Long.getLong("fsqs.retry.backoffMs", policy.initialBackoff.toMillis())));
+        policy.failFast(Boolean.parseBoolean(System.getProperty("fsqs.failFast", Boolean.toString(policy.failFast))));
+        return policy;
+    }
+
+    /**
+     * No retries, and every step runs whatever happened before: the runner's
+     * behaviour before failure policies existed.
+     */
+    public static FailurePolicy runEveryStep() {
+        return new FailurePolicy().maxRetries(0).failFast(false);
+    }
+
+    public FailurePolicy maxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative: " + maxRetries);
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public FailurePolicy initialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+        return this;
+    }
+
+    public FailurePolicy maxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+        return this;
+    }
+
+    public FailurePolicy failFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public boolean isTransient(Throwable error) {
+        return error instanceof StaleElementReferenceException
+                || error instanceof ElementNotInteractableException
+                || error instanceof MoveTargetOutOfBoundsException;
+    }
+
+    /**
+     * Wait before retry number {@code retry} (1-based): the initial backoff, doubled
+     * per retry, capped at the maximum.
+     */
+    public Duration backoff(int retry) {
+        long millis = initialBackoff.toMillis() << Math.min(retry - 1, 20);
+        return Duration.ofMillis(Math.min(millis, maxBackoff.toMillis()));
+    }
+
+    /**
+     * Runs the step, retrying it after transient errors. Each retry is counted in
+     * {@code fsqs_step_retries_total}.
+     *
+     * @throws Exception the step's last error once it is hard or out of retries
+     */
+    public void execute(String action, Attempt step) throws Exception {
+        for (int retry = 1; ; retry++) {
+            try {
+                step.run();
+                return;
+            } catch (Exception e) {
+                if (retry > maxRetries || !isTransient(e)) throw e;
+
+                METRICS.counter("fsqs_step_retries_total",
+                        "action", action.toLowerCase(Locale.ROOT), "error", e.getClass().getSimpleName()).increment();
+                Duration wait = backoff(retry);
+                System.out.printf("🔁 Retrying '%s' in %d ms after %s%n", action, wait.toMillis(), e.getClass().getSimpleName());
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d retries from %d ms, fail-fast %s", maxRetries, initialBackoff.toMillis(), failFast ? "on" : "off");
+    }
+}
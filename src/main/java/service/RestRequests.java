@@ -0,0 +1,97 @@
+package service;
+
+import assertion.Expectation;
+import assertion.ResponseCheck;
+import dto.StepDto;
+import metrics.MetricsRegistry;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds java.net.http requests from API steps, shared by every REST runner.
+ */
+public final class RestRequests {
+
+    private RestRequests() {
+    }
+
+    public static boolean isRequest(StepDto step) {
+        String action = step.getAction().toUpperCase();
+        return action.equals("GET") || action.equals("POST");
+    }
+
+    /**
+     * ASSERT_BODY, ASSERT_STATUS, ASSERT_HEADER or ASSERT_JSON; see assertion.Expectation.
+     */
+    public static boolean isAssertion(StepDto step) {
+        return Expectation.isAssertion(step);
+    }
+
+    /**
+     * @return the request for a GET/POST step, or null for any other action
+     * @throws IllegalArgumentException if the step's URL is malformed
+     */
+    public static HttpRequest toRequest(StepDto step) {
+        switch (step.getAction().toUpperCase()) {
+            case "GET":
+                return HttpRequest.newBuilder()
+                        .uri(URI.create(step.getProperty()))
+                        .GET()
+                        .build();
+            case "POST":
+                return HttpRequest.newBuilder()
+                        .uri(URI.create(step.getProperty()))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(step.getValue()))
+                        .build();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Splits API steps into segments: one request followed by the assertion steps
+     * that check its response. Assertions before any request form their own segment.
+     */
+    public static List<List<StepDto>> segments(List<StepDto> steps) {
+        List<List<StepDto>> segments = new ArrayList<>();
+        List<StepDto> current = null;
+        for (StepDto step : steps) {
+            if (!isAssertion(step) || current == null) {
+                current = new ArrayList<>();
+                segments.add(current);
+            }
+            current.add(step);
+        }
+        return segments;
+    }
+
+    /**
+     * Counts the response by method and status code and records its latency.
+     */
+    public static void recordResponse(MetricsRegistry metrics, String method, int status, long sentNanos) {
+        String verb = method.toUpperCase();
+        metrics.counter("fsqs_http_requests_total", "method", verb, "status", Integer.toString(status)).increment();
+        metrics.recordSince(sentNanos, "fsqs_http_request", "method", verb);
+    }
+
+    /**
+     * Prints the status, size and the start of the body. {@code -Dfsqs.log.body=<chars>}
+     * sets how much of the body is shown (default 200; 0 hides it).
+     */
+    public static void logResponse(String method, ResponseCheck check) {
+        int limit = Integer.getInteger("fsqs.log.body", 200);
+        String preview = check.getPreview();
+        if (limit <= 0) {
+            System.out.printf("✅ %s %d (%d bytes)%n", method, check.getStatus(), check.getBodyBytes());
+            return;
+        }
+        if (preview.length() > limit) {
+            preview = preview.substring(0, limit) + "…";
+        }
+        System.out.printf("✅ %s %d (%d bytes) Response: %s%n", method, check.getStatus(), check.getBodyBytes(), preview);
+    }
+}
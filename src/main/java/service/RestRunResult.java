@@ -0,0 +1,23 @@
+package service;
+
+import dto.StepResultDto;
+
+import java.util.List;
+
+/**
+ * Outcome of one REST test case run by AsyncRestExecutor, with a result for every
+ * step of the script in step order, as TestCaseService.executeRest records them.
+ */
+public record RestRunResult(String featureName, boolean passed, String error, long durationNanos,
+                            List<RequestTiming> timings, List<StepResultDto> steps) {
+
+    /**
+     * Latency of a single HTTP exchange, from send to fully received body.
+     */
+    public record RequestTiming(String method, String uri, int status, long latencyNanos) {
+
+        public double latencyMillis() {
+            return latencyNanos / 1_000_000.0;
+        }
+    }
+}
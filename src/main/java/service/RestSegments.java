@@ -0,0 +1,124 @@
+package service;
+
+import assertion.ResponseCheck;
+import assertion.ResponseExpectations;
+import assertion.StreamingResponseHandler;
+import dto.StepDto;
+import dto.StepResultDto;
+import dto.TestResultDto;
+import http.HttpTransport;
+import metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs one segment of an API test (a request plus the assertion steps after it) on
+ * a blocking HttpTransport and records a StepResultDto for every step of the segment.
+ * Shared by the sequential, streaming and structured REST runners.
+ */
+public final class RestSegments {
+
+    private RestSegments() {
+    }
+
+    /**
+     * @param offset index of the segment's first step within the whole test
+     * @throws AssertionError if an assertion fails; later assertions are recorded as skipped
+     */
+    public static ResponseCheck run(HttpTransport transport, List<StepDto> segment, int offset, TestResultDto result)
+            throws IOException, InterruptedException {
+        StepDto head = segment.get(0);
+        ResponseExpectations expectations = ResponseExpectations.of(segment);
+        long start = System.nanoTime();
+
+        HttpRequest request;
+        ResponseCheck check;
+        try {
+            request = RestRequests.toRequest(head);
+            if (request == null) {
+                if (!RestRequests.isAssertion(head)) {
+                    System.out.println("⚠️ Unknown API action: " + head.getAction());
+                }
+                check = ResponseCheck.withoutResponse(expectations);
+            } else {
+                long sent = System.nanoTime();
+                check = transport.send(request, new StreamingResponseHandler(expectations)).body();
+                RestRequests.recordResponse(MetricsRegistry.global(), request.method(), check.getStatus(), sent);
+                RestRequests.logResponse(request.method(), check);
+            }
+        } catch (InterruptedException e) {
+            // cancelled, e.g. because a sibling segment failed first
+            skipped(segment, 0, offset).forEach(result::addStep);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            failed(segment, offset, System.nanoTime() - start, e).forEach(result::addStep);
+            throw e;
+        }
+
+        for (ResponseCheck.Verdict verdict : check.getVerdicts()) {
+            if (!verdict.passed()) break;
+            System.out.println("✅ " + verdict.message());
+        }
+        checked(segment, offset, request != null, check, System.nanoTime() - start).forEach(result::addStep);
+        int failed = check.firstFailure();
+        if (failed >= 0) {
+            throw new AssertionError(check.getVerdicts().get(failed).message());
+        }
+        return check;
+    }
+
+    /**
+     * Step results of a segment whose response has been checked: the request, then
+     * one per assertion, skipped after the first that did not hold.
+     *
+     * @param sent false when the segment had no request, e.g. leading assertions
+     */
+    static List<StepResultDto> checked(List<StepDto> segment, int offset, boolean sent, ResponseCheck check,
+                                       long requestNanos) {
+        List<StepResultDto> steps = new ArrayList<>(segment.size());
+        int first = 0;
+        if (sent || !RestRequests.isAssertion(segment.get(0))) {
+            StepResultDto requestResult = StepResultDto.passed(offset, segment.get(0), requestNanos);
+            requestResult.setResponseSnippet(check.getPreview());
+            steps.add(requestResult);
+            first = 1;
+        }
+
+        List<ResponseCheck.Verdict> verdicts = check.getVerdicts();
+        for (int i = 0; i < verdicts.size(); i++) {
+            ResponseCheck.Verdict verdict = verdicts.get(i);
+            StepDto step = segment.get(first + i);
+            if (verdict.passed()) {
+                steps.add(StepResultDto.passed(offset + first + i, step, 0));
+            } else {
+                StepResultDto failed = StepResultDto.failed(offset + first + i, step, 0, new AssertionError(verdict.message()));
+                failed.setResponseSnippet(check.getPreview());
+                steps.add(failed);
+                steps.addAll(skipped(segment, first + i + 1, offset));
+                break;
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Step results of a segment whose request could not be built or sent.
+     */
+    static List<StepResultDto> failed(List<StepDto> segment, int offset, long durationNanos, Throwable error) {
+        List<StepResultDto> steps = new ArrayList<>(segment.size());
+        steps.add(StepResultDto.failed(offset, segment.get(0), durationNanos, error));
+        steps.addAll(skipped(segment, 1, offset));
+        return steps;
+    }
+
+    static List<StepResultDto> skipped(List<StepDto> segment, int from, int offset) {
+        List<StepResultDto> steps = new ArrayList<>(segment.size());
+        for (int i = from; i < segment.size(); i++) {
+            steps.add(StepResultDto.skipped(offset + i, segment.get(i)));
+        }
+        return steps;
+    }
+}
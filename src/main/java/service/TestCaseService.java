@@ -1,206 +1,602 @@
 package service;
 
+import data.ParameterizedTestCase;
+import driver.BrowserProfile;
+import driver.ProfiledDriverPools;
+import driver.WebDriverPool;
 import dto.StepDto;
+import dto.StepResultDto;
 import dto.TestCaseDto;
+import dto.TestResultDto;
+import gherkin.GherkinEngine;
+import gherkin.ScenarioPlan;
+import http.HttpTransport;
+import metrics.MetricsRegistry;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import parser.StepStream;
 import util.ElementFinder;
+import util.WaitEngine;
 
 import java.io.FileWriter;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class TestCaseService {
 
-    public void runTestCase(TestCaseDto testCase) {
-        if (testCase == null || testCase.getSteps() == null || testCase.getSteps().isEmpty()) {
-            System.out.println("❌ No test case provided or it contains no steps.");
-            return;
+    private static final MetricsRegistry METRICS = MetricsRegistry.global();
+
+    private final WebDriverPool driverPool;
+    private final boolean ownsPool;
+    private final HttpTransport http;
+    private ProfiledDriverPools profilePools;
+    private boolean batchedDom = Boolean.getBoolean("fsqs.dom.batched");
+    private FailurePolicy failurePolicy = FailurePolicy.fromSystemProperties();
+
+    /**
+     * Creates a service with private single-session Chrome pools, one per browser
+     * profile its test cases ask for.
+     */
+    public TestCaseService() {
+        this.profilePools = new ProfiledDriverPools(1);
+        this.driverPool = profilePools.poolFor(BrowserProfile.defaults());
+        this.ownsPool = true;
+        this.http = HttpTransport.shared();
+    }
+
+    /**
+     * Creates a service that leases browser sessions from a shared pool.
+     * The caller stays responsible for closing the pool.
+     */
+    public TestCaseService(WebDriverPool driverPool) {
+        this(driverPool, HttpTransport.shared());
+    }
+
+    /**
+     * Like {@link #TestCaseService(WebDriverPool)}, with API steps sent through the
+     * given transport. The caller stays responsible for closing it.
+     */
+    public TestCaseService(WebDriverPool driverPool, HttpTransport http) {
+        this.driverPool = driverPool;
+        this.ownsPool = false;
+        this.http = http;
+    }
+
+    public HttpTransport getHttpTransport() {
+        return http;
+    }
+
+    /**
+     * Test cases with a "profile" property lease their browser from these pools;
+     * without them every test uses the service's own pool. The caller stays
+     * responsible for closing the pools.
+     */
+    public void setProfilePools(ProfiledDriverPools profilePools) {
+        this.profilePools = profilePools;
+    }
+
+    public FailurePolicy getFailurePolicy() {
+        return failurePolicy;
+    }
+
+    /**
+     * Sets step retries and fail-fast for UI tests. Defaults to the fsqs.retry.* and
+     * fsqs.failFast system properties.
+     */
+    public void setFailurePolicy(FailurePolicy failurePolicy) {
+        this.failurePolicy = failurePolicy;
+    }
+
+    public boolean isBatchedDom() {
+        return batchedDom;
+    }
+
+    /**
+     * In batched DOM mode consecutive "type" steps of a standard test are filled with
+     * one script call (see {@link DomBatch}) instead of several WebDriver calls each.
+     * Defaults to the {@code fsqs.dom.batched} system property.
+     */
+    public void setBatchedDom(boolean batchedDom) {
+        this.batchedDom = batchedDom;
+    }
+
+    /**
+     * Quits any browser sessions this service created itself.
+     */
+    public void shutdown() {
+        if (ownsPool) {
+            profilePools.close();
         }
+    }
 
-        boolean isApiTest = testCase.getSteps().stream().anyMatch(step ->
-                step.getAction().equalsIgnoreCase("GET") ||
-                        step.getAction().equalsIgnoreCase("POST") ||
-                        step.getAction().equalsIgnoreCase("ASSERT_BODY")
-        );
+    /**
+     * Runs a standard UI test case (or delegates to the REST runner for API steps).
+     *
+     * @return true if every step passed
+     */
+    public boolean runTestCase(TestCaseDto testCase) {
+        return execute(testCase).isPassed();
+    }
 
-        if (isApiTest) {
-            runRestTestCase(testCase);
-            return;
+    /**
+     * Runs a standard UI test case (or an API one) and records every step. Transient
+     * step errors are retried, and a hard failure skips the remaining steps unless
+     * the {@link FailurePolicy} turns fail-fast off.
+     */
+    public TestResultDto execute(TestCaseDto testCase) {
+        if (testCase == null || testCase.getSteps() == null || testCase.getSteps().isEmpty()) {
+            System.out.println("❌ No test case provided or it contains no steps.");
+            TestResultDto result = new TestResultDto(testCase != null ? testCase.getFeatureName() : null, "standard");
+            result.setError("No steps");
+            return result;
         }
 
-        WebDriver driver = new ChromeDriver();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        if (isApiTestCase(testCase)) {
+            return executeRest(testCase);
+        }
 
+        long start = System.nanoTime();
+        TestResultDto result = new TestResultDto(testCase.getFeatureName(), "standard");
+        BrowserProfile profile;
         try {
+            profile = BrowserProfile.forTestCase(testCase);
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ " + e.getMessage());
+            result.setError(e.getMessage());
+            return finish(result, start);
+        }
+        long navigationNanos = -1;
+
+        try (WebDriverPool.Lease lease = poolFor(profile).lease()) {
+            WebDriver driver = lease.driver();
+            long navigation = System.nanoTime();
             driver.get(testCase.getTargetUrl());
+            navigationNanos = System.nanoTime() - navigation;
+            METRICS.timer("fsqs_navigation", "profile", profile.getName()).record(navigationNanos);
+
+            List<StepDto> steps = testCase.getSteps();
+            if (batchedDom && driver instanceof JavascriptExecutor js) {
+                runBatched(js, driver, testCase.getTargetUrl(), steps, result);
+            } else {
+                String pageUrl = testCase.getTargetUrl();
+                for (int i = 0; i < steps.size(); i++) {
+                    if (!runUiStep(driver, pageUrl, i, steps.get(i), result) && failurePolicy.isFailFast()) {
+                        skipRemaining(steps, i + 1, result);
+                        break;
+                    }
+                    if (mayNavigate(steps.get(i))) pageUrl = null;
+                }
+            }
 
-            for (StepDto step : testCase.getSteps()) {
-                String action = step.getAction().toLowerCase();
-                String locatorValue = step.getProperty();
-                String locatorType = step.getLocatorType();
-                String value = step.getValue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("❌ Interrupted while waiting for a browser session.");
+            result.setError("Interrupted while waiting for a browser session");
+        } catch (Exception e) {
+            System.out.println("❌ Test failed: " + e.getMessage());
+            result.setError(StepResultDto.messageOf(e));
+        }
 
-                try {
-                    WebElement element = ElementFinder.findSmart(driver, locatorValue, locatorType);
+        if (result.isPassed()) {
+            System.out.println("✅ Test ran successfully.");
+        } else if (result.getError() == null) {
+            System.out.println("❌ Test finished with failing steps.");
+        }
+        if (profilePools != null && navigationNanos >= 0) {
+            profilePools.record(profile, navigationNanos, result.isPassed());
+        }
+        return finish(result, start);
+    }
 
-                    switch (action) {
-                        case "type":
-                            element.clear();
-                            element.sendKeys(value);
-                            break;
+    /**
+     * @return true if the Gherkin-style run completed without errors
+     */
+    public boolean runGherkinStyleTest(TestCaseDto testCase) {
+        return executeGherkin(testCase).isPassed();
+    }
 
-                        case "click":
-                            element.click();
-                            break;
+    /**
+     * Runs the test case as a Gherkin scenario on the in-process engine: navigate,
+     * each step with its own locator type, then the event trigger. The first
+     * failing step ends the run.
+     */
+    public TestResultDto executeGherkin(TestCaseDto testCase) {
+        BrowserProfile profile;
+        try {
+            profile = BrowserProfile.forTestCase(testCase);
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ " + e.getMessage());
+            TestResultDto result = new TestResultDto(testCase.getFeatureName(), "gherkin");
+            result.setError(e.getMessage());
+            return finish(result, System.nanoTime());
+        }
+        return new GherkinEngine(poolFor(profile), this).run(ScenarioPlan.fromTestCase(testCase));
+    }
 
-                        case "keypress":
-                            Keys key = getKeyFromString(value);
-                            if (key != null) element.sendKeys(key);
-                            break;
+    /**
+     * The pool for a browser profile; the service's own pool when no profile pools
+     * are set.
+     */
+    private WebDriverPool poolFor(BrowserProfile profile) {
+        if (profilePools != null) {
+            return profilePools.poolFor(profile);
+        }
+        if (!BrowserProfile.DEFAULT_NAME.equals(profile.getName())) {
+            System.out.println("⚠ No profile pools configured, running '" + profile.getName() + "' with the shared session pool.");
+        }
+        return driverPool;
+    }
 
-                        case "assert":
-                            assertGenericPresence(driver, locatorValue);
-                            break;
+    /**
+     * @return true if every request succeeded and every response assertion matched
+     */
+    public boolean runRestTestCase(TestCaseDto testCase) {
+        return executeRest(testCase).isPassed();
+    }
 
-                        default:
-                            System.out.printf("⚠️ Unknown action '%s'%n", action);
-                    }
+    /**
+     * Runs the API steps in order; the first failing request or assertion ends the
+     * run and the remaining steps are reported as skipped.
+     */
+    public TestResultDto executeRest(TestCaseDto testCase) {
+        long start = System.nanoTime();
+        TestResultDto result = new TestResultDto(testCase.getFeatureName(), "rest");
 
-                } catch (Exception e) {
-                    System.out.printf("❌ Error in step '%s': %s%n", action, e.getMessage());
+        List<StepDto> steps = testCase.getSteps();
+        int offset = 0;
+        for (List<StepDto> segment : RestRequests.segments(steps)) {
+            try {
+                RestSegments.run(http, segment, offset, result);
+            } catch (Exception | AssertionError e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                System.out.println("❌ REST test failed: " + e.getMessage());
+                for (int j = offset + segment.size(); j < steps.size(); j++) {
+                    result.addStep(StepResultDto.skipped(j, steps.get(j)));
                 }
+                return finish(result, start);
             }
+            offset += segment.size();
+        }
 
-            System.out.println("✅ Test ran successfully.");
+        System.out.println("✅ REST-style test ran successfully.");
+        return finish(result, start);
+    }
+
+    /**
+     * Runs a script as it is read, one step at a time, without ever holding the full
+     * step list. The first step decides whether this is a UI or an API run, and a
+     * "navigate to" / Target URL line met mid-script navigates before the next step.
+     *
+     * @return true if every step passed
+     */
+    public boolean runTestCaseStreaming(StepStream steps) {
+        return executeStreaming(steps).isPassed();
+    }
 
+    /**
+     * Streaming counterpart of {@link #execute(TestCaseDto)}. Neither the parsed steps
+     * nor their results are held: the result keeps step counts and the first failing
+     * step only, so memory stays flat however long the script is.
+     */
+    public TestResultDto executeStreaming(StepStream steps) {
+        long start = System.nanoTime();
+        TestResultDto result = new TestResultDto(null, "streaming");
+        result.setKeepSteps(false);
+
+        try (steps) {
+            if (!steps.hasNext()) {
+                System.out.println("❌ No test case provided or it contains no steps.");
+                result.setError("No steps");
+                return result;
+            }
+
+            TestCaseDto header = steps.header();
+            result.setName(header.getFeatureName());
+            if (ParameterizedTestCase.isDataDriven(header)) {
+                // Steps would run with their ${var} placeholders unbound
+                System.out.println("❌ Data-driven scripts cannot be streamed: " + header.getFeatureName());
+                result.setError("Data: scripts run once per row and cannot be streamed; run them without --streaming");
+                return finish(result, start);
+            }
+            System.out.println("🧪 Streaming: " + header.getFeatureName());
+
+            // hasNext() has already buffered the first step, so peeking it is free
+            StepDto first = steps.next();
+            if (isApiStep(first)) {
+                streamRestSteps(first, steps, result);
+            } else {
+                streamUiSteps(first, steps, result);
+            }
+
+            System.out.printf("%s Streamed %d lines.%n", result.isPassed() ? "✅" : "❌", steps.getLinesRead());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.setError("Interrupted while waiting for a browser session");
         } catch (Exception e) {
-            System.out.println("❌ Test failed: " + e.getMessage());
-        } finally {
-            // driver.quit();
+            System.out.println("❌ Streaming test failed: " + e.getMessage());
+            result.setError(StepResultDto.messageOf(e));
+        }
+        return finish(result, start);
+    }
+
+    private void streamUiSteps(StepDto first, StepStream steps, TestResultDto result) throws InterruptedException {
+        try (WebDriverPool.Lease lease = poolFor(BrowserProfile.forTestCase(steps.header())).lease()) {
+            WebDriver driver = lease.driver();
+            String currentUrl = null;
+            String pageUrl = null;
+            StepDto step = first;
+            int index = 0;
+            int skipped = 0;
+            boolean hardFailure = false;
+
+            while (step != null) {
+                if (hardFailure) {
+                    // Keep reading so every remaining step is still reported
+                    result.addStep(StepResultDto.skipped(index++, step));
+                    skipped++;
+                } else {
+                    String targetUrl = steps.header().getTargetUrl();
+                    if (targetUrl != null && !targetUrl.equals(currentUrl)) {
+                        driver.get(targetUrl);
+                        currentUrl = targetUrl;
+                        pageUrl = targetUrl;
+                    }
+                    hardFailure = !runUiStep(driver, pageUrl, index++, step, result) && failurePolicy.isFailFast();
+                    if (mayNavigate(step)) pageUrl = null;
+                }
+                step = steps.hasNext() ? steps.next() : null;
+            }
+            if (skipped > 0) {
+                System.out.printf("⏭ Skipped %d remaining steps after a hard failure.%n", skipped);
+            }
         }
     }
 
-    public void runGherkinStyleTest(TestCaseDto testCase) {
-        WebDriver driver = new ChromeDriver();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        List<String> locatorType = testCase.getAllLocatorTypes();
+    /**
+     * Groups the streamed steps into request + assertion segments on the fly, so only
+     * the segment being run is ever held.
+     */
+    private void streamRestSteps(StepDto first, StepStream steps, TestResultDto result) {
+        List<StepDto> segment = new ArrayList<>();
+        segment.add(first);
+        int offset = 0;
+        // Read to find where the segment ends, but not part of a segment yet
+        StepDto next = null;
 
         try {
-            int i = 0;
-            for (String step : testCase.getStepsAsText()) {
-
-                if (step.startsWith("navigate to")) {
-                    driver.get(step.replace("navigate to", "").trim());
-
-                } else if (step.startsWith("enter")) {
-                    String[] parts = step.replace("enter", "").trim().split(" into ");
-                    String value = parts[0].replace("\"", "").trim();
-                    String field = parts[1].replace("\"", "").trim();
-                    ElementFinder.findSmart(driver, field, locatorType.get(i)).sendKeys(value);
-
-                } else if (step.startsWith("click")) {
-                    String target = step.replace("click", "").replace("button", "").trim().replace("\"", "");
-                    ElementFinder.findSmart(driver, target, locatorType.get(i)).click();
-
-                } else if (step.startsWith("keypress")) {
-                    String[] parts = step.replace("keypress", "").replace("key", "").trim().split(" in ");
-                    String key = parts[0].replace("\"", "").trim();
-                    String field = parts[1].replace("\"", "").trim();
-                    Keys seleniumKey = getKeyFromString(key);
-                    if (seleniumKey != null) ElementFinder.findSmart(driver, field, locatorType.get(i)).sendKeys(seleniumKey);
-
-                } else if (step.startsWith("assert")) {
-                    String raw = step;
-                    String val = raw.replace("assert", "").trim();
-                    ElementFinder.findSmart(driver, val, locatorType.get(i));
-                    assertGenericPresence(driver, step);
+            while (steps.hasNext()) {
+                StepDto step = steps.next();
+                if (!RestRequests.isAssertion(step)) {
+                    next = step;
+                    RestSegments.run(http, segment, offset, result);
+                    offset += segment.size();
+                    segment = new ArrayList<>();
+                    next = null;
                 }
+                segment.add(step);
             }
+            RestSegments.run(http, segment, offset, result);
+        } catch (Exception | AssertionError e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            System.out.println("❌ REST test failed: " + e.getMessage());
 
-            System.out.println("✅ Gherkin-style test ran successfully.");
-        } catch (Exception e) {
-            System.out.println("❌ Gherkin test failed: " + e.getMessage());
-        } finally {
-            // driver.quit();
+            // The failed segment recorded its own steps; keep reading so the rest are reported too
+            int index = offset + segment.size();
+            int skipped = 0;
+            if (next != null) {
+                result.addStep(StepResultDto.skipped(index++, next));
+                skipped++;
+            }
+            while (steps.hasNext()) {
+                result.addStep(StepResultDto.skipped(index++, steps.next()));
+                skipped++;
+            }
+            if (skipped > 0) {
+                System.out.printf("⏭ Skipped %d remaining steps after a hard failure.%n", skipped);
+            }
         }
     }
 
-    public void runRestTestCase(TestCaseDto testCase) {
-        HttpClient client = HttpClient.newHttpClient();
-        String lastResponseBody = "";
+    /**
+     * Runs the steps with each run of consecutive "type" steps filled in one script
+     * call. Fields the script could not fill, and every other step, go through
+     * {@link #runUiStep} as usual, with the same fail-fast rule.
+     */
+    private void runBatched(JavascriptExecutor js, WebDriver driver, String pageUrl, List<StepDto> steps, TestResultDto result) {
+        int calls = 0;
+        int fields = 0;
+        long saved = 0;
+
+        boolean aborted = false;
+        int i = 0;
+        while (i < steps.size() && !aborted) {
+            int end = DomBatch.runEnd(steps, i);
+            if (end == i) {
+                aborted = !runUiStep(driver, pageUrl, i, steps.get(i), result) && failurePolicy.isFailFast();
+                if (mayNavigate(steps.get(i))) pageUrl = null;
+                i++;
+                continue;
+            }
+
+            long start = System.nanoTime();
+            int filled;
+            try {
+                filled = DomBatch.fill(js, steps.subList(i, end));
+            } catch (WebDriverException e) {
+                // e.g. scripts blocked by the page's CSP; the per-step path still works
+                System.out.println("⚠ Batched fill failed, typing field by field: " + e.getMessage());
+                filled = 0;
+            }
+            METRICS.recordSince(start, "fsqs_dom_batch");
+            long perField = filled > 0 ? (System.nanoTime() - start) / filled : 0;
+            for (int k = 0; k < filled; k++) {
+                result.addStep(StepResultDto.passed(i + k, steps.get(i + k), perField));
+            }
+            calls++;
+            fields += filled;
+            saved += DomBatch.roundTripsSaved(filled);
+
+            i += filled;
+            while (i < end && !aborted) {
+                aborted = !runUiStep(driver, pageUrl, i, steps.get(i), result) && failurePolicy.isFailFast();
+                i++;
+            }
+        }
+        if (aborted) {
+            skipRemaining(steps, i, result);
+        }
 
+        if (calls > 0) {
+            METRICS.counter("fsqs_dom_round_trips_saved_total").add(saved);
+            System.out.printf("⚡ Batched DOM: %d fields in %d script calls, ~%d WebDriver round-trips saved%n",
+                    fields, calls, saved);
+        }
+    }
+
+    /**
+     * Executes one UI step, with the failure policy's retries, and records its
+     * result; a failing step does not throw.
+     *
+     * @return false if the step failed for good
+     */
+    private boolean runUiStep(WebDriver driver, String pageUrl, int index, StepDto step, TestResultDto result) {
+        long start = System.nanoTime();
         try {
-            for (StepDto step : testCase.getSteps()) {
-                switch (step.getAction().toUpperCase()) {
-                    case "GET":
-                        HttpRequest getRequest = HttpRequest.newBuilder()
-                                .uri(URI.create(step.getProperty()))
-                                .GET()
-                                .build();
-                        HttpResponse<String> getResponse = client.send(getRequest, HttpResponse.BodyHandlers.ofString());
-                        lastResponseBody = getResponse.body();
-                        System.out.println("✅ GET Response: " + lastResponseBody);
-                        break;
+            failurePolicy.execute(step.getAction(), () -> executeUiStep(driver, step, pageUrl));
+            result.addStep(StepResultDto.passed(index, step, System.nanoTime() - start));
+            return true;
+        } catch (Exception e) {
+            System.out.printf("❌ Error in step '%s': %s%n", step.getAction(), e.getMessage());
+            recordStepError(step, e);
+            result.addStep(StepResultDto.failed(index, step, System.nanoTime() - start, e));
+            return false;
+        }
+    }
 
-                    case "POST":
-                        HttpRequest postRequest = HttpRequest.newBuilder()
-                                .uri(URI.create(step.getProperty()))
-                                .header("Content-Type", "application/json")
-                                .POST(HttpRequest.BodyPublishers.ofString(step.getValue()))
-                                .build();
-                        HttpResponse<String> postResponse = client.send(postRequest, HttpResponse.BodyHandlers.ofString());
-                        lastResponseBody = postResponse.body();
-                        System.out.println("✅ POST Response: " + lastResponseBody);
-                        break;
+    /**
+     * Clicks and ENTER can load another page, after which the URL the test navigated
+     * to no longer names the page; later lookups then ask the browser for its URL.
+     */
+    public static boolean mayNavigate(StepDto step) {
+        String action = step.getAction() != null ? step.getAction().trim().toLowerCase(Locale.ROOT) : "";
+        if (action.equals("click")) return true;
+        String key = step.getValue() != null ? step.getValue().trim() : "";
+        return action.equals("keypress") && (key.equalsIgnoreCase("ENTER") || key.equalsIgnoreCase("RETURN"));
+    }
 
-                    case "ASSERT_BODY":
-                        if (!lastResponseBody.contains(step.getValue())) {
-                            throw new AssertionError("❌ Body does not contain expected text: " + step.getValue());
-                        } else {
-                            System.out.println("✅ Body contains: " + step.getValue());
-                        }
-                        break;
+    private static void skipRemaining(List<StepDto> steps, int from, TestResultDto result) {
+        if (from >= steps.size()) return;
+        for (int i = from; i < steps.size(); i++) {
+            result.addStep(StepResultDto.skipped(i, steps.get(i)));
+        }
+        System.out.printf("⏭ Skipped %d remaining steps after a hard failure.%n", steps.size() - from);
+    }
 
-                    default:
-                        System.out.println("⚠️ Unknown API action: " + step.getAction());
-                }
-            }
+    private static TestResultDto finish(TestResultDto result, long startNanos) {
+        result.setDurationNanos(System.nanoTime() - startNanos);
+        METRICS.timer("fsqs_test", "style", result.getStyle(), "outcome", result.getOutcome().name().toLowerCase(Locale.ROOT))
+                .record(result.getDurationNanos());
+        return result;
+    }
 
-            System.out.println("✅ REST-style test ran successfully.");
+    /**
+     * Executes one UI step on {@code driver}; throws if the step fails. Shared with
+     * the Gherkin engine's built-in steps.
+     */
+    public void executeUiStep(WebDriver driver, StepDto step) {
+        executeUiStep(driver, step, null);
+    }
 
-        } catch (Exception e) {
-            System.out.println("❌ REST test failed: " + e.getMessage());
+    /**
+     * Like {@link #executeUiStep(WebDriver, StepDto)}, with the URL the caller last
+     * navigated to as the locator cache's page key, which saves asking the browser
+     * for it on every lookup. Null asks the browser, as callers must after a step
+     * that {@link #mayNavigate may have navigated}.
+     */
+    public void executeUiStep(WebDriver driver, StepDto step, String pageUrl) {
+        String action = step.getAction().toLowerCase();
+        String locatorValue = step.getProperty();
+        String locatorType = step.getLocatorType();
+        String value = step.getValue();
+
+        if (action.equals("assert")) {
+            // The assertion polls for the element itself; no separate lookup first
+            long wait = System.nanoTime();
+            assertGenericPresence(driver, locatorValue, locatorType);
+            METRICS.recordSince(wait, "fsqs_step_wait", "action", action, "locator", safeLabel(locatorType));
+            return;
+        }
+
+        long lookup = System.nanoTime();
+        WebElement element = ElementFinder.findSmart(driver, locatorValue, locatorType, action, pageUrl);
+        METRICS.recordSince(lookup, "fsqs_step_lookup", "action", action, "locator", safeLabel(locatorType));
+
+        long act = System.nanoTime();
+        switch (action) {
+            case "type":
+                element.clear();
+                element.sendKeys(value);
+                break;
+
+            case "click":
+                element.click();
+                break;
+
+            case "keypress":
+                Keys key = getKeyFromString(value);
+                if (key != null) element.sendKeys(key);
+                break;
+
+            default:
+                System.out.printf("⚠️ Unknown action '%s'%n", action);
         }
+        METRICS.recordSince(act, "fsqs_step_action", "action", action);
+    }
+
+    private static void recordStepError(StepDto step, Exception e) {
+        METRICS.counter("fsqs_step_errors_total",
+                "action", step.getAction().toLowerCase(Locale.ROOT), "error", e.getClass().getSimpleName()).increment();
+    }
+
+    private static String safeLabel(String value) {
+        return value == null || value.isBlank() ? "none" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * True if the test case contains API steps and should run through the REST runner.
+     */
+    public static boolean isApiTestCase(TestCaseDto testCase) {
+        return testCase.getSteps() != null && testCase.getSteps().stream().anyMatch(TestCaseService::isApiStep);
+    }
+
+    private static boolean isApiStep(StepDto step) {
+        return RestRequests.isRequest(step) || RestRequests.isAssertion(step);
     }
 
     public void assertGenericPresence(WebDriver driver, String expectedLocatorValue) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-
-        String titleText = null;
-        if (expectedLocatorValue.contains("title=")) {
-            int index = expectedLocatorValue.indexOf("title=") + 6;
-            titleText = expectedLocatorValue.substring(index).trim();
-            if (titleText.endsWith("]")) {
-                titleText = titleText.substring(0, titleText.length() - 1).trim();
-            }
-        } else {
-            titleText = expectedLocatorValue;
-        }
+        assertGenericPresence(driver, expectedLocatorValue, "title");
+    }
 
-        By locator = By.xpath("//*[@title='" + titleText + "']");
+    /**
+     * Waits for the expected element using the shared WaitEngine. Title locators are
+     * matched on their title attribute; any other locator is checked against the title
+     * attribute and the usual id/name/css/xpath/class probes in the same poll cycle.
+     */
+    public void assertGenericPresence(WebDriver driver, String expectedLocatorValue, String locatorType) {
+        List<By> candidates = new ArrayList<>();
+        candidates.add(ElementFinder.titleLocator(expectedLocatorValue));
+
+        boolean titleOnly = expectedLocatorValue.contains("title=")
+                || (locatorType != null && locatorType.contains("title"));
+        if (!titleOnly) {
+            candidates.addAll(ElementFinder.getLocatorCache().probesFor(expectedLocatorValue));
+        }
 
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-        System.out.println("✅ Assertion passed: " + titleText);
+        WaitEngine.getDefault().awaitVisible(driver, "assert", candidates);
+        System.out.println("✅ Assertion passed: " + ElementFinder.extractTitle(expectedLocatorValue));
     }
 
     private Keys getKeyFromString(String keyName) {
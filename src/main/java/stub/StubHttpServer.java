@@ -0,0 +1,117 @@
+package stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded loopback HTTP server for running API scripts, benchmarks and load tests
+ * without a remote service.
+ *
+ * Responses are registered per method and path. Unregistered paths answer 200 with a
+ * small JSON document that echoes the method, path and request body, so simple
+ * ASSERT_BODY scripts pass against it out of the box.
+ */
+public class StubHttpServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, StubResponse> routes = new ConcurrentHashMap<>();
+
+    private StubHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server on an ephemeral loopback port.
+     */
+    public static StubHttpServer start() throws IOException {
+        return start(0);
+    }
+
+    public static StubHttpServer start(int port) throws IOException {
+        // Without TCP_NODELAY the JDK server's separate header/body writes hit Nagle plus
+        // delayed ACK, adding ~40 ms to every loopback response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "fsqs-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        StubHttpServer stub = new StubHttpServer(httpServer, executor);
+        httpServer.createContext("/", stub::handle);
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        return stub;
+    }
+
+    public StubHttpServer route(String method, String path, int status, String body) {
+        routes.put(method.toUpperCase() + " " + path, new StubResponse(status, body.getBytes(StandardCharsets.UTF_8)));
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+
+            String method = exchange.getRequestMethod().toUpperCase();
+            String path = exchange.getRequestURI().getPath();
+            StubResponse response = routes.get(method + " " + path);
+            if (response == null) {
+                response = echo(method, path, requestBody);
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), response.body().length == 0 ? -1 : response.body().length);
+            if (response.body().length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response.body());
+                }
+            }
+        }
+    }
+
+    private static StubResponse echo(String method, String path, byte[] requestBody) {
+        String body = "{\"method\":\"" + method + "\",\"path\":\"" + path + "\",\"userId\":1,\"body\":"
+                + (requestBody.length == 0 ? "null" : jsonString(new String(requestBody, StandardCharsets.UTF_8))) + "}";
+        return new StubResponse(200, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String jsonString(String raw) {
+        return "\"" + raw.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r") + "\"";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private record StubResponse(int status, byte[] body) {
+    }
+}
@@ -0,0 +1,291 @@
+package util;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * In-memory index of the files under a folder, built once and then kept current by a
+ * WatchService instead of walking the tree again on every lookup.
+ *
+ * The initial scan forks one task per directory on the common ForkJoinPool, so large
+ * trees are listed in parallel. Once {@link #startWatching()} is called, a daemon
+ * thread applies create/modify/delete events to the index (registering new
+ * sub-directories as they appear) and passes them on to listeners. When the
+ * WatchService drops events, the tree is rescanned and the differences, including
+ * files whose modification time moved, are passed on as events too.
+ */
+public class DiscoveryIndex implements AutoCloseable {
+
+    public enum Change { CREATED, MODIFIED, DELETED }
+
+    public interface Listener {
+        void onChange(Path file, Change change);
+    }
+
+    private final Path root;
+    /**
+     * File to last-modified millis. Replaced as a whole by a rescan, so readers never
+     * see it half refilled.
+     */
+    private volatile Map<Path, Long> files = new ConcurrentHashMap<>();
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread watcher;
+
+    public DiscoveryIndex(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            throw new IOException("❌ Not a directory: " + root);
+        }
+        this.root = root.toAbsolutePath().normalize();
+        ForkJoinPool.commonPool().invoke(new ScanDirectory(this.root, files));
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Indexed files with the given extension, sorted by path. No disk access.
+     */
+    public List<Path> files(String extension) {
+        List<Path> matching = new ArrayList<>();
+        for (Path file : files.keySet()) {
+            if (file.getFileName().toString().endsWith(extension)) matching.add(file);
+        }
+        matching.sort(null);
+        return matching;
+    }
+
+    public int size() {
+        return files.size();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts keeping the index current. Safe to call more than once. If a directory
+     * cannot be registered, nothing is left watching and the call may be retried.
+     */
+    public synchronized DiscoveryIndex startWatching() throws IOException {
+        if (watchService != null) return this;
+        WatchService service = FileSystems.getDefault().newWatchService();
+        try {
+            for (Path directory : directories) {
+                register(service, directory);
+            }
+        } catch (IOException | RuntimeException e) {
+            service.close();
+            watchedDirectories.clear();
+            throw e;
+        }
+        watchService = service;
+        watcher = new Thread(() -> watchLoop(service), "fsqs-discovery-" + root.getFileName());
+        watcher.setDaemon(true);
+        watcher.start();
+        return this;
+    }
+
+    public boolean isWatching() {
+        return watchService != null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watcher.interrupt();
+            watchService = null;
+        }
+    }
+
+    private void register(WatchService service, Path directory) throws IOException {
+        WatchKey key = directory.register(service,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirectories.put(key, directory);
+    }
+
+    private void watchLoop(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Path directory = watchedDirectories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were dropped; rescan whatever we were watching
+                        rescan(service);
+                        continue;
+                    }
+                    if (directory != null) {
+                        apply(service, directory.resolve((Path) event.context()), event.kind());
+                    }
+                }
+                if (!key.reset()) {
+                    watchedDirectories.remove(key);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void apply(WatchService service, Path path, WatchEvent.Kind<?> kind) {
+        if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            if (files.remove(path) != null) {
+                notifyListeners(path, Change.DELETED);
+            } else if (directories.remove(path)) {
+                List<Path> gone = new ArrayList<>();
+                for (Path file : files.keySet()) {
+                    if (file.startsWith(path)) gone.add(file);
+                }
+                for (Path file : gone) {
+                    files.remove(file);
+                    notifyListeners(file, Change.DELETED);
+                }
+                directories.removeIf(d -> d.startsWith(path));
+            }
+            return;
+        }
+
+        if (Files.isDirectory(path)) {
+            if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
+                Set<Path> before = Set.copyOf(files.keySet());
+                ForkJoinPool.commonPool().invoke(new ScanDirectory(path, files));
+                registerNewDirectories(service);
+                for (Path file : files.keySet()) {
+                    if (!before.contains(file)) notifyListeners(file, Change.CREATED);
+                }
+            }
+        } else if (Files.isRegularFile(path)) {
+            boolean added = files.put(path, lastModified(path)) == null;
+            notifyListeners(path, added ? Change.CREATED : Change.MODIFIED);
+        }
+    }
+
+    /**
+     * Scans the whole tree again and reports what changed since the index was last
+     * current. Called when the WatchService overflowed; {@code service} is null when
+     * nothing is being watched.
+     */
+    void rescan(WatchService service) {
+        Map<Path, Long> before = files;
+        Map<Path, Long> rescanned = new ConcurrentHashMap<>();
+        ForkJoinPool.commonPool().invoke(new ScanDirectory(root, rescanned));
+        files = rescanned;
+        if (service != null) {
+            registerNewDirectories(service);
+        }
+
+        for (Map.Entry<Path, Long> file : rescanned.entrySet()) {
+            Long previous = before.get(file.getKey());
+            if (previous == null) {
+                notifyListeners(file.getKey(), Change.CREATED);
+            } else if (!previous.equals(file.getValue())) {
+                notifyListeners(file.getKey(), Change.MODIFIED);
+            }
+        }
+        for (Path file : before.keySet()) {
+            if (!rescanned.containsKey(file)) notifyListeners(file, Change.DELETED);
+        }
+    }
+
+    private void registerNewDirectories(WatchService service) {
+        for (Path directory : directories) {
+            if (!watchedDirectories.containsValue(directory)) {
+                try {
+                    register(service, directory);
+                } catch (IOException e) {
+                    System.err.println("⚠ Cannot watch " + directory + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            // gone again already; the delete event will follow
+            return 0;
+        }
+    }
+
+    private void notifyListeners(Path file, Change change) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onChange(file, change);
+            } catch (RuntimeException e) {
+                System.err.println("⚠ Discovery listener failed for " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lists one directory into {@code into} and forks a task for each sub-directory.
+     * Never serialized; the fields are transient only to satisfy RecursiveAction.
+     */
+    private final class ScanDirectory extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path directory;
+        private final transient Map<Path, Long> into;
+
+        ScanDirectory(Path directory, Map<Path, Long> into) {
+            this.directory = directory;
+            this.into = into;
+        }
+
+        @Override
+        protected void compute() {
+            directories.add(directory);
+            List<ScanDirectory> children = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes;
+                    try {
+                        // One stat per entry for its type and modification time
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    } catch (IOException e) {
+                        continue; // deleted while listing
+                    }
+                    if (attributes.isDirectory()) {
+                        children.add(new ScanDirectory(entry, into));
+                    } else if (attributes.isRegularFile()) {
+                        into.put(entry, attributes.lastModifiedTime().toMillis());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("⚠ Cannot list " + directory + ": " + e.getMessage());
+            }
+            invokeAll(children);
+        }
+    }
+}
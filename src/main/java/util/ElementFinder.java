@@ -1,20 +1,43 @@
 // src/main/java/util/ElementFinder.java
 package util;
 
+import metrics.MetricsRegistry;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-
-import java.time.Duration;
 
 import java.util.List;
 
 public class ElementFinder {
 
+    private static final LocatorCache LOCATOR_CACHE = new LocatorCache();
+
+    /** Label for each probe index, in the order LocatorCache.probesFor builds them. */
+    private static final String[] PROBE_NAMES = {"id", "name", "css", "xpath", "className"};
+
+    public static LocatorCache getLocatorCache() {
+        return LOCATOR_CACHE;
+    }
+
     public static WebElement findSmart(WebDriver driver, String locatorValue, String locatorType) {
+        return findSmart(driver, locatorValue, locatorType, WaitEngine.DEFAULT_STEP);
+    }
+
+    /**
+     * @param stepType the step's action (assert, click, ...), used to pick the wait timeout
+     *                 when the locator has to be waited for
+     */
+    public static WebElement findSmart(WebDriver driver, String locatorValue, String locatorType, String stepType) {
+        return findSmart(driver, locatorValue, locatorType, stepType, null);
+    }
+
+    /**
+     * @param pageUrl the URL the caller navigated to, used as the locator cache's page
+     *                key; null asks the browser for its current URL, one more round-trip
+     */
+    public static WebElement findSmart(WebDriver driver, String locatorValue, String locatorType, String stepType,
+                                       String pageUrl) {
         List<By> strategies = new java.util.ArrayList<>();
 
         // 🔍 ALT attribute detection
@@ -25,61 +48,111 @@ public class ElementFinder {
             // 🔍 TITLE attribute detection (new, minimal patch)
         } else if (locatorType.contains("title") || locatorValue.contains("title")) {
 
-            String titleText;
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+            // Poll for the element instead of blocking on a separate wait and then looking it up again
+            return WaitEngine.getDefault().awaitVisible(driver,
+                    WaitEngine.DEFAULT_STEP.equals(stepType) ? "title" : stepType,
+                    List.of(titleLocator(locatorValue)));
 
-            if (locatorValue.contains("title=")) {
-                // Find where title= starts
-                int titleIndex = locatorValue.indexOf("title=") + 6; // after title=
+            // 🔍 Default strategies
+        } else {
+            return findCached(driver, locatorValue, locatorType, pageUrl);
+        }
 
-                // Take substring from title= to the end
-                String afterTitle = locatorValue.substring(titleIndex).trim();
+        for (By by : strategies) {
+            try {
+                WebElement element = driver.findElement(by);
+                if (element != null) return element;
+            } catch (NoSuchElementException ignored) {
+            }
+        }
 
-                // Remove trailing ] if it exists (just one, safe)
-                if (afterTitle.endsWith("]")) {
-                    afterTitle = afterTitle.substring(0, afterTitle.length() - 1).trim();
-                }
+        throw new NoSuchElementException("❌ Element not found with any strategy for: " + locatorValue);
+    }
 
-                // Now afterTitle should be full title, including nested brackets
-                titleText = afterTitle;
+    /**
+     * Extracts the title text from "title=...", "[title=...]" or a bare title.
+     */
+    public static String extractTitle(String locatorValue) {
+        if (!locatorValue.contains("title=")) {
+            // If locatorType is explicitly "title", then locatorValue *is* the title
+            return locatorValue;
+        }
 
-                // Wait for element with exact title attribute
-                wait.until(ExpectedConditions.visibilityOfElementLocated(
-                        By.xpath("//*[@title='" + titleText + "']")
-                ));
+        // Take substring from title= to the end
+        String afterTitle = locatorValue.substring(locatorValue.indexOf("title=") + 6).trim();
 
-                strategies.add(By.xpath("//*[@title='" + titleText + "']"));
-            }
-            else {
-                // If locatorType is explicitly "title", then locatorValue *is* the title
-                titleText = locatorValue;
-                wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//*[@title=\"" + titleText + "\"]")));
-                strategies.add(By.xpath("//*[@title=\"" + titleText + "\"]"));
-            }
+        // Remove trailing ] if it exists (just one, safe)
+        if (afterTitle.endsWith("]")) {
+            afterTitle = afterTitle.substring(0, afterTitle.length() - 1).trim();
+        }
 
+        // Now afterTitle should be full title, including nested brackets
+        return afterTitle;
+    }
 
-            //wait 15 second do nothing
+    public static By titleLocator(String locatorValue) {
+        String titleText = extractTitle(locatorValue);
+        // Titles may contain either quote character; pick the one that is absent
+        return titleText.contains("'")
+                ? By.xpath("//*[@title=\"" + titleText + "\"]")
+                : By.xpath("//*[@title='" + titleText + "']");
+    }
 
+    /**
+     * Plain locators: try the strategy that won last time on this page first, then
+     * fall back to the full probe list (id, name, css, xpath, class name).
+     */
+    private static WebElement findCached(WebDriver driver, String locatorValue, String locatorType, String pageUrl) {
+        List<By> probes = LOCATOR_CACHE.probesFor(locatorValue);
+        String key = LocatorCache.key(pageUrl != null ? pageUrl : currentUrl(driver), locatorValue, locatorType);
 
-            // 🔍 Default strategies
-        } else {
-            strategies.addAll(List.of(By.id(locatorValue), By.name(locatorValue), By.cssSelector(locatorValue), By.xpath(locatorValue)));
-// Add By.className only if locatorValue does NOT contain spaces
-            if (!locatorValue.contains(" ")) {
-                strategies.add(By.className(locatorValue));
+        Integer winner = LOCATOR_CACHE.winnerFor(key);
+        if (winner != null) {
+            try {
+                WebElement element = driver.findElement(probes.get(winner));
+                LOCATOR_CACHE.recordHit(winner);
+                recordResolved(winner, true);
+                return element;
+            } catch (NoSuchElementException e) {
+                LOCATOR_CACHE.recordStale(key);
             }
-
         }
 
-        for (By by : strategies) {
+        LOCATOR_CACHE.recordMiss();
+        for (int i = 0; i < probes.size(); i++) {
+            if (winner != null && i == winner) continue;
             try {
-                WebElement element = driver.findElement(by);
-                if (element != null) return element;
+                WebElement element = driver.findElement(probes.get(i));
+                LOCATOR_CACHE.remember(key, i);
+                recordResolved(i, false);
+                return element;
             } catch (NoSuchElementException ignored) {
             }
         }
 
+        MetricsRegistry.global().counter("fsqs_locator_not_found_total").increment();
         throw new NoSuchElementException("❌ Element not found with any strategy for: " + locatorValue);
     }
 
+    /**
+     * Counts which strategy found the element; anything past the first probe is a
+     * fallback, i.e. the locator did not match the way the script author wrote it.
+     */
+    private static void recordResolved(int probeIndex, boolean cached) {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        String strategy = PROBE_NAMES[probeIndex];
+        metrics.counter("fsqs_locator_resolved_total", "strategy", strategy, "cached", Boolean.toString(cached)).increment();
+        if (probeIndex > 0) {
+            metrics.counter("fsqs_locator_fallback_total", "strategy", strategy).increment();
+        }
+    }
+
+    private static String currentUrl(WebDriver driver) {
+        try {
+            return driver.getCurrentUrl();
+        } catch (RuntimeException e) {
+            return "";
+        }
+    }
+
 }
@@ -6,36 +6,76 @@ import java.net.URL;
 import java.nio.file.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FileDiscoveryUtil {
 
+    /** One watched index per resolved folder, shared by every caller in watch mode. */
+    private static final Map<Path, DiscoveryIndex> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Lists the files with the given extension under a classpath folder. Answered from
+     * the watched index when watch mode keeps one for the folder; otherwise the folder
+     * is scanned once and nothing is left watching it.
+     */
     public static List<Path> discoverTestFiles(String folderName, String extension) throws IOException {
-        List<Path> matchingFiles = new ArrayList<>();
+        Path folderPath = resolveClasspathFolder(folderName);
+        if (folderPath == null) {
+            return new ArrayList<>();
+        }
+        DiscoveryIndex watched = INDEXES.get(folderPath.toAbsolutePath().normalize());
+        if (watched != null) {
+            return watched.files(extension);
+        }
+        try (DiscoveryIndex scan = new DiscoveryIndex(folderPath)) {
+            return scan.files(extension);
+        }
+    }
+
+    /**
+     * The shared, watched index for a folder on disk, built on first use. Starts a
+     * watcher thread, so only watch mode should ask for it.
+     */
+    public static DiscoveryIndex indexFor(Path folder) throws IOException {
+        Path key = folder.toAbsolutePath().normalize();
+        DiscoveryIndex index = INDEXES.get(key);
+        if (index != null) return index;
 
-        // Locate the folder within the classpath
+        synchronized (INDEXES) {
+            index = INDEXES.get(key);
+            if (index == null) {
+                index = new DiscoveryIndex(key);
+                try {
+                    index.startWatching();
+                } catch (IOException | UnsupportedOperationException e) {
+                    // e.g. a folder inside a jar: hand back the unwatched index and let the caller decide
+                    System.err.println("⚠ Cannot watch " + key + ": " + e.getMessage());
+                    return index;
+                }
+                INDEXES.put(key, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Locates a folder within the classpath, or null (with a message) if there is none.
+     */
+    public static Path resolveClasspathFolder(String folderName) {
         URL folderUrl = Thread.currentThread().getContextClassLoader().getResource(folderName);
         if (folderUrl == null) {
             System.err.println("❌ Folder not found in classpath: " + folderName);
-            return matchingFiles;
+            return null;
         }
 
-        Path folderPath;
         try {
             // Convert URL to Path safely (handles spaces, special chars)
-            folderPath = Paths.get(folderUrl.toURI());
-        } catch (URISyntaxException e) {
+            return Paths.get(folderUrl.toURI());
+        } catch (URISyntaxException | FileSystemNotFoundException e) {
             System.err.println("❌ Invalid folder URL: " + e.getMessage());
-            return matchingFiles;
+            return null;
         }
-
-        try (Stream<Path> paths = Files.walk(folderPath)) {
-            paths.filter(Files::isRegularFile)
-                    .filter(p -> p.getFileName().toString().endsWith(extension))
-                    .forEach(matchingFiles::add);
-        }
-
-        return matchingFiles;
     }
 }
 
@@ -0,0 +1,43 @@
+package util;
+
+/**
+ * Minimal JSON string escaping for the hand-written JSON the toolkit emits.
+ */
+public final class JsonStrings {
+
+    private JsonStrings() {
+    }
+
+    public static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 8);
+        appendEscaped(sb, value);
+        return sb.toString();
+    }
+
+    /**
+     * Appends {@code value} as a quoted JSON string, or {@code null}.
+     */
+    public static StringBuilder appendQuoted(StringBuilder sb, String value) {
+        if (value == null) return sb.append("null");
+        sb.append('"');
+        appendEscaped(sb, value);
+        return sb.append('"');
+    }
+
+    private static void appendEscaped(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package util;
+
+import org.openqa.selenium.By;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Remembers which locator strategy found an element, so repeated lookups of the
+ * same locator on the same page go straight to the winning By instead of probing
+ * id, name, css, xpath and class name in turn.
+ *
+ * Pages are keyed by a URL pattern (scheme, host and path, with numeric path
+ * segments collapsed) so /movies/12 and /movies/34 share one entry.
+ */
+public class LocatorCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final Map<String, List<By>> compiledProbes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> winners = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong probesSaved = new AtomicLong();
+
+    /**
+     * Returns the ordered probe list for a plain locator value, building it once.
+     */
+    public List<By> probesFor(String locatorValue) {
+        if (compiledProbes.size() >= MAX_ENTRIES) {
+            compiledProbes.clear();
+        }
+        return compiledProbes.computeIfAbsent(locatorValue, LocatorCache::compileProbes);
+    }
+
+    private static List<By> compileProbes(String locatorValue) {
+        List<By> probes = new ArrayList<>(5);
+        probes.add(By.id(locatorValue));
+        probes.add(By.name(locatorValue));
+        probes.add(By.cssSelector(locatorValue));
+        probes.add(By.xpath(locatorValue));
+        // Add By.className only if locatorValue does NOT contain spaces
+        if (!locatorValue.contains(" ")) {
+            probes.add(By.className(locatorValue));
+        }
+        return Collections.unmodifiableList(probes);
+    }
+
+    /**
+     * @return index of the probe that won last time, or null if unknown
+     */
+    public Integer winnerFor(String key) {
+        return winners.get(key);
+    }
+
+    public void recordHit(int winnerIndex) {
+        hits.incrementAndGet();
+        probesSaved.addAndGet(winnerIndex);
+    }
+
+    public void recordStale(String key) {
+        staleHits.incrementAndGet();
+        winners.remove(key);
+    }
+
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public void remember(String key, int winnerIndex) {
+        if (winners.size() >= MAX_ENTRIES) {
+            winners.clear();
+        }
+        winners.put(key, winnerIndex);
+    }
+
+    public static String key(String pageUrl, String locatorValue, String locatorType) {
+        return urlPattern(pageUrl) + '\u0000' + locatorType + '\u0000' + locatorValue;
+    }
+
+    static String urlPattern(String url) {
+        if (url == null || url.isEmpty()) return "";
+        try {
+            URI uri = URI.create(url);
+            String path = uri.getPath() == null ? "" : NUMERIC_SEGMENT.matcher(uri.getPath()).replaceAll("/*");
+            return uri.getScheme() + "://" + uri.getAuthority() + path;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getStaleHits() {
+        return staleHits.get();
+    }
+
+    /**
+     * Number of failed findElement round-trips skipped thanks to cache hits.
+     */
+    public long getProbesSaved() {
+        return probesSaved.get();
+    }
+
+    public void clear() {
+        compiledProbes.clear();
+        winners.clear();
+        hits.set(0);
+        misses.set(0);
+        staleHits.set(0);
+        probesSaved.set(0);
+    }
+
+    public String summary() {
+        return String.format("🗂 Locator cache: %d hits, %d misses, %d stale, %d round-trips saved",
+                getHits(), getMisses(), getStaleHits(), getProbesSaved());
+    }
+}
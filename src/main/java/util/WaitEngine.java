@@ -0,0 +1,166 @@
+package util;
+
+import metrics.MetricsRegistry;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The one place UI code waits for elements.
+ *
+ * Each poll cycle checks every candidate locator with findElements (no exception
+ * per miss) and returns the first visible match. The first check is immediate, so
+ * an element that is already on the page resolves without sleeping. After that the
+ * poll interval starts from a fraction of how long this step type usually takes
+ * and doubles up to {@code maxPoll}, which keeps fast pages fast without hammering
+ * slow ones.
+ *
+ * Timeouts are configured per step type (assert, click, type, ...). Defaults can be
+ * overridden with system properties such as {@code -Dfsqs.wait.assert=20000}.
+ */
+public class WaitEngine {
+
+    public static final String DEFAULT_STEP = "default";
+
+    private static final WaitEngine DEFAULT = new WaitEngine();
+
+    private final Map<String, Duration> timeouts = new ConcurrentHashMap<>();
+    private final Map<String, Long> typicalNanos = new ConcurrentHashMap<>();
+    private volatile Duration minPoll = Duration.ofMillis(5);
+    private volatile Duration maxPoll = Duration.ofMillis(250);
+
+    public WaitEngine() {
+        timeouts.put(DEFAULT_STEP, Duration.ofSeconds(10));
+        timeouts.put("assert", Duration.ofSeconds(15));
+        timeouts.put("title", Duration.ofSeconds(15));
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("fsqs.wait.")) {
+                try {
+                    long millis = Long.parseLong(System.getProperty(name).trim());
+                    timeouts.put(normalize(name.substring("fsqs.wait.".length())), Duration.ofMillis(millis));
+                } catch (NumberFormatException e) {
+                    System.err.println("⚠️ Ignoring invalid wait timeout " + name + "=" + System.getProperty(name));
+                }
+            }
+        }
+    }
+
+    public static WaitEngine getDefault() {
+        return DEFAULT;
+    }
+
+    public void setTimeout(String stepType, Duration timeout) {
+        timeouts.put(normalize(stepType), timeout);
+    }
+
+    public Duration getTimeout(String stepType) {
+        return timeouts.getOrDefault(normalize(stepType), timeouts.get(DEFAULT_STEP));
+    }
+
+    public void setPollBounds(Duration minPoll, Duration maxPoll) {
+        if (minPoll.isNegative() || minPoll.isZero() || maxPoll.compareTo(minPoll) < 0) {
+            throw new IllegalArgumentException("Poll bounds must satisfy 0 < min <= max");
+        }
+        this.minPoll = minPoll;
+        this.maxPoll = maxPoll;
+    }
+
+    /**
+     * Waits until any candidate locator matches a displayed element.
+     *
+     * @throws TimeoutException if nothing became visible within the step type's timeout
+     */
+    public WebElement awaitVisible(WebDriver driver, String stepType, List<By> candidates) {
+        return await(stepType, "any of " + candidates, () -> pollOnce(driver, candidates));
+    }
+
+    /**
+     * Polls {@code probe} on the same schedule as {@link #awaitVisible} until it returns
+     * non-null, for waits that are not about an element (page title, ...).
+     *
+     * @throws TimeoutException if the probe kept returning null for the step type's timeout
+     */
+    public <T> T await(String stepType, String description, Supplier<T> probe) {
+        String type = normalize(stepType);
+        long start = System.nanoTime();
+        long deadline = start + getTimeout(type).toNanos();
+        long poll = initialPollNanos(type);
+
+        while (true) {
+            T found = probe.get();
+            if (found != null) {
+                long elapsed = System.nanoTime() - start;
+                learn(type, elapsed);
+                MetricsRegistry.global().timer("fsqs_wait", "step", type).record(elapsed);
+                return found;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                MetricsRegistry.global().counter("fsqs_wait_timeouts_total", "step", type).increment();
+                throw new TimeoutException("❌ Timed out after " + getTimeout(type).toMillis()
+                        + " ms waiting for " + description);
+            }
+
+            MetricsRegistry.global().counter("fsqs_wait_retries_total", "step", type).increment();
+            sleep(Math.min(poll, remaining));
+            poll = Math.min(poll * 2, maxPoll.toNanos());
+        }
+    }
+
+    private WebElement pollOnce(WebDriver driver, List<By> candidates) {
+        for (By by : candidates) {
+            List<WebElement> elements;
+            try {
+                elements = driver.findElements(by);
+            } catch (InvalidSelectorException e) {
+                // e.g. plain text probed as xpath; other candidates may still match
+                continue;
+            }
+            for (WebElement element : elements) {
+                try {
+                    if (element.isDisplayed()) return element;
+                } catch (StaleElementReferenceException ignored) {
+                    // the DOM changed under us; the next poll cycle will look again
+                }
+            }
+        }
+        return null;
+    }
+
+    private long initialPollNanos(String type) {
+        Long typical = typicalNanos.get(type);
+        long min = minPoll.toNanos();
+        if (typical == null) return min;
+        return Math.max(min, Math.min(typical / 4, maxPoll.toNanos()));
+    }
+
+    private void learn(String type, long elapsedNanos) {
+        // Exponentially weighted average of how long this step type takes to resolve
+        typicalNanos.merge(type, elapsedNanos, (old, now) -> (old * 3 + now) / 4);
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("❌ Interrupted while waiting for element", e);
+        }
+    }
+
+    private static String normalize(String stepType) {
+        return stepType == null || stepType.isBlank() ? DEFAULT_STEP : stepType.trim().toLowerCase(Locale.ROOT);
+    }
+}
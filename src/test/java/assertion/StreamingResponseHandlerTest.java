@@ -0,0 +1,97 @@
+package assertion;
+
+import dto.StepDto;
+import org.junit.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class StreamingResponseHandlerTest {
+
+    private static final String BODY = "{\"data\":[{\"id\":7,\"name\":\"Ada \\\"the\\\" first\"},{\"id\":8}],"
+            + "\"meta\":{\"total\":2,\"next\":null}}";
+
+    @Test
+    public void bodyAndJsonChecksSurviveChunkBoundaries() throws Exception {
+        List<StepDto> steps = List.of(
+                new StepDto("GET", "", "http://localhost/users", ""),
+                new StepDto("ASSERT_BODY", "", "", "\"total\":2"),
+                new StepDto("ASSERT_JSON", "", "$.data[0].name", "Ada \"the\" first"),
+                new StepDto("ASSERT_JSON", "", "$.data[1].id", "8"),
+                new StepDto("ASSERT_JSON", "", "meta.next", ""),
+                new StepDto("ASSERT_STATUS", "", "", "2xx"));
+
+        // Three-byte chunks split every needle and JSON token somewhere
+        ResponseCheck check = feed(steps, 200, Map.of(), BODY, 3);
+
+        assertTrue(check.getVerdicts().toString(), check.allPassed());
+        assertEquals(BODY.length(), check.getBodyBytes());
+    }
+
+    @Test
+    public void failedChecksReportWhatWasSeen() throws Exception {
+        List<StepDto> steps = List.of(
+                new StepDto("ASSERT_STATUS", "", "", "201"),
+                new StepDto("ASSERT_HEADER", "", "Content-Type", "json"),
+                new StepDto("ASSERT_JSON", "", "$.data[0].id", "9"),
+                new StepDto("ASSERT_BODY", "", "", "missing"));
+
+        ResponseCheck check = feed(steps, 200, Map.of("content-type", List.of("text/plain")), BODY, 16);
+
+        assertEquals(0, check.firstFailure());
+        List<ResponseCheck.Verdict> verdicts = check.getVerdicts();
+        assertEquals("❌ Expected status 201 but was 200", verdicts.get(0).message());
+        assertEquals("text/plain", verdicts.get(1).actual());
+        assertEquals("7", verdicts.get(2).actual());
+        assertFalse(verdicts.get(3).passed());
+    }
+
+    @Test
+    public void previewIsCappedWhileBytesAreStillCounted() throws Exception {
+        String big = "x".repeat(10_000) + "needle";
+        List<StepDto> steps = List.of(new StepDto("ASSERT_BODY", "", "", "needle"));
+
+        ResponseCheck check = feed(steps, 200, Map.of(), big, 1024);
+
+        assertTrue(check.allPassed());
+        assertEquals(big.length(), check.getBodyBytes());
+        assertEquals(StreamingResponseHandler.DEFAULT_PREVIEW_BYTES + 1, check.getPreview().length());
+        assertTrue(check.getPreview().endsWith("…"));
+    }
+
+    private static ResponseCheck feed(List<StepDto> steps, int status, Map<String, List<String>> headers,
+                                      String body, int chunkSize) throws Exception {
+        HttpResponse.ResponseInfo info = new HttpResponse.ResponseInfo() {
+            public int statusCode() {
+                return status;
+            }
+
+            public HttpHeaders headers() {
+                return HttpHeaders.of(headers, (name, value) -> true);
+            }
+
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+
+        HttpResponse.BodySubscriber<ResponseCheck> subscriber =
+                new StreamingResponseHandler(ResponseExpectations.of(steps)).apply(info);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            List<ByteBuffer> chunk = new ArrayList<>();
+            chunk.add(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)).slice());
+            subscriber.onNext(chunk);
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().get();
+    }
+}
@@ -0,0 +1,125 @@
+package cli;
+
+import dto.TestResultDto;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import report.JsonLinesResultReader;
+import stub.StubHttpServer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchMainTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void badArgumentsAreUsageErrors() {
+        assertEquals(BatchMain.EXIT_PASSED, BatchMain.run("--help"));
+        assertEquals(BatchMain.EXIT_USAGE, BatchMain.run());
+        assertEquals(BatchMain.EXIT_USAGE, BatchMain.run("--style", "selenium", "x.txt"));
+        assertEquals(BatchMain.EXIT_USAGE, BatchMain.run("--parallelism", "0", "x.txt"));
+        assertEquals(BatchMain.EXIT_USAGE, BatchMain.run(folder.getRoot() + "/*.txt"));
+    }
+
+    @Test
+    public void globsAndFoldersExpandToScripts() throws Exception {
+        Path root = folder.getRoot().toPath();
+        Path top = Files.createFile(root.resolve("a.txt"));
+        Path nested = Files.createFile(Files.createDirectories(root.resolve("api")).resolve("b.txt"));
+        Files.createFile(root.resolve("notes.md"));
+
+        assertEquals(List.of(top, nested), BatchOptions.parse(root + "/**/*.txt").scripts());
+        assertEquals(List.of(top), BatchOptions.parse(root + "/*.txt").scripts());
+        assertEquals(List.of(top, nested), BatchOptions.parse(root.toString()).scripts());
+        assertEquals(List.of(nested), BatchOptions.parse(nested.toString(), root + "/api/*.txt").scripts());
+    }
+
+    @Test
+    public void exitCodeReflectsTestOutcome() throws Exception {
+        try (StubHttpServer stub = StubHttpServer.start()) {
+            Path passing = script("ok.txt", stub.baseUrl() + "/posts/1", "200");
+            Path failing = script("ko.txt", stub.baseUrl() + "/posts/2", "404");
+            Path report = folder.getRoot().toPath().resolve("reports/results.jsonl");
+
+            assertEquals(BatchMain.EXIT_PASSED, BatchMain.run("--api-only", "--no-cache",
+                    "--report", report.toString(), passing.toString()));
+            assertEquals(1, Files.readAllLines(report).size());
+
+            assertEquals(BatchMain.EXIT_FAILED, BatchMain.run("--style", "rest", "--no-cache",
+                    passing.toString(), failing.toString()));
+        }
+    }
+
+    @Test
+    public void streamingRunsDataDrivenScriptsRowByRow() throws Exception {
+        try (StubHttpServer stub = StubHttpServer.start()) {
+            Path root = folder.getRoot().toPath();
+            Files.writeString(root.resolve("ids.csv"), "id\n1\n2");
+            Path script = root.resolve("rows.txt");
+            Files.writeString(script, String.join("\n",
+                    "Feature: rows",
+                    "Data: ids.csv",
+                    "Target URL: API_TEST",
+                    "Action: GET, Locator Type: , Locator Value: " + stub.baseUrl() + "/posts/${id}, Value: ",
+                    "Action: ASSERT_STATUS, Locator Type: , Locator Value: , Value: 200"));
+            Path report = root.resolve("rows.jsonl");
+
+            assertEquals(BatchMain.EXIT_PASSED, BatchMain.run("--streaming", "--no-cache",
+                    "--report", report.toString(), script.toString()));
+            assertEquals(2, Files.readAllLines(report).size());
+        }
+    }
+
+    @Test
+    public void mergeCombinesShardResults() throws Exception {
+        try (StubHttpServer stub = StubHttpServer.start()) {
+            Path root = folder.getRoot().toPath();
+            Path passing = script("ok.txt", stub.baseUrl() + "/posts/1", "200");
+            Path failing = script("ko.txt", stub.baseUrl() + "/posts/2", "404");
+            Path timings = root.resolve("timings.tsv");
+            for (int i = 1; i <= 2; i++) {
+                BatchMain.run("--api-only", "--no-cache", "--shard", i + "/2", "--timings", timings.toString(),
+                        "--report", root.resolve("shard" + i + ".jsonl").toString(),
+                        passing.toString(), failing.toString());
+            }
+            // Shards only read the shared timings file and write their own
+            assertFalse(Files.exists(timings));
+            Path shard1Timings = root.resolve("timings-1-of-2.tsv");
+            Path shard2Timings = root.resolve("timings-2-of-2.tsv");
+            assertEquals(1, Files.readAllLines(shard1Timings).size());
+            assertEquals(BatchMain.EXIT_PASSED, BatchMain.run("merge", "--timings", timings.toString(),
+                    shard1Timings.toString(), shard2Timings.toString()));
+            assertEquals(2, Files.readAllLines(timings).size());
+
+            Path merged = root.resolve("merged.jsonl");
+            assertEquals(BatchMain.EXIT_FAILED, BatchMain.run("merge", "--report", merged.toString(),
+                    root.resolve("shard1.jsonl").toString(), root.resolve("shard2.jsonl").toString()));
+            List<String> lines = Files.readAllLines(merged);
+            assertEquals(2, lines.size());
+            assertEquals(1, lines.stream().map(JsonLinesResultReader::parse).filter(TestResultDto::isPassed).count());
+
+            Path passingShard = Files.readString(root.resolve("shard1.jsonl")).contains("ko.txt")
+                    ? root.resolve("shard2.jsonl") : root.resolve("shard1.jsonl");
+            assertEquals(BatchMain.EXIT_PASSED, BatchMain.run("merge", "--report", root.resolve("passed.xml").toString(),
+                    passingShard.toString()));
+            assertTrue(Files.readString(root.resolve("passed.xml")).contains("<testsuite"));
+            assertEquals(BatchMain.EXIT_USAGE, BatchMain.run("merge", "results.xml"));
+        }
+    }
+
+    private Path script(String name, String url, String status) throws Exception {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.writeString(file, String.join("\n",
+                "Feature: " + name,
+                "Target URL: API_TEST",
+                "Action: GET, Locator Type: , Locator Value: " + url + ", Value: ",
+                "Action: ASSERT_STATUS, Locator Type: , Locator Value: , Value: " + status));
+        return file;
+    }
+}
@@ -0,0 +1,85 @@
+package data;
+
+import dto.TestCaseDto;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import parser.TestCaseParser;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class DataDrivenCasesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String SCRIPT = String.join("\n",
+            "Feature: Login",
+            "Data: users.csv",
+            "Target URL: https://example.test/${tenant}/login",
+            "Action: type, Locator Type: id, Locator Value: user, Value: ${user}",
+            "Action: type, Locator Type: id, Locator Value: password, Value: ${password}!",
+            "Action: click, Locator Type: id, Locator Value: submit, Value: ");
+
+    @Test
+    public void csvRowsAreBoundOneAtATime() throws Exception {
+        Files.writeString(folder.getRoot().toPath().resolve("users.csv"), String.join("\n",
+                "tenant,user,password",
+                "acme,ada,\"se,cret\"",
+                "",
+                "globex,\"bob \"\"the\"\" builder\",hunter2"));
+        TestCaseDto template = parse(SCRIPT);
+
+        try (DataDrivenCases cases = DataDrivenCases.open(template, folder.getRoot().toPath())) {
+            TestCaseDto first = cases.next();
+            assertEquals("Login [row 1]", first.getFeatureName());
+            assertEquals("https://example.test/acme/login", first.getTargetUrl());
+            assertEquals("ada", first.getSteps().get(0).getValue());
+            assertEquals("se,cret!", first.getSteps().get(1).getValue());
+            // Fields without placeholders are shared, not copied
+            assertSame(template.getSteps().get(2).getProperty(), first.getSteps().get(2).getProperty());
+
+            TestCaseDto second = cases.next();
+            assertEquals("bob \"the\" builder", second.getSteps().get(0).getValue());
+            assertFalse(cases.hasNext());
+            assertEquals(2, cases.getRowCount());
+        }
+        assertEquals("${user}", template.getSteps().get(0).getValue());
+    }
+
+    @Test
+    public void jsonRowsAndMissingColumns() throws Exception {
+        Path data = folder.getRoot().toPath().resolve("users.json");
+        Files.writeString(data, "[{\"tenant\":\"acme\",\"user\":\"a\\u0064a\",\"password\":42},\n {\"tenant\":null,\"user\":\"x\"}]");
+        TestCaseDto template = parse(SCRIPT.replace("users.csv", data.toString()));
+
+        try (DataDrivenCases cases = DataDrivenCases.open(template, null)) {
+            TestCaseDto first = cases.next();
+            assertEquals("ada", first.getSteps().get(0).getValue());
+            assertEquals("42!", first.getSteps().get(1).getValue());
+            try {
+                cases.next();
+                fail("Row 2 has no password column");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("row 2") && e.getMessage().contains("password"));
+            }
+        }
+    }
+
+    @Test
+    public void variablesAreListedInOrderOfUse() throws Exception {
+        ParameterizedTestCase compiled = ParameterizedTestCase.compile(parse(SCRIPT));
+        assertEquals("[tenant, user, password]", compiled.variables().toString());
+        assertTrue(ParameterizedTestCase.isDataDriven(parse(SCRIPT)));
+        assertFalse(ParameterizedTestCase.isDataDriven(parse(SCRIPT.replace("Data: users.csv\n", ""))));
+    }
+
+    private static TestCaseDto parse(String script) throws Exception {
+        return new TestCaseParser().parse(new BufferedReader(new StringReader(script)));
+    }
+}
@@ -0,0 +1,93 @@
+package driver;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.PageLoadStrategy;
+import parser.TestCaseParser;
+import service.TestCaseService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class BrowserProfileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void profilesParseFromNamesAndSettings() {
+        BrowserProfile fast = BrowserProfile.parse("fast");
+        assertTrue(fast.isHeadless());
+        assertEquals(PageLoadStrategy.EAGER, fast.getPageLoadStrategy());
+        assertTrue(fast.getBlockedUrls().contains("*.woff2"));
+        assertTrue(fast.toChromeOptions().asMap().toString().contains("--window-size=1280,800"));
+
+        BrowserProfile custom = BrowserProfile.parse("headless, none, block=*.CSS|*ads*, window=800x600");
+        assertEquals(PageLoadStrategy.NONE, custom.getPageLoadStrategy());
+        assertEquals(List.of("*.CSS", "*ads*"), custom.getBlockedUrls());
+        assertEquals("headless,none,block=*.CSS|*ads*,window=800x600", custom.getName());
+
+        assertEquals(BrowserProfile.DEFAULT_NAME, BrowserProfile.forTestCase(new TestCaseDto()).getName());
+        assertThrows(IllegalArgumentException.class, () -> BrowserProfile.parse("turbo"));
+        assertThrows(IllegalArgumentException.class, () -> BrowserProfile.parse("window=big"));
+    }
+
+    @Test
+    public void profileHeaderSelectsItsOwnPool() throws Exception {
+        Path script = folder.newFile("fast.txt").toPath();
+        Files.writeString(script, String.join("\n",
+                "Feature: Fast search",
+                "Target URL: https://example.test/",
+                "Profile: fast",
+                "Action: assert, Locator Type: title, Locator Value: Search, Value: "));
+        TestCaseDto fastCase = new TestCaseParser().loadFromPath(script);
+        assertEquals("fast", fastCase.getProperties().get(BrowserProfile.PROPERTY));
+
+        TestCaseDto defaultCase = new TestCaseDto();
+        defaultCase.setFeatureName("Default search");
+        defaultCase.setTargetUrl("https://example.test/");
+        defaultCase.setSteps(List.of(new StepDto("keypress", "id", "q", "ENTER")));
+
+        List<String> created = new ArrayList<>();
+        try (ProfiledDriverPools pools = new ProfiledDriverPools(1, profile -> () -> {
+            created.add(profile.getName());
+            return new FakeWebDriver();
+        })) {
+            TestCaseService service = new TestCaseService(pools.poolFor(BrowserProfile.defaults()));
+            service.setProfilePools(pools);
+            service.execute(defaultCase);
+            service.execute(defaultCase);
+            fastCase.setSteps(defaultCase.getSteps());
+            service.execute(fastCase);
+
+            assertEquals(List.of("default", "fast"), created);
+            List<String> report = pools.navigationReport();
+            assertEquals(2, report.size());
+            assertTrue(report.stream().anyMatch(line -> line.startsWith("fast") && line.contains("vs default")));
+            assertTrue(report.stream().anyMatch(line -> line.startsWith("default") && line.contains("2 runs")));
+        }
+    }
+
+    @Test
+    public void unknownProfileIsAnErrorResultInEveryStyle() {
+        TestCaseDto turbo = new TestCaseDto();
+        turbo.setFeatureName("Turbo");
+        turbo.setProperties(Map.of(BrowserProfile.PROPERTY, "turbo"));
+        turbo.setSteps(List.of(new StepDto("keypress", "id", "q", "ENTER")));
+
+        try (WebDriverPool drivers = new WebDriverPool(FakeWebDriver::new, 1)) {
+            TestCaseService service = new TestCaseService(drivers);
+            assertTrue(service.execute(turbo).getError().contains("turbo"));
+            assertTrue(service.executeGherkin(turbo).getError().contains("turbo"));
+            assertEquals(0, drivers.getCreatedCount());
+        }
+    }
+}
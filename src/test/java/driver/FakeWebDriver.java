@@ -0,0 +1,189 @@
+package driver;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.logging.Logs;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory WebDriver for exercising pooling and lookup code without a browser.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+
+    private final Set<Cookie> cookies = new HashSet<>();
+    private final List<String> scripts = new ArrayList<>();
+    private String currentUrl = "about:blank";
+    private boolean quit;
+    private boolean broken;
+
+    public FakeWebDriver() {
+    }
+
+    /**
+     * Starts on {@code url} without a call to the overridable {@link #get}.
+     */
+    protected FakeWebDriver(String url) {
+        this.currentUrl = url;
+    }
+
+    @Override
+    public void get(String url) {
+        checkAlive();
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkAlive();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkAlive();
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkAlive();
+        return new ArrayList<>();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        checkAlive();
+        throw new NoSuchElementException("Fake driver has no elements: " + by);
+    }
+
+    @Override
+    public String getPageSource() {
+        checkAlive();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+        quit = true;
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        checkAlive();
+        return Set.of("fake-window");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkAlive();
+        return "fake-window";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Options manage() {
+        checkAlive();
+        return new Options() {
+            @Override
+            public void addCookie(Cookie cookie) {
+                cookies.add(cookie);
+            }
+
+            @Override
+            public void deleteCookieNamed(String name) {
+                cookies.removeIf(c -> c.getName().equals(name));
+            }
+
+            @Override
+            public void deleteCookie(Cookie cookie) {
+                cookies.remove(cookie);
+            }
+
+            @Override
+            public void deleteAllCookies() {
+                cookies.clear();
+            }
+
+            @Override
+            public Set<Cookie> getCookies() {
+                return new HashSet<>(cookies);
+            }
+
+            @Override
+            public Cookie getCookieNamed(String name) {
+                return cookies.stream().filter(c -> c.getName().equals(name)).findFirst().orElse(null);
+            }
+
+            @Override
+            public Timeouts timeouts() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Window window() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Logs logs() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkAlive();
+        scripts.add(script);
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return executeScript(script, args);
+    }
+
+    /**
+     * Simulates a crashed browser: every further call fails.
+     */
+    public void breakSession() {
+        broken = true;
+    }
+
+    public boolean isQuit() {
+        return quit;
+    }
+
+    public List<String> getExecutedScripts() {
+        return scripts;
+    }
+
+    private void checkAlive() {
+        if (quit || broken) {
+            throw new NoSuchSessionException("Fake session is gone");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package driver;
+
+import org.junit.Test;
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class WebDriverPoolTest {
+
+    private final List<FakeWebDriver> created = new ArrayList<>();
+
+    private FakeWebDriver newDriver() {
+        FakeWebDriver driver = new FakeWebDriver();
+        created.add(driver);
+        return driver;
+    }
+
+    @Test
+    public void reusesSessionAndResetsStateBetweenLeases() throws Exception {
+        try (WebDriverPool pool = new WebDriverPool(this::newDriver, 1)) {
+            FakeWebDriver first;
+            try (WebDriverPool.Lease lease = pool.lease()) {
+                first = (FakeWebDriver) lease.driver();
+                first.get("http://localhost/login");
+                first.manage().addCookie(new Cookie("session", "abc"));
+            }
+
+            try (WebDriverPool.Lease lease = pool.lease()) {
+                assertSame(first, lease.driver());
+                assertTrue(lease.driver().manage().getCookies().isEmpty());
+                assertEquals("about:blank", lease.driver().getCurrentUrl());
+            }
+
+            assertEquals(1, pool.getCreatedCount());
+            assertEquals(1, pool.getReusedCount());
+        }
+    }
+
+    @Test
+    public void evictsSessionAfterMaxUses() throws Exception {
+        try (WebDriverPool pool = new WebDriverPool(this::newDriver, 1, 2)) {
+            for (int i = 0; i < 3; i++) {
+                pool.lease().close();
+            }
+
+            assertEquals(2, pool.getCreatedCount());
+            assertTrue(created.get(0).isQuit());
+            assertFalse(created.get(1).isQuit());
+        }
+    }
+
+    @Test
+    public void replacesSessionThatFailsHealthCheck() throws Exception {
+        try (WebDriverPool pool = new WebDriverPool(this::newDriver, 1)) {
+            pool.lease().close();
+            created.get(0).breakSession();
+
+            try (WebDriverPool.Lease lease = pool.lease()) {
+                assertSame(created.get(1), lease.driver());
+            }
+            assertEquals(1, pool.getEvictedCount());
+        }
+    }
+
+    @Test
+    public void invalidatedLeaseIsNotReturnedToPool() throws Exception {
+        try (WebDriverPool pool = new WebDriverPool(this::newDriver, 1)) {
+            try (WebDriverPool.Lease lease = pool.lease()) {
+                lease.invalidate();
+            }
+            assertEquals(0, pool.getIdleCount());
+            assertTrue(created.get(0).isQuit());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void leaseTimesOutWhenPoolIsExhausted() throws Exception {
+        try (WebDriverPool pool = new WebDriverPool(this::newDriver, 1);
+             WebDriverPool.Lease held = pool.lease()) {
+            assertNotNull(held.driver());
+            pool.lease(Duration.ofMillis(50));
+        }
+    }
+
+    @Test
+    public void closeQuitsIdleAndLaterReturnedSessions() throws Exception {
+        WebDriverPool pool = new WebDriverPool(this::newDriver, 2);
+        WebDriverPool.Lease held = pool.lease();
+        pool.lease().close();
+
+        pool.close();
+        assertTrue(created.get(1).isQuit());
+        assertFalse(created.get(0).isQuit());
+
+        held.close();
+        assertTrue(created.get(0).isQuit());
+    }
+
+    @Test
+    public void closeDuringResetStillQuitsTheReturnedSession() throws Exception {
+        CountDownLatch resetting = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        FakeWebDriver slow = new FakeWebDriver() {
+            @Override
+            public void get(String url) {
+                if ("about:blank".equals(url)) {
+                    resetting.countDown();
+                    await(closed);
+                }
+                super.get(url);
+            }
+        };
+        WebDriverPool pool = new WebDriverPool(() -> slow, 1);
+        WebDriverPool.Lease held = pool.lease();
+        Thread returning = new Thread(held::close);
+        returning.start();
+
+        assertTrue(resetting.await(5, TimeUnit.SECONDS));
+        pool.close();
+        closed.countDown();
+        returning.join(5000);
+
+        assertTrue(slow.isQuit());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void waitingLeaseFailsOnceThePoolIsClosed() throws Exception {
+        WebDriverPool pool = new WebDriverPool(this::newDriver, 1);
+        WebDriverPool.Lease held = pool.lease();
+        AtomicReference<Throwable> waiterError = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                pool.lease().close();
+            } catch (Throwable e) {
+                waiterError.set(e);
+            }
+        });
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+
+        pool.close();
+        held.close();
+        waiter.join(5000);
+
+        assertTrue(String.valueOf(waiterError.get()), waiterError.get() instanceof IllegalStateException);
+        assertEquals(1, pool.getCreatedCount());
+        assertTrue(created.get(0).isQuit());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package gherkin;
+
+import driver.FakeWebDriver;
+import driver.WebDriverPool;
+import dto.Outcome;
+import dto.TestResultDto;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import service.TestCaseService;
+import util.WaitEngine;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class GherkinEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private WebDriverPool drivers;
+    private GherkinEngine engine;
+
+    /** Glue as Cucumber would see it; a new instance per scenario. */
+    public static class BasketSteps {
+        static final List<String> calls = new CopyOnWriteArrayList<>();
+        private int items;
+
+        @Given("my basket holds {int} item(s)")
+        public void basketHolds(int count) {
+            items = count;
+            calls.add("holds " + count);
+        }
+
+        @Then("the basket count should be {int}")
+        public void countShouldBe(int expected) {
+            assertEquals(expected, items);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        BasketSteps.calls.clear();
+        drivers = new WebDriverPool(FakeWebDriver::new, 1);
+        StepRegistry registry = new StepRegistry().addGlue(BasketSteps.class);
+        engine = new GherkinEngine(registry, drivers, new TestCaseService(drivers));
+        BuiltInSteps.registerAll(registry);
+    }
+
+    @After
+    public void tearDown() {
+        drivers.close();
+    }
+
+    @Test
+    public void outlinesAndBackgroundsCompileToBoundPlans() throws Exception {
+        Path feature = write("basket.feature", String.join("\n",
+                "Feature: Basket",
+                "  Background:",
+                "    Given I open \"https://shop.test/\"",
+                "  Scenario Outline: Counting",
+                "    Given my basket holds <n> items",
+                "    Then the basket count should be <n>",
+                "    Examples:",
+                "      | n |",
+                "      | 1 |",
+                "      | 3 |"));
+
+        List<ScenarioPlan> plans = engine.compile(feature);
+        assertEquals(2, plans.size());
+        assertEquals("Basket: Counting", plans.get(0).displayName());
+        PlannedStep holds = plans.get(1).steps().get(1);
+        assertEquals("Given", holds.keyword());
+        assertArrayEquals(new Object[]{3}, holds.args());
+
+        List<TestResultDto> results = engine.runFeatures(List.of(feature));
+        assertTrue(results.get(0).getFailureMessage(), results.get(0).isPassed());
+        assertTrue(results.get(1).isPassed());
+        assertEquals(List.of("holds 1", "holds 3"), BasketSteps.calls);
+        assertEquals(1, drivers.getCreatedCount());
+    }
+
+    @Test
+    public void failuresAndUndefinedStepsStopTheScenario() throws Exception {
+        Path feature = write("broken.feature", String.join("\n",
+                "Feature: Broken",
+                "  Scenario: Wrong count",
+                "    Given my basket holds 2 items",
+                "    Then the basket count should be 5",
+                "    And I open \"https://never.test/\"",
+                "  Scenario: Unknown",
+                "    Given I do something nobody defined",
+                "    Then the basket count should be 0"));
+
+        List<TestResultDto> results = engine.runFeatures(List.of(feature));
+
+        TestResultDto wrong = results.get(0);
+        assertEquals(Outcome.FAILED, wrong.getOutcome());
+        assertEquals(Outcome.SKIPPED, wrong.getSteps().get(2).getOutcome());
+
+        TestResultDto unknown = results.get(1);
+        assertEquals(Outcome.ERROR, unknown.getOutcome());
+        assertTrue(unknown.getFailureMessage().contains("Undefined step"));
+        assertEquals(0, drivers.getCreatedCount());
+    }
+
+    @Test
+    public void bundledFeatureRunsOnBuiltInStepsOnly() throws Exception {
+        // What cli.Main option 2 finds when the test glue is not on the classpath
+        Path feature = Path.of("src", "test", "resources", "features", "ghstandardtest.feature");
+        try (WebDriverPool wiki = new WebDriverPool(WikipediaDriver::new, 1)) {
+            GherkinEngine builtIn = new GherkinEngine(StepRegistry.builtInOnly(), wiki, new TestCaseService(wiki));
+
+            List<TestResultDto> results = builtIn.runFeatures(List.of(feature));
+            assertEquals(1, results.size());
+            assertTrue(results.get(0).getFailureMessage(), results.get(0).isPassed());
+        }
+    }
+
+    @Test
+    public void titleStepWaitsAsLongAsTheTitleTimeout() throws Exception {
+        Path feature = write("title.feature", String.join("\n",
+                "Feature: Title",
+                "  Scenario: Wrong article",
+                "    Given I open \"https://en.wikipedia.org/wiki/Main_Page\"",
+                "    Then I should see the \"Sundiata Keita\" article page"));
+        WaitEngine waits = WaitEngine.getDefault();
+        Duration titleTimeout = waits.getTimeout("title");
+        waits.setTimeout("title", Duration.ofMillis(100));
+        try (WebDriverPool wiki = new WebDriverPool(WikipediaDriver::new, 1)) {
+            GherkinEngine builtIn = new GherkinEngine(StepRegistry.builtInOnly(), wiki, new TestCaseService(wiki));
+
+            long start = System.nanoTime();
+            TestResultDto result = builtIn.runFeatures(List.of(feature)).get(0);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(Outcome.FAILED, result.getOutcome());
+            assertTrue(result.getFailureMessage(), result.getFailureMessage().contains("Mansa Musa - Wikipedia"));
+            assertTrue("waited " + millis + " ms", millis >= 100 && millis < 5_000);
+        } finally {
+            waits.setTimeout("title", titleTimeout);
+        }
+    }
+
+    /** Every locator finds a visible element and the title is that of the article. */
+    static class WikipediaDriver extends FakeWebDriver {
+        @Override
+        public String getTitle() {
+            return "Mansa Musa - Wikipedia";
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> method.getReturnType() == boolean.class ? true : null);
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return List.of(findElement(by));
+        }
+    }
+
+    private Path write(String name, String content) throws Exception {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,106 @@
+package http;
+
+import assertion.ResponseCheck;
+import assertion.ResponseExpectations;
+import assertion.StreamingResponseHandler;
+import dto.StepDto;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import stub.StubHttpServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class CassetteTransportTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recordedResponsesReplayWithoutTheServer() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("api.cassette");
+        String baseUrl;
+        try (StubHttpServer stub = StubHttpServer.start();
+             CassetteTransport cassette = new CassetteTransport(new JdkHttpTransport(new TransportSettings()), file,
+                     CassetteTransport.Mode.AUTO)) {
+            baseUrl = stub.baseUrl();
+            assertEquals(200, cassette.send(post(baseUrl, "first"), HttpResponse.BodyHandlers.ofString()).statusCode());
+            cassette.send(post(baseUrl, "second"), HttpResponse.BodyHandlers.ofString());
+            cassette.send(post(baseUrl, "first"), HttpResponse.BodyHandlers.ofString());
+            assertEquals(2, cassette.getRecordedCount());
+            assertEquals(1, cassette.getReplayedCount());
+        }
+
+        // The stub is gone: everything now comes from the file
+        try (CassetteTransport replay = new CassetteTransport(new JdkHttpTransport(new TransportSettings()), file,
+                CassetteTransport.Mode.REPLAY)) {
+            assertEquals(2, replay.size());
+            ResponseExpectations expectations = ResponseExpectations.of(List.of(
+                    new StepDto("ASSERT_STATUS", "", "", "200"),
+                    new StepDto("ASSERT_HEADER", "", "content-type", "json"),
+                    new StepDto("ASSERT_JSON", "", "$.method", "POST"),
+                    new StepDto("ASSERT_BODY", "", "", "second")));
+            TransportResponse<ResponseCheck> response = replay.sendAsync(post(baseUrl, "second"),
+                    new StreamingResponseHandler(expectations)).get(5, TimeUnit.SECONDS);
+            assertTrue(response.body().getVerdicts().toString(), response.body().allPassed());
+
+            try {
+                replay.sendAsync(post(baseUrl, "third"), HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+                fail("a request that was never recorded must not be sent");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+    }
+
+    @Test
+    public void serverErrorsAreNotRecordedInAutoMode() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("flaky.cassette");
+        try (StubHttpServer stub = StubHttpServer.start().route("GET", "/flaky", 503, "down");
+             CassetteTransport cassette = new CassetteTransport(new JdkHttpTransport(new TransportSettings()), file,
+                     CassetteTransport.Mode.AUTO, Duration.ofSeconds(5))) {
+            HttpRequest flaky = HttpRequest.newBuilder(URI.create(stub.baseUrl() + "/flaky")).GET().build();
+            HttpResponse.BodyHandler<String> text = HttpResponse.BodyHandlers.ofString();
+
+            TransportResponse<String> outage = cassette.send(flaky, text);
+            assertEquals(503, outage.statusCode());
+            assertEquals("down", outage.body());
+            assertEquals(0, cassette.size());
+            assertEquals(0, cassette.getRecordedCount());
+
+            stub.route("GET", "/flaky", 200, "up");
+            assertEquals("up", cassette.send(flaky, text).body());
+            assertEquals("up", cassette.send(flaky, text).body());
+            assertEquals(1, cassette.getRecordedCount());
+            assertEquals(1, cassette.getReplayedCount());
+        }
+    }
+
+    @Test
+    public void settingsWrapTheTransportOnlyWithACassette() {
+        try (HttpTransport plain = HttpTransport.create(new TransportSettings());
+             HttpTransport recorded = HttpTransport.create(new TransportSettings().kind("pooled")
+                     .cassette(folder.getRoot().toPath().resolve("c.cassette")))) {
+            assertEquals("jdk", plain.name());
+            assertEquals("pooled+cassette", recorded.name());
+        }
+        assertEquals(CassetteTransport.Mode.REPLAY, CassetteTransport.Mode.parse(" Replay "));
+    }
+
+    private static HttpRequest post(String baseUrl, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/posts"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
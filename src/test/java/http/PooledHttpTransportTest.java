@@ -0,0 +1,73 @@
+package http;
+
+import assertion.ResponseCheck;
+import assertion.ResponseExpectations;
+import assertion.StreamingResponseHandler;
+import dto.StepDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import stub.StubHttpServer;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class PooledHttpTransportTest {
+
+    private StubHttpServer stub;
+    private PooledHttpTransport transport;
+
+    @Before
+    public void setUp() throws Exception {
+        stub = StubHttpServer.start();
+        transport = new PooledHttpTransport(new TransportSettings().kind("pooled").maxPerRoute(2));
+    }
+
+    @After
+    public void tearDown() {
+        transport.close();
+        stub.close();
+    }
+
+    @Test
+    public void postBodyAndHeadersReachTheStreamingHandler() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(stub.baseUrl() + "/posts"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"pooled\"}"))
+                .build();
+        ResponseExpectations expectations = ResponseExpectations.of(List.of(
+                new StepDto("ASSERT_STATUS", "", "", "200"),
+                new StepDto("ASSERT_HEADER", "", "content-type", "json"),
+                new StepDto("ASSERT_JSON", "", "$.method", "POST"),
+                new StepDto("ASSERT_BODY", "", "", "pooled")));
+
+        TransportResponse<ResponseCheck> response = transport.send(request, new StreamingResponseHandler(expectations));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().getVerdicts().toString(), response.body().allPassed());
+    }
+
+    @Test
+    public void concurrentRequestsShareTheRoutePool() throws Exception {
+        stub.route("GET", "/ping", 404, "missing");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(stub.baseUrl() + "/ping")).build();
+
+        List<CompletableFuture<TransportResponse<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(transport.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<TransportResponse<String>> future : futures) {
+            TransportResponse<String> response = future.get(10, TimeUnit.SECONDS);
+            assertEquals(404, response.statusCode());
+            assertEquals("missing", response.body());
+        }
+        assertTrue(transport.poolSummary(), transport.poolSummary().startsWith("0 leased"));
+    }
+}
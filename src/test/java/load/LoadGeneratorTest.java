@@ -0,0 +1,112 @@
+package load;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+import http.HttpTransport;
+import http.JdkHttpTransport;
+import http.TransportResponse;
+import http.TransportSettings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import stub.StubHttpServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class LoadGeneratorTest {
+
+    private StubHttpServer stub;
+    private JdkHttpTransport transport;
+
+    @Before
+    public void setUp() throws Exception {
+        stub = StubHttpServer.start();
+        transport = new JdkHttpTransport(new TransportSettings());
+        // Open the connection up front so the first scheduled slots are not spent on it
+        transport.send(HttpRequest.newBuilder(URI.create(stub.baseUrl() + "/warmup")).build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    @After
+    public void tearDown() {
+        transport.close();
+        stub.close();
+    }
+
+    @Test
+    public void rateLimitedRunsKeepToTheTargetRate() throws Exception {
+        LoadReport report = new LoadGenerator(transport).run(script(), new LoadProfile(4, Duration.ofMillis(500), 40));
+
+        // 40/s for half a second is 20 slots, the first one at the start; never more
+        assertTrue("iterations: " + report.getIterations(), report.getIterations() >= 10 && report.getIterations() <= 20);
+        assertEquals(report.getIterations() * 2, report.getRequests());
+        assertEquals(0, report.getErrors());
+        assertEquals(Long.valueOf(report.getRequests()), report.getStatusCounts().get(200));
+    }
+
+    @Test
+    public void iterationLatencyCountsFromTheIntendedStart() throws Exception {
+        // One user, 20 ms per request, asked for an iteration every 10 ms: every
+        // iteration starts later than planned, and that queueing time must show
+        LoadReport report = new LoadGenerator(new SlowTransport(transport, 20))
+                .run(script(), new LoadProfile(1, Duration.ofMillis(400), 100));
+
+        assertTrue("iterations: " + report.getIterations(), report.getIterations() <= 12);
+        long slowestRequest = report.getRequestLatency().getMax();
+        long slowestIteration = report.getIterationLatency().getMax();
+        assertTrue(slowestIteration + " ns vs " + slowestRequest + " ns", slowestIteration > 4 * slowestRequest);
+    }
+
+    @Test
+    public void failingAssertionsCountAsErrors() throws Exception {
+        stub.route("GET", "/health", 503, "{}");
+        LoadReport report = new LoadGenerator(transport).run(script(), new LoadProfile(1, Duration.ofMillis(100), 50));
+
+        assertTrue(report.getIterations() > 0);
+        assertEquals(report.getIterations(), report.getErrors());
+        assertEquals(1.0, report.getErrorRate(), 0);
+    }
+
+    private TestCaseDto script() {
+        TestCaseDto testCase = new TestCaseDto();
+        testCase.setFeatureName("Load");
+        testCase.setSteps(List.of(
+                new StepDto("GET", "", stub.baseUrl() + "/posts/1", ""),
+                new StepDto("GET", "", stub.baseUrl() + "/health", ""),
+                new StepDto("ASSERT_STATUS", "", "", "200")));
+        return testCase;
+    }
+
+    /** Adds a fixed delay before every request. */
+    private record SlowTransport(HttpTransport delegate, long delayMillis) implements HttpTransport {
+
+        @Override
+        public <T> TransportResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+                throws IOException, InterruptedException {
+            Thread.sleep(delayMillis);
+            return delegate.send(request, handler);
+        }
+
+        @Override
+        public <T> CompletableFuture<TransportResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String name() {
+            return "slow";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package metrics;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void labelOrderDoesNotSplitSeries() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("fsqs_http_requests_total", "method", "GET", "status", "200").increment();
+        registry.counter("fsqs_http_requests_total", "status", "200", "method", "GET").increment();
+
+        InMemorySink sink = new InMemorySink();
+        sink.export(registry);
+        assertEquals(1, sink.getCounters().size());
+        assertEquals(2, sink.counterTotal("fsqs_http_requests_total"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void oddLabelListIsRejected() {
+        new MetricsRegistry().counter("fsqs_x_total", "method");
+    }
+
+    @Test
+    public void prometheusSinkWritesCountersAndSummaries() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("fsqs_locator_fallback_total", "strategy", "css").increment();
+        registry.timer("fsqs_step_lookup", "action", "click").record(2_000_000);
+
+        Path file = Files.createTempFile("fsqs", ".prom");
+        try {
+            new PrometheusTextSink(file).export(registry);
+            String text = Files.readString(file);
+
+            assertTrue(text.contains("# TYPE fsqs_locator_fallback_total counter"));
+            assertTrue(text.contains("fsqs_locator_fallback_total{strategy=\"css\"} 1"));
+            assertTrue(text.contains("# TYPE fsqs_step_lookup_seconds summary"));
+            assertTrue(text.contains("fsqs_step_lookup_seconds_count{action=\"click\"} 1"));
+            assertTrue(text.contains("fsqs_step_lookup_seconds{action=\"click\",quantile=\"0.5\"}"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void jsonLinesSinkWritesDecimalPointsInAnyLocale() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.timer("fsqs_step_lookup", "action", "click").record(1_500_000);
+
+        Path file = Files.createTempFile("fsqs", ".jsonl");
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.GERMANY);
+            new JsonLinesSink(file).export(registry);
+            String line = Files.readString(file);
+
+            assertTrue(line, line.contains("\"meanMs\":1.500,"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package parser;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class CompiledScriptCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String SCRIPT = String.join("\n",
+            "Feature: Search",
+            "Target URL: https://en.wikipedia.org",
+            "Action: type, Locator Type: id, Locator Value: searchInput, Value: Selenium",
+            "Action: click, Locator Type: css, Locator Value: button.search, Value: ",
+            "Action: assert, Locator Type: title, Locator Value: Selenium, Value: ");
+
+    @Test
+    public void unchangedScriptIsDecodedFromTheCacheFile() throws Exception {
+        Path script = folder.newFile("search.txt").toPath();
+        Files.writeString(script, SCRIPT);
+        Path cacheFile = folder.getRoot().toPath().resolve("cache/scripts.bin");
+
+        CompiledScriptCache first = CompiledScriptCache.open(cacheFile);
+        TestCaseDto parsed = first.load(script);
+        first.save();
+        assertEquals(1, first.getMisses());
+
+        CompiledScriptCache second = CompiledScriptCache.open(cacheFile);
+        TestCaseDto cached = second.load(script);
+        assertEquals(1, second.getHits());
+        assertEquals(0, second.getMisses());
+        assertSameTestCase(parsed, cached);
+
+        // Strings are shared through the cache's string table
+        assertSame(cached.getSteps().get(0).getLocatorType(), second.load(script).getSteps().get(0).getLocatorType());
+    }
+
+    @Test
+    public void editedScriptIsParsedAgain() throws Exception {
+        Path script = folder.newFile("search.txt").toPath();
+        Files.writeString(script, SCRIPT);
+        Path cacheFile = folder.getRoot().toPath().resolve("scripts.bin");
+
+        CompiledScriptCache first = CompiledScriptCache.open(cacheFile);
+        first.load(script);
+        first.save();
+
+        Files.writeString(script, SCRIPT.replace("Selenium", "JUnit"));
+        CompiledScriptCache second = CompiledScriptCache.open(cacheFile);
+        TestCaseDto reloaded = second.load(script);
+        assertEquals(1, second.getMisses());
+        assertEquals("JUnit", reloaded.getSteps().get(0).getValue());
+    }
+
+    @Test
+    public void cacheFromAnotherGrammarVersionIsParsedAgain() throws Exception {
+        Path script = folder.newFile("search.txt").toPath();
+        Files.writeString(script, SCRIPT);
+        Path cacheFile = folder.getRoot().toPath().resolve("scripts.bin");
+
+        CompiledScriptCache first = CompiledScriptCache.open(cacheFile);
+        first.load(script);
+        first.save();
+
+        // The grammar version follows the magic and the format version
+        byte[] bytes = Files.readAllBytes(cacheFile);
+        ByteBuffer.wrap(bytes).putShort(6, (short) (ScriptGrammar.VERSION - 1));
+        Files.write(cacheFile, bytes);
+
+        CompiledScriptCache second = CompiledScriptCache.open(cacheFile);
+        second.load(script);
+        assertEquals(0, second.getHits());
+        assertEquals(1, second.getMisses());
+    }
+
+    @Test
+    public void corruptCacheFileIsIgnored() throws Exception {
+        Path script = folder.newFile("search.txt").toPath();
+        Files.writeString(script, SCRIPT);
+        Path cacheFile = folder.newFile("scripts.bin").toPath();
+        Files.write(cacheFile, new byte[]{1, 2, 3});
+
+        CompiledScriptCache cache = CompiledScriptCache.open(cacheFile);
+        assertEquals(3, cache.load(script).getSteps().size());
+        assertEquals(1, cache.getMisses());
+    }
+
+    private static void assertSameTestCase(TestCaseDto expected, TestCaseDto actual) {
+        assertEquals(expected.getFeatureName(), actual.getFeatureName());
+        assertEquals(expected.getTargetUrl(), actual.getTargetUrl());
+        assertEquals(expected.getEventListener(), actual.getEventListener());
+        assertEquals(expected.getProperties(), actual.getProperties());
+        assertEquals(expected.getSteps().size(), actual.getSteps().size());
+        for (int i = 0; i < expected.getSteps().size(); i++) {
+            StepDto e = expected.getSteps().get(i);
+            StepDto a = actual.getSteps().get(i);
+            assertEquals(e.getAction(), a.getAction());
+            assertEquals(e.getLocatorType(), a.getLocatorType());
+            assertEquals(e.getProperty(), a.getProperty());
+            assertEquals(e.getValue(), a.getValue());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package parser;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScriptGrammarTest {
+
+    @Test
+    public void everyLineFormParses() {
+        TestCaseDto testCase = parse(
+                "🧪 Feature: Emoji feature",
+                "TARGET URL: https://example.test/",
+                "Event Trigger: submit",
+                "Data: rows.csv",
+                "Profile: fast",
+                "1. [click] using [css=#go] => ",
+                "Action: type, Locator Type: name, Locator Value: q, Value: hello, world",
+                "keypress \"ENTER\" key in \"q\"",
+                "enter \"ada\" into \"user\"",
+                "assert \"css=.welcome\"",
+                "click \"alt=Logo\"",
+                "something the grammar does not know");
+
+        assertEquals("Emoji feature", testCase.getFeatureName());
+        assertEquals("https://example.test/", testCase.getTargetUrl());
+        assertEquals("submit", testCase.getEventListener());
+        assertEquals("rows.csv", testCase.getProperties().get("data"));
+        assertEquals("fast", testCase.getProperties().get("profile"));
+        assertEquals(List.of(
+                "click|css|#go|",
+                "type|name|q|hello, world",
+                "keypress|id|q|ENTER",
+                "type|id|user|ada",
+                "assert|css|.welcome|",
+                "click|alt|Logo|"), describe(testCase.getSteps()));
+    }
+
+    @Test
+    public void earlierCascadeRulesStillWinOverTheFirstToken() {
+        TestCaseDto summary = parse("Feature: 1. [a] using [b=c] => d");
+        assertNull(summary.getFeatureName());
+        assertEquals(List.of("a|b|c|d"), describe(summary.getSteps()));
+
+        TestCaseDto press = parse("enter \"x\" into \"y\" then keypress \"k\" key in \"f\"");
+        assertEquals(List.of("keypress|id|f|k"), describe(press.getSteps()));
+
+        TestCaseDto assertion = parse("click \"b\" and assert \"a\"");
+        assertEquals(List.of("assert|id|a|"), describe(assertion.getSteps()));
+
+        // Header rules came before every step rule but the summary one
+        TestCaseDto navigate = parse("Navigate to https://example.test/?q=click \"x\"");
+        assertEquals("https://example.test/?q=click \"x\"", navigate.getTargetUrl());
+        assertTrue(navigate.getSteps().isEmpty());
+    }
+
+    @Test
+    public void headersStayHeadersWhenNoStepPatternMatches() {
+        TestCaseDto testCase = parse("Feature: click the enter key", "navigate to https://example.test/assert");
+        assertEquals("click the enter key", testCase.getFeatureName());
+        assertEquals("https://example.test/assert", testCase.getTargetUrl());
+        assertTrue(testCase.getSteps().isEmpty());
+    }
+
+    private static TestCaseDto parse(String... lines) {
+        TestCaseDto testCase = new TestCaseDto();
+        List<StepDto> steps = new ArrayList<>();
+        for (String line : lines) {
+            ScriptGrammar.parseLine(line, testCase, steps::add);
+        }
+        testCase.setSteps(steps);
+        return testCase;
+    }
+
+    private static List<String> describe(List<StepDto> steps) {
+        return steps.stream()
+                .map(s -> String.join("|", s.getAction(), s.getLocatorType(), s.getProperty(), s.getValue()))
+                .toList();
+    }
+}
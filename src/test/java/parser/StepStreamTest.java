@@ -0,0 +1,59 @@
+package parser;
+
+import dto.StepDto;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class StepStreamTest {
+
+    private static final String SCRIPT = String.join("\n",
+            "Feature: Streamed",
+            "Target URL: https://example.test/",
+            "",
+            "Action: type, Locator Type: id, Locator Value: q, Value: movie",
+            "Profile: fast",
+            "Action: click, Locator Type: id, Locator Value: go, Value: ");
+
+    @Test
+    public void headerBeforeTheFirstStepIsReadByHasNext() {
+        StepStream steps = open(SCRIPT);
+        assertEquals(0, steps.getLinesRead());
+
+        assertTrue(steps.hasNext());
+        assertEquals("Streamed", steps.header().getFeatureName());
+        assertEquals("https://example.test/", steps.header().getTargetUrl());
+        assertNull(steps.header().getProperties());
+        assertEquals(4, steps.getLinesRead());
+
+        assertEquals("type", steps.next().getAction());
+        assertEquals("click", steps.next().getAction());
+        // Header lines between steps are applied as they are passed
+        assertEquals("fast", steps.header().getProperties().get("profile"));
+        assertFalse(steps.hasNext());
+        assertThrows(NoSuchElementException.class, steps::next);
+    }
+
+    @Test
+    public void scriptWithoutStepsKeepsItsHeaderAndDefaultName() {
+        StepStream steps = open("Target URL: API_TEST");
+        assertFalse(steps.hasNext());
+        assertEquals("API_TEST", steps.header().getTargetUrl());
+        assertEquals("Auto-parsed test case", steps.header().getFeatureName());
+    }
+
+    @Test
+    public void streamViewYieldsEveryStepInOrder() {
+        List<String> targets = open(SCRIPT).stream().map(StepDto::getProperty).toList();
+        assertEquals(List.of("q", "go"), targets);
+    }
+
+    private static StepStream open(String script) {
+        return new StepStream(new BufferedReader(new StringReader(script)));
+    }
+}
@@ -0,0 +1,100 @@
+package report;
+
+import dto.Outcome;
+import dto.StepDto;
+import dto.StepResultDto;
+import dto.TestResultDto;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class ResultWriterTest {
+
+    private static TestResultDto failingResult() {
+        TestResultDto result = new TestResultDto("Login", "rest");
+        result.setSource("login.txt");
+        StepResultDto get = StepResultDto.passed(0, new StepDto("GET", "", "", "http://x/1"), 1_000_000);
+        get.setResponseSnippet("{\"id\":1}\u0001");
+        result.addStep(get);
+        result.addStep(StepResultDto.failed(1, new StepDto("ASSERT_BODY", "", "", "\"id\":2"), 0,
+                new AssertionError("Body does not contain \"id\":2 <here>")));
+        result.addStep(StepResultDto.skipped(2, new StepDto("GET", "", "", "http://x/2")));
+        return result;
+    }
+
+    @Test
+    public void junitXmlHasOneSuitePerTestAndOneCasePerStep() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JUnitXmlResultWriter writer = new JUnitXmlResultWriter(out)) {
+            writer.write(failingResult());
+            TestResultDto broken = new TestResultDto("Broken", "standard");
+            broken.setError("No browser");
+            writer.write(broken);
+        }
+
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(out.toByteArray()));
+        NodeList suites = doc.getElementsByTagName("testsuite");
+        assertEquals(2, suites.getLength());
+
+        Element login = (Element) suites.item(0);
+        assertEquals("login.txt", login.getAttribute("name"));
+        assertEquals("3", login.getAttribute("tests"));
+        assertEquals("1", login.getAttribute("failures"));
+        assertEquals("1", login.getAttribute("skipped"));
+        assertEquals(1, login.getElementsByTagName("failure").getLength());
+        assertEquals("{\"id\":1}", login.getElementsByTagName("system-out").item(0).getTextContent());
+
+        Element broken = (Element) suites.item(1);
+        assertEquals("1", broken.getAttribute("errors"));
+        assertEquals(1, broken.getElementsByTagName("error").getLength());
+    }
+
+    @Test
+    public void streamedResultsKeepCountsAndTheFirstFailureOnly() throws Exception {
+        TestResultDto streamed = new TestResultDto("Long script", "streaming");
+        streamed.setKeepSteps(false);
+        for (int i = 0; i < 10_000; i++) {
+            streamed.addStep(StepResultDto.passed(i, new StepDto("click", "id", "next", ""), 1));
+        }
+        streamed.addStep(StepResultDto.failed(10_000, new StepDto("assert", "id", "done", ""), 0,
+                new AssertionError("done not shown")));
+
+        assertEquals(Outcome.FAILED, streamed.getOutcome());
+        assertEquals("done not shown", streamed.getFailureMessage());
+        assertEquals(1, streamed.getSteps().size());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JUnitXmlResultWriter writer = new JUnitXmlResultWriter(out)) {
+            writer.write(streamed);
+        }
+        Element suite = (Element) DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(out.toByteArray())).getElementsByTagName("testsuite").item(0);
+        assertEquals("10001", suite.getAttribute("tests"));
+        assertEquals("1", suite.getAttribute("failures"));
+    }
+
+    @Test
+    public void jsonLinesWritesOneLinePerTest() throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonLinesResultWriter writer = new JsonLinesResultWriter(out)) {
+            writer.write(failingResult());
+            writer.write(new TestResultDto("Passing", "standard"));
+        }
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"outcome\":\"FAILED\""));
+        assertTrue(lines[0].contains("\"error\":\"Body does not contain \\\"id\\\":2 <here>\""));
+        assertTrue(lines[0].contains("\"outcome\":\"SKIPPED\""));
+        assertTrue(lines[1].contains("\"outcome\":\"" + Outcome.PASSED + "\""));
+    }
+}
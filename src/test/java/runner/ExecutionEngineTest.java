@@ -0,0 +1,113 @@
+package runner;
+
+import dto.Outcome;
+import dto.StepDto;
+import dto.TestCaseDto;
+import dto.TestResultDto;
+import http.HttpTransport;
+import http.JdkHttpTransport;
+import http.TransportResponse;
+import http.TransportSettings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import service.TestCaseService;
+import stub.StubHttpServer;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class ExecutionEngineTest {
+
+    /** Sends through the JDK transport and records the path of every request in send order. */
+    static class RecordingTransport implements HttpTransport {
+        final HttpTransport delegate = new JdkHttpTransport(new TransportSettings());
+        final List<String> paths = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public <T> TransportResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+                throws IOException, InterruptedException {
+            paths.add(request.uri().getPath());
+            return delegate.send(request, handler);
+        }
+
+        @Override
+        public <T> CompletableFuture<TransportResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            paths.add(request.uri().getPath());
+            return delegate.sendAsync(request, handler);
+        }
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    private StubHttpServer stub;
+    private RecordingTransport http;
+    private ExecutionEngine engine;
+
+    @Before
+    public void setUp() throws Exception {
+        stub = StubHttpServer.start();
+        http = new RecordingTransport();
+        engine = new ExecutionEngine(new TestCaseService(null, http), 1, true);
+    }
+
+    @After
+    public void tearDown() {
+        engine.close();
+        http.close();
+        stub.close();
+    }
+
+    @Test
+    public void structuredRestSendsRequestsInScriptOrder() throws Exception {
+        List<StepDto> steps = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            steps.add(new StepDto("GET", "", stub.baseUrl() + "/posts/" + i, ""));
+            steps.add(new StepDto("ASSERT_STATUS", "", "", "200"));
+        }
+
+        TestResultDto result = engine.execute(testCase(steps), ExecutionStyle.REST);
+
+        assertTrue(result.getFailureMessage(), result.isPassed());
+        assertEquals(List.of("/posts/1", "/posts/2", "/posts/3", "/posts/4", "/posts/5"), http.paths);
+    }
+
+    @Test
+    public void failingRequestSkipsTheRestInsteadOfCrashing() throws Exception {
+        stub.route("GET", "/missing", 404, "");
+        List<StepDto> steps = List.of(
+                new StepDto("GET", "", stub.baseUrl() + "/missing", ""),
+                new StepDto("ASSERT_STATUS", "", "", "200"),
+                new StepDto("GET", "", stub.baseUrl() + "/posts/1", ""),
+                new StepDto("GET", "", stub.baseUrl() + "/posts/2", ""));
+
+        TestResultDto result = engine.execute(testCase(steps), ExecutionStyle.REST);
+
+        assertFalse(result.isPassed());
+        assertEquals(List.of("/missing"), http.paths);
+        assertEquals(2, result.countSteps(Outcome.SKIPPED));
+    }
+
+    private static TestCaseDto testCase(List<StepDto> steps) {
+        TestCaseDto testCase = new TestCaseDto();
+        testCase.setFeatureName("structured");
+        testCase.setTargetUrl("API_TEST");
+        testCase.setSteps(steps);
+        return testCase;
+    }
+}
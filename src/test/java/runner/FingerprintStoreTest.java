@@ -0,0 +1,86 @@
+package runner;
+
+import dto.StepDto;
+import dto.TestCaseDto;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FingerprintStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void onlyNewChangedAndFailedScriptsAreSelected() throws Exception {
+        Path store = folder.getRoot().toPath().resolve("fingerprints.tsv");
+        Path passing = write("passing.txt", "Feature: a");
+        Path failing = write("failing.txt", "Feature: b");
+        Path edited = write("edited.txt", "Feature: c");
+
+        FingerprintStore first = FingerprintStore.open(store);
+        assertEquals(3, first.select(List.of(passing, failing, edited)).size());
+        first.record(passing, "example.org", true, 10);
+        first.record(failing, "example.org", false, 10);
+        first.record(edited, "example.org", true, 10);
+        first.save();
+
+        Files.writeString(edited, "Feature: c2");
+        Path added = write("added.txt", "Feature: d");
+
+        FingerprintStore second = FingerprintStore.open(store);
+        assertEquals(FingerprintStore.Reason.UP_TO_DATE, second.check(passing));
+        assertEquals(FingerprintStore.Reason.FAILED_LAST_TIME, second.check(failing));
+        assertEquals(FingerprintStore.Reason.CHANGED, second.check(edited));
+        assertEquals(FingerprintStore.Reason.NEW, second.check(added));
+        assertEquals(List.of(failing, edited, added), second.select(List.of(passing, failing, edited, added)));
+        assertEquals("example.org", second.get(passing).host());
+    }
+
+    @Test
+    public void oldPassesAreStale() throws Exception {
+        Path script = write("old.txt", "Feature: a");
+        FingerprintStore store = FingerprintStore.open(folder.getRoot().toPath().resolve("f.tsv"));
+        store.check(script);
+        store.record(script, null, true, 5);
+
+        Thread.sleep(5);
+        assertEquals(FingerprintStore.Reason.STALE, store.maxAge(Duration.ofMillis(1)).check(script));
+    }
+
+    @Test
+    public void editedDataFileRerunsItsScript() throws Exception {
+        Path script = write("login.txt", "Feature: Login\nData: users.csv\nAction: type, Locator Type: id, Locator Value: user, Value: ${user}");
+        Path rows = write("users.csv", "user\nada");
+        Path unrelated = write("other.txt", "Feature: other");
+        FingerprintStore store = FingerprintStore.open(folder.getRoot().toPath().resolve("f.tsv"));
+        store.select(List.of(script, unrelated));
+        store.record(script, null, true, 5);
+        store.record(unrelated, null, true, 5);
+
+        assertEquals(FingerprintStore.Reason.UP_TO_DATE, store.check(script));
+        Files.writeString(rows, "user\nada\nbob");
+        assertEquals(FingerprintStore.Reason.CHANGED, store.check(script));
+        assertEquals(FingerprintStore.Reason.UP_TO_DATE, store.check(unrelated));
+    }
+
+    @Test
+    public void hostFallsBackToFirstRequestUrl() {
+        TestCaseDto api = new TestCaseDto();
+        api.setSteps(List.of(new StepDto("GET", "", "https://api.example.org/posts/1", "")));
+        assertEquals("api.example.org", FingerprintStore.hostOf(api));
+    }
+
+    private Path write(String name, String content) throws Exception {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,82 @@
+package runner;
+
+import dto.Outcome;
+import dto.TestResultDto;
+import org.junit.Test;
+import report.JUnitXmlResultWriter;
+import report.JsonLinesResultReader;
+import report.JsonLinesResultWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class HostCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final HostCircuitBreaker breaker = new HostCircuitBreaker(2, Duration.ofSeconds(60), now::get);
+
+    @Test
+    public void consecutiveErrorsOpenTheCircuitForThatHostOnly() {
+        breaker.record("down.test", true);
+        breaker.record("down.test", false); // an assertion failure or pass resets the count
+        breaker.record("down.test", true);
+        assertTrue(breaker.allow("down.test"));
+        breaker.record("down.test", true);
+
+        assertFalse(breaker.allow("down.test"));
+        assertFalse(breaker.allow("down.test"));
+        assertTrue(breaker.allow("up.test"));
+        assertTrue(breaker.allow(null));
+        assertEquals(2, breaker.getSkippedCount());
+    }
+
+    @Test
+    public void oneTrialIsLetThroughAfterTheCooldown() {
+        breaker.record("flaky.test", true);
+        breaker.record("flaky.test", true);
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        assertTrue(breaker.allow("flaky.test"));
+        assertFalse("only one trial at a time", breaker.allow("flaky.test"));
+        breaker.record("flaky.test", true);
+        assertFalse("a failed trial reopens the circuit", breaker.allow("flaky.test"));
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertTrue(breaker.allow("flaky.test"));
+        breaker.record("flaky.test", false);
+        assertTrue(breaker.allow("flaky.test"));
+        assertEquals(1, breaker.summary().size());
+        assertTrue(breaker.summary().get(0).contains("recovered"));
+    }
+
+    @Test
+    public void testsTurnedAwayAreReportedAsSkipped() throws Exception {
+        TestResultDto result = SuiteRunner.circuitOpen("Orders", ExecutionStyle.REST, "down.test");
+        assertEquals(Outcome.SKIPPED, result.getOutcome());
+        assertFalse(result.isPassed());
+        assertTrue(result.getFailureMessage().contains("down.test"));
+
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        try (JUnitXmlResultWriter writer = new JUnitXmlResultWriter(xml)) {
+            writer.write(result);
+        }
+        String report = xml.toString(StandardCharsets.UTF_8);
+        assertTrue(report, report.contains("skipped=\"1\""));
+        assertTrue(report, report.contains("errors=\"0\""));
+        assertTrue(report, report.contains("<skipped/>"));
+
+        StringWriter json = new StringWriter();
+        try (JsonLinesResultWriter writer = new JsonLinesResultWriter(json)) {
+            writer.write(result);
+        }
+        assertTrue(json.toString().contains("\"outcome\":\"SKIPPED\""));
+        TestResultDto read = JsonLinesResultReader.parse(json.toString().trim());
+        assertEquals(Outcome.SKIPPED, read.getOutcome());
+        assertNull(read.getError());
+    }
+}
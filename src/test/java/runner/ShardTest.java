@@ -0,0 +1,81 @@
+package runner;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ShardTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shardsAreDisjointAndCoverEveryScript() {
+        List<Path> scripts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            scripts.add(Path.of("scripts", "s" + i + ".txt"));
+        }
+        ScriptTimings none = ScriptTimings.empty(folder.getRoot().toPath().resolve("timings.tsv"));
+
+        Set<Path> seen = new HashSet<>();
+        for (int i = 1; i <= 3; i++) {
+            List<Path> selected = new Shard(i, 3).select(scripts, none);
+            assertTrue(selected.size() == 3 || selected.size() == 4);
+            for (Path script : selected) {
+                assertTrue("ran twice: " + script, seen.add(script));
+            }
+            // Discovery order must not change the split
+            List<Path> reversed = new ArrayList<>(scripts);
+            Collections.reverse(reversed);
+            assertEquals(selected, new Shard(i, 3).select(reversed, none));
+        }
+        assertEquals(new HashSet<>(scripts), seen);
+    }
+
+    @Test
+    public void recordedDurationsBalanceShards() {
+        Path slow = Path.of("slow.txt");
+        List<Path> fast = List.of(Path.of("a.txt"), Path.of("b.txt"), Path.of("c.txt"), Path.of("d.txt"));
+        ScriptTimings timings = ScriptTimings.empty(folder.getRoot().toPath().resolve("timings.tsv"));
+        timings.record(slow, 4000);
+        fast.forEach(script -> timings.record(script, 1000));
+
+        List<Path> all = new ArrayList<>(fast);
+        all.add(slow);
+        assertEquals(List.of(slow), new Shard(1, 2).select(all, timings));
+        assertEquals(fast, new Shard(2, 2).select(all, timings));
+    }
+
+    @Test
+    public void mergedTimingsKeepTheLatestEntry() throws Exception {
+        Path root = folder.getRoot().toPath();
+        Files.writeString(root.resolve("shard1.tsv"), "a.txt\t100\t1000\nb.txt\t200\t1000\n");
+        Files.writeString(root.resolve("shard2.tsv"), "a.txt\t900\t2000\nb.txt\t50\t500\nbroken\tline\n");
+
+        ScriptTimings merged = ScriptTimings.empty(root.resolve("merged.tsv"));
+        merged.load(root.resolve("shard1.tsv"));
+        merged.load(root.resolve("shard2.tsv"));
+        merged.save();
+
+        ScriptTimings reopened = ScriptTimings.open(root.resolve("merged.tsv"));
+        assertEquals(2, reopened.size());
+        assertEquals(Long.valueOf(900), reopened.get(Path.of("a.txt")));
+        assertEquals(Long.valueOf(200), reopened.get(Path.of("b.txt")));
+        assertNull(reopened.get(Path.of("c.txt")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shardIndexMustBeWithinTotal() {
+        Shard.parse("3/2");
+    }
+}
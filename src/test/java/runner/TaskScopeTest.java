@@ -0,0 +1,67 @@
+package runner;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TaskScopeTest {
+
+    @Test
+    public void joinReturnsWhenAllChildrenSucceed() throws Exception {
+        try (TaskScope<Integer> scope = new TaskScope<>()) {
+            Future<Integer> a = scope.fork(() -> 1);
+            Future<Integer> b = scope.fork(() -> 2);
+            scope.join();
+            assertEquals(3, a.resultNow() + b.resultNow());
+        }
+    }
+
+    @Test
+    public void firstFailureCancelsSiblings() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+
+        try (TaskScope<Void> scope = new TaskScope<>()) {
+            scope.fork(() -> {
+                slowStarted.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    slowInterrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                slowStarted.await();
+                throw new IllegalStateException("boom");
+            });
+
+            try {
+                scope.join();
+                fail("join should rethrow the failure");
+            } catch (ExecutionException e) {
+                assertEquals("boom", e.getCause().getMessage());
+            }
+            assertTrue(slowInterrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refusesToForkAfterFailure() throws Exception {
+        try (TaskScope<Void> scope = new TaskScope<>()) {
+            scope.fork(() -> {
+                throw new IllegalStateException("boom");
+            });
+            try {
+                scope.join();
+            } catch (ExecutionException ignored) {
+            }
+            scope.fork(() -> null);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package service;
+
+import dto.Outcome;
+import dto.StepDto;
+import dto.StepResultDto;
+import dto.TestCaseDto;
+import http.HttpTransport;
+import http.JdkHttpTransport;
+import http.TransportResponse;
+import http.TransportSettings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import stub.StubHttpServer;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AsyncRestExecutorTest {
+
+    private StubHttpServer stub;
+    private JdkHttpTransport transport;
+
+    @Before
+    public void setUp() throws Exception {
+        stub = StubHttpServer.start();
+        transport = new JdkHttpTransport(new TransportSettings());
+    }
+
+    @After
+    public void tearDown() {
+        transport.close();
+        stub.close();
+    }
+
+    @Test
+    public void failingAssertionIsAFailedStep() throws Exception {
+        stub.route("GET", "/missing", 404, "{}");
+        TestCaseDto testCase = testCase("Missing",
+                new StepDto("GET", "", stub.baseUrl() + "/missing", ""),
+                new StepDto("ASSERT_STATUS", "", "", "200"),
+                new StepDto("ASSERT_BODY", "", "", "{}"),
+                new StepDto("GET", "", stub.baseUrl() + "/posts/1", ""));
+
+        RestRunResult run = new AsyncRestExecutor(transport, 1, false).runAsync(testCase).get(5, TimeUnit.SECONDS);
+
+        assertFalse(run.passed());
+        List<StepResultDto> steps = run.steps();
+        assertEquals(List.of(Outcome.PASSED, Outcome.FAILED, Outcome.SKIPPED, Outcome.SKIPPED),
+                steps.stream().map(StepResultDto::getOutcome).toList());
+        assertEquals("ASSERT_STATUS", steps.get(1).getAction());
+        assertTrue(steps.get(1).getError(), steps.get(1).getError().contains("200"));
+    }
+
+    @Test
+    public void segmentsRunInScriptOrder() throws Exception {
+        TestCaseDto testCase = testCase("Ordered",
+                new StepDto("GET", "", stub.baseUrl() + "/first", ""),
+                new StepDto("ASSERT_STATUS", "", "", "200"),
+                new StepDto("POST", "", stub.baseUrl() + "/second", "{}"),
+                new StepDto("GET", "", stub.baseUrl() + "/third", ""),
+                new StepDto("ASSERT_BODY", "", "", "/third"));
+
+        RestRunResult run = new AsyncRestExecutor(new SlowTransport(transport, 20), 1, false)
+                .runAsync(testCase).get(5, TimeUnit.SECONDS);
+
+        assertTrue(run.error(), run.passed());
+        assertEquals(List.of("/first", "/second", "/third"),
+                run.timings().stream().map(t -> URI.create(t.uri()).getPath()).toList());
+        assertEquals(5, run.steps().size());
+        assertTrue(run.steps().stream().allMatch(step -> step.getOutcome() == Outcome.PASSED));
+    }
+
+    @Test
+    public void runAllKeepsInputOrderAndTheConcurrencyCap() throws Exception {
+        stub.route("GET", "/broken", 500, "{}");
+        List<TestCaseDto> testCases = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String path = i == 3 ? "/broken" : "/posts/" + i;
+            testCases.add(testCase("Test " + i,
+                    new StepDto("GET", "", stub.baseUrl() + path, ""),
+                    new StepDto("ASSERT_STATUS", "", "", "200"),
+                    new StepDto("GET", "", stub.baseUrl() + "/comments/" + i, "")));
+        }
+        SlowTransport slow = new SlowTransport(transport, 30);
+
+        List<RestRunResult> results = new AsyncRestExecutor(slow, 2, false).runAll(testCases);
+
+        assertEquals(testCases.stream().map(TestCaseDto::getFeatureName).toList(),
+                results.stream().map(RestRunResult::featureName).toList());
+        assertEquals(2, slow.maxInFlight.get());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("Test " + i, i != 3, results.get(i).passed());
+        }
+        assertEquals(List.of(Outcome.PASSED, Outcome.FAILED, Outcome.SKIPPED),
+                results.get(3).steps().stream().map(StepResultDto::getOutcome).toList());
+    }
+
+    @Test
+    public void pipelinedSegmentsOverlap() throws Exception {
+        SlowTransport slow = new SlowTransport(transport, 50);
+        TestCaseDto testCase = testCase("Pipelined",
+                new StepDto("GET", "", stub.baseUrl() + "/a", ""),
+                new StepDto("GET", "", stub.baseUrl() + "/b", ""),
+                new StepDto("GET", "", stub.baseUrl() + "/c", ""));
+
+        RestRunResult run = new AsyncRestExecutor(slow, 1, true).runAsync(testCase).get(5, TimeUnit.SECONDS);
+
+        assertTrue(run.error(), run.passed());
+        assertEquals(3, slow.maxInFlight.get());
+    }
+
+    /** Delays every response and records how many requests were in flight at once. */
+    private static final class SlowTransport implements HttpTransport {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        private final HttpTransport delegate;
+        private final Executor delay;
+
+        SlowTransport(HttpTransport delegate, long delayMillis) {
+            this.delegate = delegate;
+            this.delay = CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public <T> TransportResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> CompletableFuture<TransportResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.runAsync(() -> { }, delay)
+                    .thenCompose(ignored -> delegate.sendAsync(request, handler))
+                    .whenComplete((response, error) -> inFlight.decrementAndGet());
+        }
+
+        @Override
+        public String name() {
+            return "slow";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static TestCaseDto testCase(String name, StepDto... steps) {
+        TestCaseDto testCase = new TestCaseDto();
+        testCase.setFeatureName(name);
+        testCase.setTargetUrl("API_TEST");
+        testCase.setSteps(List.of(steps));
+        return testCase;
+    }
+}
@@ -0,0 +1,89 @@
+package service;
+
+import driver.FakeWebDriver;
+import driver.WebDriverPool;
+import dto.StepDto;
+import dto.TestCaseDto;
+import dto.TestResultDto;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DomBatchTest {
+
+    /** Answers fill scripts from a queue and records every per-step element call. */
+    static class FillingDriver extends FakeWebDriver {
+        final Deque<Integer> fills = new ArrayDeque<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<String> elementCalls = new ArrayList<>();
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            super.executeScript(script, args);
+            if (!script.contains("const fields")) return null;
+            batchSizes.add(((List<?>) args[0]).size());
+            return Long.valueOf(fills.remove());
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> {
+                        elementCalls.add(method.getName() + " " + by);
+                        return null;
+                    });
+        }
+    }
+
+    @Test
+    public void consecutiveTypeStepsShareOneScriptCall() {
+        FillingDriver driver = new FillingDriver();
+        driver.fills.add(2);
+        driver.fills.add(0); // the last field is not fillable by script and falls back
+
+        TestCaseDto testCase = new TestCaseDto();
+        testCase.setFeatureName("log on");
+        testCase.setTargetUrl("http://localhost:8080/");
+        testCase.setSteps(List.of(
+                new StepDto("type", "id", "email", "test@email.com"),
+                new StepDto("type", "id", "password", "123"),
+                new StepDto("click", "id", "submit", ""),
+                new StepDto("type", "id", "search", "movie")));
+
+        try (WebDriverPool drivers = new WebDriverPool(() -> driver, 1)) {
+            TestCaseService service = new TestCaseService(drivers);
+            service.setBatchedDom(true);
+            TestResultDto result = service.execute(testCase);
+
+            assertTrue(result.getFailureMessage(), result.isPassed());
+            assertEquals(4, result.getSteps().size());
+        }
+
+        assertEquals(List.of(2, 1), driver.batchSizes);
+        assertEquals(List.of("click By.id: submit", "clear By.id: search", "sendKeys By.id: search"),
+                driver.elementCalls);
+    }
+
+    @Test
+    public void onlyPlainTypeStepsAreBatched() {
+        assertTrue(DomBatch.isBatchable(new StepDto("type", "id", "email", "x")));
+        assertFalse(DomBatch.isBatchable(new StepDto("click", "id", "submit", "")));
+        assertFalse(DomBatch.isBatchable(new StepDto("keypress", "id", "search", "ENTER")));
+        assertFalse(DomBatch.isBatchable(new StepDto("type", "xpath", "alt=Logo", "x")));
+        assertFalse(DomBatch.isBatchable(new StepDto("type", "title", "Search", "x")));
+
+        List<StepDto> steps = List.of(new StepDto("type", "id", "a", "1"), new StepDto("type", "id", "b", "2"),
+                new StepDto("click", "id", "c", ""));
+        assertEquals(2, DomBatch.runEnd(steps, 0));
+        assertEquals(2, DomBatch.runEnd(steps, 2));
+        assertEquals(5, DomBatch.roundTripsSaved(2));
+    }
+}
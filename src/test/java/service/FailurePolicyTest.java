@@ -0,0 +1,77 @@
+package service;
+
+import driver.FakeWebDriver;
+import driver.WebDriverPool;
+import dto.Outcome;
+import dto.StepDto;
+import dto.StepResultDto;
+import dto.TestCaseDto;
+import org.junit.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class FailurePolicyTest {
+
+    private final FailurePolicy policy = new FailurePolicy().maxRetries(2).initialBackoff(Duration.ofMillis(1));
+
+    @Test
+    public void onlyTransientErrorsAreRetried() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        policy.execute("click", () -> {
+            if (calls.incrementAndGet() < 3) throw new StaleElementReferenceException("re-rendered");
+        });
+        assertEquals(3, calls.get());
+
+        calls.set(0);
+        assertThrows(StaleElementReferenceException.class, () -> policy.execute("click", () -> {
+            calls.incrementAndGet();
+            throw new StaleElementReferenceException("always stale");
+        }));
+        assertEquals(3, calls.get());
+
+        calls.set(0);
+        assertThrows(NoSuchElementException.class, () -> policy.execute("click", () -> {
+            calls.incrementAndGet();
+            throw new NoSuchElementException("gone");
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void backoffDoublesUpToTheCap() {
+        FailurePolicy backoff = new FailurePolicy().initialBackoff(Duration.ofMillis(200)).maxBackoff(Duration.ofMillis(500));
+        assertEquals(Duration.ofMillis(200), backoff.backoff(1));
+        assertEquals(Duration.ofMillis(400), backoff.backoff(2));
+        assertEquals(Duration.ofMillis(500), backoff.backoff(3));
+    }
+
+    @Test
+    public void hardFailureSkipsTheRestOfTheTest() {
+        TestCaseDto testCase = new TestCaseDto();
+        testCase.setFeatureName("broken page");
+        testCase.setTargetUrl("https://example.test/");
+        testCase.setSteps(List.of(
+                new StepDto("click", "id", "missing", ""),
+                new StepDto("type", "id", "email", "a@b.c"),
+                new StepDto("keypress", "id", "email", "ENTER")));
+
+        try (WebDriverPool drivers = new WebDriverPool(FakeWebDriver::new, 1)) {
+            TestCaseService service = new TestCaseService(drivers);
+            service.setFailurePolicy(policy);
+            assertEquals(List.of(Outcome.ERROR, Outcome.SKIPPED, Outcome.SKIPPED), outcomes(service, testCase));
+
+            service.setFailurePolicy(FailurePolicy.runEveryStep());
+            assertEquals(List.of(Outcome.ERROR, Outcome.ERROR, Outcome.ERROR), outcomes(service, testCase));
+        }
+    }
+
+    private static List<Outcome> outcomes(TestCaseService service, TestCaseDto testCase) {
+        return service.execute(testCase).getSteps().stream().map(StepResultDto::getOutcome).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package service;
+
+import driver.FakeWebDriver;
+import driver.WebDriverPool;
+import dto.Outcome;
+import dto.StepResultDto;
+import dto.TestResultDto;
+import http.JdkHttpTransport;
+import http.TransportSettings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import parser.StepStream;
+import stub.StubHttpServer;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class StreamingExecutionTest {
+
+    private StubHttpServer stub;
+    private JdkHttpTransport transport;
+    private WebDriverPool drivers;
+    private TestCaseService service;
+
+    @Before
+    public void setUp() throws Exception {
+        stub = StubHttpServer.start();
+        transport = new JdkHttpTransport(new TransportSettings());
+        drivers = new WebDriverPool(FakeWebDriver::new, 1);
+        service = new TestCaseService(drivers, transport);
+    }
+
+    @After
+    public void tearDown() {
+        drivers.close();
+        transport.close();
+        stub.close();
+    }
+
+    @Test
+    public void restFailureSkipsEveryRemainingStep() {
+        stub.route("GET", "/missing", 404, "{}");
+        TestResultDto result = service.executeStreaming(stream(
+                "Feature: Streamed API",
+                "Target URL: API_TEST",
+                get("/posts/1"),
+                status("200"),
+                get("/missing"),
+                status("200"),
+                "Action: ASSERT_BODY, Locator Type: , Locator Value: , Value: {}",
+                get("/posts/2"),
+                status("200")));
+
+        assertEquals(Outcome.FAILED, result.getOutcome());
+        assertEquals(7, result.getStepCount());
+        assertEquals(3, result.countSteps(Outcome.PASSED));
+        assertEquals(1, result.countSteps(Outcome.FAILED));
+        assertEquals(3, result.countSteps(Outcome.SKIPPED));
+        StepResultDto failed = result.getSteps().get(0);
+        assertEquals(3, failed.getIndex());
+        assertEquals("ASSERT_STATUS", failed.getAction());
+    }
+
+    @Test
+    public void uiStepsRunOnTheTargetPage() {
+        TestResultDto result = service.executeStreaming(stream(
+                "Feature: Streamed UI",
+                "Target URL: https://example.test/",
+                "Action: click, Locator Type: id, Locator Value: nowhere, Value: ",
+                "Action: click, Locator Type: id, Locator Value: never, Value: "));
+
+        // The fake browser has no elements: the first click errors, the second is skipped
+        assertEquals(Outcome.ERROR, result.getOutcome());
+        assertEquals(2, result.getStepCount());
+        assertEquals(1, result.countSteps(Outcome.SKIPPED));
+        assertEquals(1, drivers.getCreatedCount());
+    }
+
+    @Test
+    public void dataDrivenScriptsAreNotStreamed() {
+        TestResultDto result = service.executeStreaming(stream(
+                "Feature: Rows",
+                "Data: rows.csv",
+                get("/posts/${id}")));
+
+        assertEquals(Outcome.ERROR, result.getOutcome());
+        assertTrue(result.getError(), result.getError().contains("--streaming"));
+        assertEquals(0, result.getStepCount());
+    }
+
+    private String get(String path) {
+        return "Action: GET, Locator Type: , Locator Value: " + stub.baseUrl() + path + ", Value: ";
+    }
+
+    private static String status(String code) {
+        return "Action: ASSERT_STATUS, Locator Type: , Locator Value: , Value: " + code;
+    }
+
+    private static StepStream stream(String... lines) {
+        return new StepStream(new BufferedReader(new StringReader(String.join("\n", lines))));
+    }
+}
@@ -13,10 +13,10 @@ public class WikiSteps {
 
     WebDriver driver;
 
-    @Given("I open the Wikipedia main page")
-    public void i_open_the_wikipedia_main_page() {
+    @Given("I open {string}")
+    public void i_open(String url) {
         driver = new ChromeDriver();
-        driver.get("https://en.wikipedia.org/wiki/Main_Page");
+        driver.get(url);
     }
 
     @When("I enter {string} into the {string} field")
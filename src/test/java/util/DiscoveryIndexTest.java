@@ -0,0 +1,112 @@
+package util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class DiscoveryIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void initialScanFindsNestedFilesByExtension() throws Exception {
+        Path root = folder.getRoot().toPath();
+        Files.createDirectories(root.resolve("a/b"));
+        Files.writeString(root.resolve("one.txt"), "");
+        Files.writeString(root.resolve("a/two.txt"), "");
+        Files.writeString(root.resolve("a/b/three.feature"), "");
+
+        try (DiscoveryIndex index = new DiscoveryIndex(root)) {
+            assertEquals(3, index.size());
+            List<Path> txt = index.files(".txt");
+            assertEquals(2, txt.size());
+            assertTrue(txt.contains(root.resolve("a/two.txt").toAbsolutePath().normalize()));
+        }
+    }
+
+    @Test
+    public void watchingPicksUpNewAndDeletedFiles() throws Exception {
+        Path root = folder.getRoot().toPath().toAbsolutePath().normalize();
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+        try (DiscoveryIndex index = new DiscoveryIndex(root).startWatching()) {
+            index.addListener((file, change) -> events.add(change + " " + file.getFileName()));
+
+            Path added = root.resolve("added.txt");
+            Files.writeString(added, "Feature: x");
+            assertEquals("CREATED added.txt", events.poll(10, TimeUnit.SECONDS));
+            assertEquals(List.of(added), index.files(".txt"));
+
+            Files.delete(added);
+            String event;
+            do {
+                // a MODIFIED event for the write may still be queued
+                event = events.poll(10, TimeUnit.SECONDS);
+            } while (event != null && !event.startsWith("DELETED"));
+            assertEquals("DELETED added.txt", event);
+            assertTrue(index.files(".txt").isEmpty());
+        }
+    }
+
+    @Test
+    public void rescanReportsWhatChangedWhileEventsWereLost() throws Exception {
+        Path root = folder.getRoot().toPath().toAbsolutePath().normalize();
+        Path saved = Files.writeString(root.resolve("saved.txt"), "v1");
+        Path untouched = Files.writeString(root.resolve("untouched.txt"), "");
+        Path removed = Files.writeString(root.resolve("removed.txt"), "");
+        Files.setLastModifiedTime(saved, FileTime.fromMillis(1_000_000));
+
+        try (DiscoveryIndex index = new DiscoveryIndex(root)) {
+            List<String> events = new ArrayList<>();
+            index.addListener((file, change) -> events.add(change + " " + file.getFileName()));
+
+            Files.writeString(saved, "v2");
+            Files.setLastModifiedTime(saved, FileTime.fromMillis(2_000_000));
+            Files.delete(removed);
+            Files.writeString(root.resolve("added.txt"), "");
+            index.rescan(null);
+
+            events.sort(null);
+            assertEquals(List.of("CREATED added.txt", "DELETED removed.txt", "MODIFIED saved.txt"), events);
+            assertTrue(index.files(".txt").contains(untouched));
+        }
+    }
+
+    @Test
+    public void failedRegistrationLeavesNothingWatching() throws Exception {
+        Path root = folder.getRoot().toPath().toAbsolutePath().normalize();
+        Path nested = Files.createDirectories(root.resolve("nested"));
+
+        try (DiscoveryIndex index = new DiscoveryIndex(root)) {
+            Files.delete(nested);
+            assertThrows(IOException.class, index::startWatching);
+            assertFalse(index.isWatching());
+
+            Files.createDirectories(nested);
+            index.startWatching();
+            assertTrue(index.isWatching());
+        }
+    }
+
+    @Test
+    public void oneShotDiscoveryStartsNoWatcher() throws Exception {
+        assertFalse(FileDiscoveryUtil.discoverTestFiles("testcases", ".txt").isEmpty());
+
+        boolean watching = Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals("fsqs-discovery-testcases"));
+        assertFalse("a watcher thread was started for a one-shot lookup", watching);
+    }
+}
@@ -0,0 +1,71 @@
+package util;
+
+import driver.FakeWebDriver;
+import driver.WebDriverPool;
+import dto.StepDto;
+import dto.TestCaseDto;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import service.TestCaseService;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ElementFinderTest {
+
+    /** Finds every id locator and records each WebDriver call the finder makes. */
+    static class CountingDriver extends FakeWebDriver {
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public String getCurrentUrl() {
+            calls.add("getCurrentUrl");
+            return super.getCurrentUrl();
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            calls.add("findElement " + by);
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> null);
+        }
+    }
+
+    @Test
+    public void givenPageUrlSavesTheCurrentUrlRoundTrip() {
+        CountingDriver driver = new CountingDriver();
+
+        assertNotNull(ElementFinder.findSmart(driver, "page-url-test", "id", "click", "https://example.org/search"));
+        assertEquals(List.of("findElement By.id: page-url-test"), driver.calls);
+
+        driver.calls.clear();
+        ElementFinder.findSmart(driver, "page-url-test", "id", "click");
+        assertEquals("getCurrentUrl", driver.calls.get(0));
+    }
+
+    @Test
+    public void stepsAfterAClickAskTheBrowserForThePage() {
+        CountingDriver driver = new CountingDriver();
+        TestCaseDto testCase = new TestCaseDto();
+        testCase.setFeatureName("log on");
+        testCase.setTargetUrl("https://example.org/login");
+        testCase.setSteps(List.of(
+                new StepDto("type", "id", "user-after-click", "ada"),
+                new StepDto("click", "id", "submit-after-click", ""),
+                new StepDto("type", "id", "search-after-click", "movie")));
+
+        try (WebDriverPool drivers = new WebDriverPool(() -> driver, 1)) {
+            assertTrue(new TestCaseService(drivers).execute(testCase).isPassed());
+        }
+
+        assertEquals(List.of(
+                "findElement By.id: user-after-click",
+                "findElement By.id: submit-after-click",
+                "getCurrentUrl",
+                "findElement By.id: search-after-click"), driver.calls);
+    }
+}
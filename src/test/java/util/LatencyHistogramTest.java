@@ -0,0 +1,86 @@
+package util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesAreExactAndLargeOnesWithinTheBucketError() {
+        for (long value = 0; value < 128; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertEquals(value, LatencyHistogram.lowestEquivalentValue(index));
+            assertEquals(value, LatencyHistogram.highestEquivalentValue(index));
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long value = 128 + (random.nextLong() >>> (1 + random.nextInt(56)));
+            int index = LatencyHistogram.indexOf(value);
+            long low = LatencyHistogram.lowestEquivalentValue(index);
+            long high = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(value + " not in [" + low + ", " + high + "]", low <= value && value <= high);
+            assertTrue("bucket of " + value + " too wide", (double) (high - low) / value < 0.016);
+        }
+    }
+
+    @Test
+    public void percentilesStayWithinTheBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(1_000, histogram.getMin());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 0.001);
+        assertWithin(5_000_000, histogram.getValueAtPercentile(50));
+        assertWithin(9_900_000, histogram.getValueAtPercentile(99));
+        assertWithin(9_990_000, histogram.getValueAtPercentile(99.9));
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void mergedHistogramsMatchOneFedEverySample() {
+        LatencyHistogram even = new LatencyHistogram();
+        LatencyHistogram odd = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (long value = 0; value < 5_000; value++) {
+            (value % 2 == 0 ? even : odd).record(value * 37);
+            all.record(value * 37);
+        }
+        even.add(odd);
+
+        assertEquals(all.getCount(), even.getCount());
+        assertEquals(all.getMin(), even.getMin());
+        assertEquals(all.getMax(), even.getMax());
+        for (double percentile : new double[]{1, 25, 50, 90, 99, 100}) {
+            assertEquals(all.getValueAtPercentile(percentile), even.getValueAtPercentile(percentile));
+        }
+    }
+
+    @Test
+    public void emptyAndResetHistogramsReportZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMin());
+
+        histogram.record(-5);
+        assertEquals(0, histogram.getMax());
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean(), 0);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected * 0.016);
+    }
+}
@@ -0,0 +1,144 @@
+package util;
+
+import driver.FakeWebDriver;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WaitEngineTest {
+
+    /**
+     * Shows one element for {@code match} once {@code hiddenCycles} poll cycles have
+     * gone by, rejects xpath locators as invalid, and records each lookup.
+     */
+    static class PollingDriver extends FakeWebDriver {
+        final List<By> lookups = new ArrayList<>();
+        final List<Long> cycleStarts = new ArrayList<>();
+        final By match;
+        final int hiddenCycles;
+
+        PollingDriver(By match, int hiddenCycles) {
+            this.match = match;
+            this.hiddenCycles = hiddenCycles;
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            if (lookups.isEmpty() || by.equals(lookups.get(0))) {
+                cycleStarts.add(System.nanoTime());
+            }
+            lookups.add(by);
+            if (by instanceof By.ByXPath) {
+                throw new InvalidSelectorException("not a valid xpath: " + by);
+            }
+            if (!by.equals(match) || cycleStarts.size() <= hiddenCycles) {
+                return new ArrayList<>();
+            }
+            return List.of(element(true));
+        }
+    }
+
+    private static WebElement element(boolean displayed) {
+        return (WebElement) Proxy.newProxyInstance(WaitEngineTest.class.getClassLoader(), new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> method.getName().equals("isDisplayed") ? displayed : null);
+    }
+
+    @Test
+    public void anElementAlreadyThereIsFoundOnTheFirstPoll() {
+        WaitEngine waits = new WaitEngine();
+        PollingDriver driver = new PollingDriver(By.id("ready"), 0);
+
+        long start = System.nanoTime();
+        assertNotNull(waits.awaitVisible(driver, "click", List.of(By.id("ready"))));
+
+        assertEquals(1, driver.lookups.size());
+        assertTrue("no sleep before the first poll", System.nanoTime() - start < Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    public void pollIntervalsDoubleUpToTheMaximum() {
+        WaitEngine waits = new WaitEngine();
+        waits.setPollBounds(Duration.ofMillis(10), Duration.ofMillis(40));
+        PollingDriver driver = new PollingDriver(By.id("late"), 5);
+
+        waits.awaitVisible(driver, "backoff", List.of(By.id("late")));
+
+        List<Long> starts = driver.cycleStarts;
+        assertEquals(6, starts.size());
+        long[] minimumGaps = {10, 20, 40, 40, 40};
+        for (int i = 0; i < minimumGaps.length; i++) {
+            long gap = (starts.get(i + 1) - starts.get(i)) / 1_000_000;
+            assertTrue("gap " + i + " was " + gap + " ms", gap >= minimumGaps[i]);
+        }
+        long lastGap = (starts.get(5) - starts.get(4)) / 1_000_000;
+        assertTrue("capped at maxPoll, was " + lastGap + " ms", lastGap < 40 + 200);
+    }
+
+    @Test
+    public void perStepTimeoutsOverrideTheDefault() {
+        WaitEngine waits = new WaitEngine();
+        waits.setTimeout("click", Duration.ofMillis(60));
+        assertEquals(Duration.ofMillis(60), waits.getTimeout("CLICK "));
+        assertEquals(waits.getTimeout(WaitEngine.DEFAULT_STEP), waits.getTimeout("hover"));
+
+        long start = System.nanoTime();
+        try {
+            waits.awaitVisible(new PollingDriver(By.id("never"), Integer.MAX_VALUE), "click", List.of(By.id("never")));
+            fail("expected a timeout");
+        } catch (TimeoutException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("60 ms"));
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue("waited " + millis + " ms", millis >= 60 && millis < 2_000);
+    }
+
+    @Test
+    public void systemPropertiesSetTimeoutsPerStepType() {
+        System.setProperty("fsqs.wait.Hover", "1234");
+        System.setProperty("fsqs.wait.drag", "soon");
+        try {
+            WaitEngine waits = new WaitEngine();
+            assertEquals(Duration.ofMillis(1234), waits.getTimeout("hover"));
+            assertEquals(waits.getTimeout(WaitEngine.DEFAULT_STEP), waits.getTimeout("drag"));
+        } finally {
+            System.clearProperty("fsqs.wait.Hover");
+            System.clearProperty("fsqs.wait.drag");
+        }
+    }
+
+    @Test
+    public void everyCandidateIsProbedInOneCycle() {
+        WaitEngine waits = new WaitEngine();
+        By invalid = By.xpath("plain text");
+        By missing = By.name("q");
+        By present = By.cssSelector("#q");
+        PollingDriver driver = new PollingDriver(present, 0);
+
+        assertNotNull(waits.awaitVisible(driver, "type", List.of(invalid, missing, present)));
+
+        assertEquals(List.of(invalid, missing, present), driver.lookups);
+    }
+
+    @Test
+    public void hiddenElementsAreNotAMatch() {
+        WaitEngine waits = new WaitEngine();
+        waits.setTimeout("assert", Duration.ofMillis(30));
+        FakeWebDriver driver = new FakeWebDriver() {
+            @Override
+            public List<WebElement> findElements(By by) {
+                return List.of(element(false));
+            }
+        };
+
+        assertThrows(TimeoutException.class, () -> waits.awaitVisible(driver, "assert", List.of(By.id("hidden"))));
+    }
+}